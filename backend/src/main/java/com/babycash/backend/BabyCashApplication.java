@@ -2,12 +2,10 @@ package com.babycash.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-// @EnableCaching  // DESACTIVADO TEMPORALMENTE para debug
 @EnableScheduling
 @EnableAsync
 public class BabyCashApplication {
@@ -7,7 +7,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 /**
  * Configuración para habilitar procesamiento asíncrono y tareas programadas
  * 
- * - @EnableAsync: Permite métodos @Async para audit logging no bloqueante
+ * - @EnableAsync: Permite métodos @Async para envío de emails no bloqueante
+ *   (la auditoría usa su propio escritor, ver AuditLogWriter)
  * - @EnableScheduling: Permite tareas programadas para limpieza de datos
  */
 @Configuration
@@ -0,0 +1,83 @@
+package com.babycash.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la cache de aplicación (Caffeine)
+ *
+ * - Cada cache tiene tamaño máximo y TTL: nunca crece sin límite ni sirve datos viejos para siempre
+ * - recordStats() habilita aciertos, fallos y desalojos por cache; Spring Boot Actuator
+ *   los publica en Micrometer/Prometheus (cache_gets_total, cache_evictions_total, cache_size)
+ * - Las caches se registran al arrancar para que el registro de métricas las encuentre
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String FEATURED_PRODUCTS = "featuredProducts";
+    public static final String USER_AUTH_STATE = "userAuthState";
+    public static final String COMMENT_TREES = "commentTrees";
+
+    @Value("${app.cache.products.max-size:10000}")
+    private long productsMaxSize;
+
+    @Value("${app.cache.products.ttl-ms:300000}")
+    private long productsTtlMs;
+
+    @Value("${app.cache.featured-products.ttl-ms:300000}")
+    private long featuredProductsTtlMs;
+
+    @Value("${app.cache.user-auth-state.max-size:10000}")
+    private long userAuthStateMaxSize;
+
+    @Value("${app.cache.user-auth-state.ttl-ms:60000}")
+    private long userAuthStateTtlMs;
+
+    @Value("${app.cache.comment-trees.max-size:1000}")
+    private long commentTreesMaxSize;
+
+    @Value("${app.cache.comment-trees.ttl-ms:600000}")
+    private long commentTreesTtlMs;
+
+    @Value("${app.cache.default.max-size:1000}")
+    private long defaultMaxSize;
+
+    @Value("${app.cache.default.ttl-ms:600000}")
+    private long defaultTtlMs;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches no declaradas aquí (creadas bajo demanda) también quedan acotadas
+        cacheManager.setCaffeine(bounded(defaultMaxSize, defaultTtlMs));
+
+        cacheManager.registerCustomCache(PRODUCTS,
+                bounded(productsMaxSize, productsTtlMs).build());
+        // Una sola entrada (la lista completa de destacados)
+        cacheManager.registerCustomCache(FEATURED_PRODUCTS,
+                bounded(1, featuredProductsTtlMs).build());
+        // Estado de autenticación por usuario (ver UserAuthStateCache)
+        cacheManager.registerCustomCache(USER_AUTH_STATE,
+                bounded(userAuthStateMaxSize, userAuthStateTtlMs).build());
+        // Árbol de comentarios aprobados por post (ver BlogCommentService)
+        cacheManager.registerCustomCache(COMMENT_TREES,
+                bounded(commentTreesMaxSize, commentTreesTtlMs).build());
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> bounded(long maxSize, long ttlMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats();
+    }
+}
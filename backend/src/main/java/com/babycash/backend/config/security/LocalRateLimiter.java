@@ -0,0 +1,23 @@
+package com.babycash.backend.config.security;
+
+import io.github.bucket4j.ConsumptionProbe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limiting por instancia con los buckets en memoria de RateLimitConfig (modo por defecto)
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalRateLimiter implements RateLimiter {
+
+    private final RateLimitConfig rateLimitConfig;
+
+    @Override
+    public Decision tryConsume(RateLimitConfig.Tier tier, String key) {
+        ConsumptionProbe probe = rateLimitConfig.resolveBucket(tier, key).tryConsumeAndReturnRemaining(1);
+        return new Decision(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+}
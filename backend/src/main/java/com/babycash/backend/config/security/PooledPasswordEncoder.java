@@ -0,0 +1,138 @@
+package com.babycash.backend.config.security;
+
+import com.babycash.backend.exception.custom.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que ejecuta los hashes (BCrypt) en un pool propio con cola acotada
+ *
+ * - Como máximo app.security.password.hash-threads hashes a la vez (por defecto la mitad de los núcleos):
+ *   una ráfaga de logins no ocupa toda la CPU ni deja sin servicio al resto de endpoints
+ * - La cola de admisión (app.security.password.queue-capacity) es acotada: si está llena, o la espera
+ *   supera app.security.password.max-wait-ms, se responde 503 con Retry-After en vez de acumular hilos
+ * - upgradeEncoding solo pide re-hash cuando la cola tiene margen: el cambio de work factor
+ *   (app.security.password.bcrypt-strength) se aplica en los logins correctos, sin forzar un reset
+ * - Métricas: password.hash.queue, password.hash.active, password.hash{operation}, password.hash.rejected
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMs = maxWaitMs;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash")
+                .tag("operation", "encode")
+                .description("Password hash CPU time")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .tag("operation", "matches")
+                .description("Password hash CPU time")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hash requests rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hilos por defecto: la mitad de los núcleos disponibles, al menos uno
+     */
+    public static int defaultThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword) && executor.getQueue().size() < queueCapacity / 2;
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy("queue full");
+        }
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy("wait exceeded " + maxWaitMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy("interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy(String reason) {
+        rejected.increment();
+        log.warn("Password hashing pool saturated ({}), rejecting request", reason);
+        return new ServiceUnavailableException(
+                "El servidor está procesando demasiados inicios de sesión. Intenta de nuevo en unos segundos",
+                RETRY_AFTER_SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
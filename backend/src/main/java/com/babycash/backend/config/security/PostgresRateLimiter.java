@@ -0,0 +1,208 @@
+package com.babycash.backend.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate limiting compartido entre instancias (app.rate-limit.mode=distributed)
+ *
+ * - La cuota de cada (nivel, IP) vive en la tabla rate_limit_buckets (ver db/rate_limit_buckets.sql):
+ *   ventana de 1 minuto con el reloj de la base de datos, reservada con un único
+ *   INSERT ... ON CONFLICT DO UPDATE que nunca entrega más tokens que el límite
+ * - Cada instancia reserva los tokens en lotes pequeños (app.rate-limit.distributed.reserve-batch,
+ *   como máximo una décima parte del límite) y los consume en memoria: la mayoría de las
+ *   peticiones no toca la base de datos
+ * - Con la ventana agotada la instancia rechaza en memoria hasta que termine, sin más consultas
+ * - Los tokens reservados y no usados se pierden al cerrar la ventana: el error siempre es
+ *   admitir de menos, nunca de más
+ * - Si la base de datos falla se usan los buckets locales de RateLimitConfig (límite por instancia)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.mode", havingValue = "distributed")
+public class PostgresRateLimiter implements RateLimiter {
+
+    private static final long WINDOW_MS = Duration.ofMinutes(1).toMillis();
+
+    private static final String NOW_MS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT";
+
+    private static final String EXPIRED = "b.window_start <= EXCLUDED.window_start - :windowMs";
+
+    static final String RESERVE_SQL =
+            "WITH clock AS (SELECT " + NOW_MS + " AS now_ms) "
+                    + "INSERT INTO rate_limit_buckets AS b (bucket_key, window_start, consumed, last_grant) "
+                    + "SELECT :key, clock.now_ms, LEAST(:capacity, :requested), LEAST(:capacity, :requested) FROM clock "
+                    + "ON CONFLICT (bucket_key) DO UPDATE SET "
+                    + "window_start = CASE WHEN " + EXPIRED + " THEN EXCLUDED.window_start ELSE b.window_start END, "
+                    + "consumed = CASE WHEN " + EXPIRED + " THEN EXCLUDED.consumed "
+                    + "ELSE LEAST(:capacity, b.consumed + :requested) END, "
+                    + "last_grant = CASE WHEN " + EXPIRED + " THEN EXCLUDED.consumed "
+                    + "ELSE LEAST(:capacity, b.consumed + :requested) - b.consumed END "
+                    + "RETURNING last_grant, consumed, b.window_start + :windowMs - " + NOW_MS + " AS remaining_ms";
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM rate_limit_buckets WHERE window_start < " + NOW_MS + " - :retainMs";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RateLimitConfig fallback;
+    private final int reserveBatch;
+    private final long idleTtlMs;
+    private final Cache<String, Lease> leases;
+    private final Counter reservations;
+    private final Counter failures;
+
+    public PostgresRateLimiter(NamedParameterJdbcTemplate jdbcTemplate,
+                               RateLimitConfig fallback,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.rate-limit.distributed.reserve-batch:10}") int reserveBatch,
+                               @Value("${app.rate-limit.max-keys-per-tier:100000}") long maxKeysPerTier,
+                               @Value("${app.rate-limit.idle-ttl-ms:600000}") long idleTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallback = fallback;
+        this.reserveBatch = reserveBatch;
+        this.idleTtlMs = idleTtlMs;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxKeysPerTier * RateLimitConfig.Tier.values().length)
+                .expireAfterWrite(Duration.ofMillis(WINDOW_MS))
+                .build();
+        this.reservations = Counter.builder("ratelimit.store.reservations")
+                .description("Token reservations against the shared rate-limit table")
+                .register(meterRegistry);
+        this.failures = Counter.builder("ratelimit.store.failures")
+                .description("Reservations that failed and fell back to local buckets")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryConsume(RateLimitConfig.Tier tier, String key) {
+        String bucketKey = tier.tag() + ":" + key;
+        long now = System.nanoTime();
+
+        Lease lease = leases.getIfPresent(bucketKey);
+        if (lease != null && lease.isActive(now)) {
+            if (lease.tryTake()) {
+                return new Decision(true, lease.remaining(), 0);
+            }
+            if (lease.windowExhausted()) {
+                return new Decision(false, 0, lease.nanosLeft(now));
+            }
+        }
+        return reserve(tier, bucketKey, key, now);
+    }
+
+    private Decision reserve(RateLimitConfig.Tier tier, String bucketKey, String key, long now) {
+        int capacity = tier.requestsPerMinute();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", bucketKey)
+                .addValue("capacity", capacity)
+                .addValue("requested", batchSize(tier))
+                .addValue("windowMs", WINDOW_MS);
+
+        Lease fresh;
+        try {
+            fresh = jdbcTemplate.queryForObject(RESERVE_SQL, params, (rs, rowNum) -> new Lease(
+                    now + TimeUnit.MILLISECONDS.toNanos(Math.max(0, rs.getLong("remaining_ms"))),
+                    rs.getInt("last_grant"),
+                    capacity - rs.getInt("consumed")));
+            reservations.increment();
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Rate limit store unavailable, using local bucket for {}: {}", bucketKey, e.getMessage());
+            ConsumptionProbe probe = fallback.resolveBucket(tier, key).tryConsumeAndReturnRemaining(1);
+            return new Decision(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+        }
+
+        // Si otro hilo reservó a la vez, sus tokens pendientes pasan al lote nuevo (ninguno se pierde ni se duplica)
+        Lease current = leases.asMap().merge(bucketKey, fresh,
+                (previous, next) -> previous.isActive(now) ? next.absorb(previous) : next);
+        if (current.tryTake()) {
+            return new Decision(true, current.remaining(), 0);
+        }
+        return new Decision(false, 0, current.nanosLeft(now));
+    }
+
+    int batchSize(RateLimitConfig.Tier tier) {
+        return Math.max(1, Math.min(reserveBatch, tier.requestsPerMinute() / 10));
+    }
+
+    /**
+     * Limpieza periódica de ventanas sin uso
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-ttl-ms:600000}")
+    public void cleanupExpiredWindows() {
+        try {
+            int deleted = jdbcTemplate.update(CLEANUP_SQL, new MapSqlParameterSource("retainMs", idleTtlMs));
+            if (deleted > 0) {
+                log.debug("Removed {} expired rate limit windows", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not clean up rate limit windows: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tokens reservados por esta instancia para una ventana
+     */
+    static final class Lease {
+
+        private final long deadlineNanos;
+        private final AtomicInteger tokens;
+        private final int globalRemaining;
+
+        Lease(long deadlineNanos, int tokens, int globalRemaining) {
+            this.deadlineNanos = deadlineNanos;
+            this.tokens = new AtomicInteger(tokens);
+            this.globalRemaining = globalRemaining;
+        }
+
+        boolean isActive(long now) {
+            return now - deadlineNanos < 0;
+        }
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        /**
+         * La ventana compartida ya no tenía tokens al reservar este lote
+         */
+        boolean windowExhausted() {
+            return globalRemaining == 0;
+        }
+
+        long remaining() {
+            return globalRemaining + tokens.get();
+        }
+
+        long nanosLeft(long now) {
+            return Math.max(0, deadlineNanos - now);
+        }
+
+        Lease absorb(Lease previous) {
+            tokens.addAndGet(previous.tokens.getAndSet(0));
+            return this;
+        }
+    }
+}
@@ -1,36 +1,110 @@
 package com.babycash.backend.config.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configuración de Rate Limiting usando Bucket4j
- * 
+ *
  * Implementa el patrón Token Bucket para limitar requests por IP:
  * - Login: 10 requests/minuto (protección contra brute force)
  * - General API: 100 requests/minuto (previene abuse)
  * - Admin: 50 requests/minuto (operaciones sensibles)
+ *
+ * Almacén de buckets por nivel (Caffeine):
+ * - Un bucket sin uso durante app.rate-limit.idle-ttl-ms se descarta; como ese tiempo supera
+ *   el periodo de recarga (1 minuto), el bucket ya estaría lleno y descartarlo no regala cuota
+ * - Tamaño máximo app.rate-limit.max-keys-per-tier con desalojo casi-LRU (W-TinyLFU): las IPs
+ *   que aparecen una sola vez (rotación de IPs) no desplazan a los clientes activos
+ * - Métricas: ratelimit.buckets{tier}, ratelimit.evictions{tier}, ratelimit.requests{tier,result}
  */
 @Configuration
 public class RateLimitConfig {
 
-    // Cache de buckets por IP (en producción usar Redis para cluster)
-    private final Map<String, Bucket> authBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> apiBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> adminBuckets = new ConcurrentHashMap<>();
+    /**
+     * Niveles de rate limiting
+     */
+    public enum Tier {
+        AUTH(10),
+        API(100),
+        ADMIN(50);
+
+        private final int requestsPerMinute;
+
+        Tier(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int requestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Tier, Cache<String, Bucket>> buckets = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> allowed = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> rejected = new EnumMap<>(Tier.class);
+
+    public RateLimitConfig(MeterRegistry meterRegistry,
+                           @Value("${app.rate-limit.max-keys-per-tier:100000}") long maxKeysPerTier,
+                           @Value("${app.rate-limit.idle-ttl-ms:600000}") long idleTtlMs) {
+        for (Tier tier : Tier.values()) {
+            Cache<String, Bucket> cache = Caffeine.newBuilder()
+                    .maximumSize(maxKeysPerTier)
+                    .expireAfterAccess(Duration.ofMillis(idleTtlMs))
+                    .recordStats()
+                    .build();
+            buckets.put(tier, cache);
+
+            Gauge.builder("ratelimit.buckets", cache, Cache::estimatedSize)
+                    .tag("tier", tier.tag())
+                    .description("Live rate-limit buckets")
+                    .register(meterRegistry);
+            FunctionCounter.builder("ratelimit.evictions", cache, c -> c.stats().evictionCount())
+                    .tag("tier", tier.tag())
+                    .description("Buckets evicted by size or idle expiry")
+                    .register(meterRegistry);
+            allowed.put(tier, Counter.builder("ratelimit.requests")
+                    .tag("tier", tier.tag())
+                    .tag("result", "allowed")
+                    .register(meterRegistry));
+            rejected.put(tier, Counter.builder("ratelimit.requests")
+                    .tag("tier", tier.tag())
+                    .tag("result", "rejected")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Obtiene o crea el bucket de un cliente para un nivel
+     */
+    public Bucket resolveBucket(Tier tier, String key) {
+        return buckets.get(tier).get(key, k -> createBucket(tier));
+    }
 
     /**
      * Obtiene o crea un bucket para endpoints de autenticación
      * Límite: 10 requests por minuto
      */
     public Bucket resolveAuthBucket(String key) {
-        return authBuckets.computeIfAbsent(key, k -> createAuthBucket());
+        return resolveBucket(Tier.AUTH, key);
     }
 
     /**
@@ -38,7 +112,7 @@ public class RateLimitConfig {
      * Límite: 100 requests por minuto
      */
     public Bucket resolveApiBucket(String key) {
-        return apiBuckets.computeIfAbsent(key, k -> createApiBucket());
+        return resolveBucket(Tier.API, key);
     }
 
     /**
@@ -46,45 +120,23 @@ public class RateLimitConfig {
      * Límite: 50 requests por minuto
      */
     public Bucket resolveAdminBucket(String key) {
-        return adminBuckets.computeIfAbsent(key, k -> createAdminBucket());
-    }
-
-    /**
-     * Crea bucket para autenticación: 10 req/min
-     * Refill: 10 tokens cada 1 minuto
-     */
-    private Bucket createAuthBucket() {
-        Bandwidth limit = Bandwidth.classic(
-            10, // capacidad
-            Refill.intervally(10, Duration.ofMinutes(1)) // refill
-        );
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+        return resolveBucket(Tier.ADMIN, key);
     }
 
     /**
-     * Crea bucket para API general: 100 req/min
-     * Refill: 100 tokens cada 1 minuto
+     * Registra el resultado de una petición para las métricas de rechazo por nivel
      */
-    private Bucket createApiBucket() {
-        Bandwidth limit = Bandwidth.classic(
-            100,
-            Refill.intervally(100, Duration.ofMinutes(1))
-        );
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    public void recordDecision(Tier tier, boolean consumed) {
+        (consumed ? allowed : rejected).get(tier).increment();
     }
 
     /**
-     * Crea bucket para admin: 50 req/min
-     * Refill: 50 tokens cada 1 minuto
+     * Crea un bucket: capacidad = límite por minuto, recarga completa cada minuto
      */
-    private Bucket createAdminBucket() {
+    private Bucket createBucket(Tier tier) {
         Bandwidth limit = Bandwidth.classic(
-            50,
-            Refill.intervally(50, Duration.ofMinutes(1))
+            tier.requestsPerMinute(),
+            Refill.intervally(tier.requestsPerMinute(), Duration.ofMinutes(1))
         );
         return Bucket.builder()
             .addLimit(limit)
@@ -92,18 +144,10 @@ public class RateLimitConfig {
     }
 
     /**
-     * Limpia buckets antiguos periódicamente para evitar memory leaks
-     * En producción, usar Redis con TTL automático
+     * Mantenimiento periódico: aplica los desalojos pendientes
+     * (ya no se vacían los mapas, así ningún cliente activo pierde su cuota)
      */
     public void cleanupOldBuckets() {
-        if (authBuckets.size() > 10000) {
-            authBuckets.clear();
-        }
-        if (apiBuckets.size() > 10000) {
-            apiBuckets.clear();
-        }
-        if (adminBuckets.size() > 10000) {
-            adminBuckets.clear();
-        }
+        buckets.values().forEach(Cache::cleanUp);
     }
 }
@@ -1,8 +1,6 @@
 package com.babycash.backend.config.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +27,7 @@ import java.util.Map;
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimitConfig rateLimitConfig;
+    private final RateLimiter rateLimiter;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -41,19 +40,20 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String requestURI = request.getRequestURI();
         String clientIP = getClientIP(request);
 
-        // Determinar qué bucket usar según el endpoint
-        Bucket bucket = selectBucket(requestURI, clientIP);
+        // Determinar qué nivel de límite aplica según el endpoint
+        RateLimitConfig.Tier tier = selectTier(requestURI);
 
-        if (bucket != null) {
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (tier != null) {
+            RateLimiter.Decision probe = rateLimiter.tryConsume(tier, clientIP);
+            rateLimitConfig.recordDecision(tier, probe.consumed());
 
-            if (probe.isConsumed()) {
+            if (probe.consumed()) {
                 // Request permitido - agregar headers de rate limit
-                response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
+                response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.remainingTokens()));
                 filterChain.doFilter(request, response);
             } else {
                 // Rate limit excedido
-                long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
+                long waitForRefill = probe.nanosToWait() / 1_000_000_000;
                 
                 log.warn("Rate limit exceeded for IP: {} on endpoint: {}", clientIP, requestURI);
                 
@@ -76,23 +76,23 @@ public class RateLimitFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Selecciona el bucket apropiado según el tipo de endpoint
+     * Selecciona el nivel de límite apropiado según el tipo de endpoint
      */
-    private Bucket selectBucket(String requestURI, String clientIP) {
+    private RateLimitConfig.Tier selectTier(String requestURI) {
         // Endpoints de autenticación: límite estricto
         if (requestURI.startsWith("/api/auth/login") || 
             requestURI.startsWith("/api/auth/register")) {
-            return rateLimitConfig.resolveAuthBucket(clientIP);
+            return RateLimitConfig.Tier.AUTH;
         }
 
         // Endpoints de admin: límite medio
         if (requestURI.startsWith("/api/admin/")) {
-            return rateLimitConfig.resolveAdminBucket(clientIP);
+            return RateLimitConfig.Tier.ADMIN;
         }
 
         // API general: límite generoso
         if (requestURI.startsWith("/api/")) {
-            return rateLimitConfig.resolveApiBucket(clientIP);
+            return RateLimitConfig.Tier.API;
         }
 
         // No aplicar rate limiting a:
@@ -0,0 +1,23 @@
+package com.babycash.backend.config.security;
+
+/**
+ * Decide si una petición consume un token del límite de su nivel
+ *
+ * Implementaciones (app.rate-limit.mode):
+ * - local: buckets Bucket4j en memoria, por instancia (LocalRateLimiter)
+ * - distributed: cuota compartida por todas las instancias en PostgreSQL (PostgresRateLimiter)
+ */
+public interface RateLimiter {
+
+    /**
+     * Resultado de intentar consumir un token
+     *
+     * @param consumed        true si la petición puede continuar
+     * @param remainingTokens tokens restantes (aproximado en modo distributed)
+     * @param nanosToWait     espera hasta la próxima recarga si se rechazó
+     */
+    record Decision(boolean consumed, long remainingTokens, long nanosToWait) {
+    }
+
+    Decision tryConsume(RateLimitConfig.Tier tier, String key);
+}
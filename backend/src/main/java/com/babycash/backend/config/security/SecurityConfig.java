@@ -2,7 +2,9 @@ package com.babycash.backend.config.security;
 
 import com.babycash.backend.security.CustomUserDetailsService;
 import com.babycash.backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,7 +41,8 @@ public class SecurityConfig {
     private final SecurityHeadersFilter securityHeadersFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configure(http)) // HABILITAR CORS
@@ -58,9 +61,11 @@ public class SecurityConfig {
                     "/api/blog/*",
                     "/api/blog/slug/**",
                     "/api/blog/featured",
+                    "/api/blog/featured/summary",
                     "/api/blog/search",
                     "/api/blog/tag/**",
-                    "/api/blog/most-viewed"
+                    "/api/blog/most-viewed",
+                    "/api/blog/most-viewed/summary"
                 ).permitAll()
                 
                 // Testimonials public endpoints
@@ -100,7 +105,7 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             // Order matters: Rate Limit -> Security Headers -> JWT
             .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(securityHeadersFilter, RateLimitFilter.class)
@@ -110,10 +115,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // Re-hash transparente tras un login correcto si el hash usa un work factor anterior
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -122,9 +129,20 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt (strength 12 por defecto) ejecutado en un pool acotado, ver PooledPasswordEncoder
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Strength 12 para mejor seguridad
+    public PasswordEncoder passwordEncoder(
+        MeterRegistry meterRegistry,
+        @Value("${app.security.password.bcrypt-strength:12}") int strength,
+        @Value("${app.security.password.hash-threads:0}") int hashThreads,
+        @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+        @Value("${app.security.password.max-wait-ms:5000}") long maxWaitMs
+    ) {
+        int threads = hashThreads > 0 ? hashThreads : PooledPasswordEncoder.defaultThreads();
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, maxWaitMs,
+            meterRegistry);
     }
 }
 
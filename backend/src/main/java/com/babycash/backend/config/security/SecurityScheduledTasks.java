@@ -9,6 +9,7 @@ import com.babycash.backend.service.RefreshTokenService;
 
 /**
  * Tareas programadas para mantenimiento de seguridad
+ * Las limpiezas grandes se ejecutan por lotes cortos con MaintenanceJobRunner
  */
 @Slf4j
 @Component
@@ -20,8 +21,8 @@ public class SecurityScheduledTasks {
     private final RefreshTokenService refreshTokenService;
 
     /**
-     * Limpia buckets de rate limiting cada hora
-     * Previene memory leaks en entornos de alta carga
+     * Mantenimiento horario de los buckets de rate limiting
+     * (el tamaño ya está acotado; aquí solo se aplican desalojos pendientes)
      */
     @Scheduled(cron = "0 0 * * * *") // Cada hora
     public void cleanupRateLimitBuckets() {
@@ -36,7 +37,7 @@ public class SecurityScheduledTasks {
 
     /**
      * Limpia logs de auditoría antiguos cada día a las 2 AM
-     * Mantiene solo últimos 90 días por regulaciones
+     * Mantiene solo últimos 90 días por regulaciones (elimina particiones mensuales completas)
      */
     @Scheduled(cron = "0 0 2 * * *") // 2 AM cada día
     public void cleanupOldAuditLogs() {
@@ -78,7 +79,7 @@ public class SecurityScheduledTasks {
 
     /**
      * Limpia refresh tokens expirados y revocados cada día a las 3 AM
-     * Elimina tokens más antiguos de 30 días
+     * Elimina tokens más antiguos de 30 días, por lotes (job "refresh-token-cleanup")
      */
     @Scheduled(cron = "0 0 3 * * *") // 3 AM cada día
     public void cleanupOldRefreshTokens() {
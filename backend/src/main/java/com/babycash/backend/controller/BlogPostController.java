@@ -2,6 +2,7 @@ package com.babycash.backend.controller;
 
 import com.babycash.backend.dto.request.BlogPostRequest;
 import com.babycash.backend.dto.response.BlogPostResponse;
+import com.babycash.backend.dto.response.BlogPostSummaryResponse;
 import com.babycash.backend.service.IBlogPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -148,6 +149,29 @@ public class BlogPostController {
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Resumen de posts publicados", description = "Lista paginada de posts publicados sin el contenido (tarjetas)")
+    public ResponseEntity<Page<BlogPostSummaryResponse>> getPublishedPostSummaries(
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<BlogPostSummaryResponse> posts = blogPostService.getPublishedPostSummaries(pageable);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/featured/summary")
+    @Operation(summary = "Resumen de posts destacados", description = "Los 5 posts destacados más recientes, sin el contenido")
+    public ResponseEntity<List<BlogPostSummaryResponse>> getFeaturedPostSummaries() {
+        return ResponseEntity.ok(blogPostService.getFeaturedPostSummaries());
+    }
+
+    @GetMapping("/most-viewed/summary")
+    @Operation(summary = "Resumen de posts más vistos", description = "Top 10 posts más vistos, sin el contenido")
+    public ResponseEntity<List<BlogPostSummaryResponse>> getMostViewedPostSummaries() {
+        return ResponseEntity.ok(blogPostService.getMostViewedPostSummaries());
+    }
+
     @GetMapping("/admin/all")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Obtener todos los posts (admin)", description = "Lista paginada de TODOS los posts (publicados y no publicados). Solo admin.")
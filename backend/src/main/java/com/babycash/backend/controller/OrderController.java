@@ -3,6 +3,7 @@ package com.babycash.backend.controller;
 import com.babycash.backend.dto.request.CreateOrderRequest;
 import com.babycash.backend.dto.response.OrderResponse;
 import com.babycash.backend.service.OrderService;
+import com.babycash.backend.service.idempotency.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(
@@ -126,8 +128,12 @@ public class OrderController {
                     content = @Content(mediaType = "application/json")
             )
     })
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return ResponseEntity.ok(orderService.createOrder(request));
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @Parameter(description = "Clave única por intento lógico: los reintentos con la misma clave devuelven la respuesta original sin repetir la operación")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(
+                "orders:create", idempotencyKey, request, OrderResponse.class, () -> orderService.createOrder(request)));
     }
 
     @GetMapping
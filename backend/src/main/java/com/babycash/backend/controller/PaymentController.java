@@ -3,6 +3,7 @@ package com.babycash.backend.controller;
 import com.babycash.backend.dto.request.ProcessPaymentRequest;
 import com.babycash.backend.dto.response.PaymentResponse;
 import com.babycash.backend.service.PaymentService;
+import com.babycash.backend.service.idempotency.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/process")
     @Operation(
@@ -212,8 +214,12 @@ public class PaymentController {
                     )
             )
     })
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody ProcessPaymentRequest request) {
-        return ResponseEntity.ok(paymentService.processPayment(request));
+    public ResponseEntity<PaymentResponse> processPayment(
+            @Valid @RequestBody ProcessPaymentRequest request,
+            @Parameter(description = "Clave única por intento lógico: los reintentos con la misma clave devuelven la respuesta original sin repetir la operación")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(
+                "payments:process", idempotencyKey, request, PaymentResponse.class, () -> paymentService.processPayment(request)));
     }
 
     @GetMapping("/order/{orderId}")
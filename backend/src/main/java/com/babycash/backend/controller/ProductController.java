@@ -1,6 +1,7 @@
 package com.babycash.backend.controller;
 
 import com.babycash.backend.dto.response.ProductResponse;
+import com.babycash.backend.dto.response.ProductSummaryResponse;
 import com.babycash.backend.model.enums.ProductCategory;
 import com.babycash.backend.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -111,6 +112,46 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts(pageable));
     }
 
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Obtener listado resumido de productos",
+            description = """
+                    Igual que el listado paginado pero sin la descripción de cada producto:
+                    solo los campos que muestran las tarjetas del catálogo.
+                    Acepta una categoría opcional y los mismos parámetros de ordenamiento.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Listado resumido obtenido exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class)
+                    )
+            )
+    })
+    public ResponseEntity<Page<ProductSummaryResponse>> getProductSummaries(
+            @Parameter(description = "Categoría opcional del producto", example = "CLOTHING")
+            @RequestParam(required = false) ProductCategory category,
+
+            @Parameter(description = "Número de página (inicia en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Tamaño de página (productos por página)", example = "12")
+            @RequestParam(defaultValue = "12") int size,
+
+            @Parameter(description = "Campo por el cual ordenar (createdAt, price, name, rating, stock)", example = "createdAt")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+
+            @Parameter(description = "Dirección del ordenamiento (ASC o DESC)", example = "DESC")
+            @RequestParam(defaultValue = "DESC") String direction
+    ) {
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        return ResponseEntity.ok(productService.getProductSummaries(category, pageable));
+    }
+
     @GetMapping("/category/{category}")
     @Operation(
             summary = "Obtener productos por categoría",
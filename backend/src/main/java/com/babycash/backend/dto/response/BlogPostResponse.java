@@ -32,6 +32,9 @@ public class BlogPostResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Search results only: content fragment with matched terms wrapped in <mark> (HTML-escaped)
+    private String highlight;
+
     // Author information (nested DTO)
     private AuthorInfo author;
 
@@ -0,0 +1,34 @@
+package com.babycash.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Summary DTO for blog listings (cards)
+ * Same fields as BlogPostResponse without the content body and draft/audit data
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String imageUrl;
+    private Boolean featured;
+    private Long viewCount;
+    private List<String> tags;
+    private LocalDateTime publishedAt;
+
+    // Author display name only (no email in public listings)
+    private Long authorId;
+    private String authorName;
+}
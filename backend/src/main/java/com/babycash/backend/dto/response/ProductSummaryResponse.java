@@ -0,0 +1,28 @@
+package com.babycash.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Product summary DTO for catalog listings (no description)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryResponse {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private BigDecimal discountPrice;
+    private String category;
+    private Integer stock;
+    private String imageUrl;
+    private Boolean featured;
+    private BigDecimal rating;
+    private Integer reviewCount;
+}
@@ -53,7 +53,11 @@ public class BlogPost {
     @Builder.Default
     private Boolean featured = false;
 
-    @Column(name = "view_count", nullable = false)
+    /**
+     * Written only by BlogViewCounter (batched increments), never by entity updates,
+     * so saving a post cannot overwrite views flushed in the meantime
+     */
+    @Column(name = "view_count", nullable = false, updatable = false)
     @Builder.Default
     private Long viewCount = 0L;
 
@@ -92,13 +96,6 @@ public class BlogPost {
         this.published = false;
     }
 
-    /**
-     * Business logic: Increment view count
-     */
-    public void incrementViewCount() {
-        this.viewCount++;
-    }
-
     /**
      * Business logic: Toggle featured status
      */
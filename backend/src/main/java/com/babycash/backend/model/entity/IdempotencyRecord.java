@@ -0,0 +1,62 @@
+package com.babycash.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta registrada para un Idempotency-Key
+ * Permite devolver la misma respuesta cuando el cliente reintenta una operación no idempotente
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_owner_key",
+                columnNames = {"scope", "owner", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Operación protegida (p. ej. orders:create)
+     */
+    @Column(nullable = false, length = 50)
+    private String scope;
+
+    /**
+     * Usuario autenticado que envió la clave (las claves no se comparten entre usuarios)
+     */
+    @Column(nullable = false, length = 255)
+    private String owner;
+
+    @Column(name = "idempotency_key", nullable = false, length = 255)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 del cuerpo de la solicitud original
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * Respuesta original serializada en JSON
+     */
+    @Column(name = "response_body", nullable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
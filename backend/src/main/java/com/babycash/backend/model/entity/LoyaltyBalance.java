@@ -0,0 +1,93 @@
+package com.babycash.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Per-user loyalty summary, maintained in the same transaction as each ledger row
+ * (award, redeem, expire), so reading a user's points is a primary-key lookup
+ * Invariant: balance = SUM(loyalty_points.points) for the user
+ */
+@Entity
+@Table(name = "loyalty_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoyaltyBalance {
+
+    // Tier thresholds on lifetime earned points
+    public static final int SILVER_THRESHOLD = 1000;
+    public static final int GOLD_THRESHOLD = 5000;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer balance;
+
+    @Column(name = "lifetime_earned", nullable = false)
+    private Integer lifetimeEarned;
+
+    @Column(name = "lifetime_redeemed", nullable = false)
+    private Integer lifetimeRedeemed;
+
+    @Column(name = "lifetime_expired", nullable = false)
+    private Integer lifetimeExpired;
+
+    /**
+     * Month bucket: first day of the month that earnedMonth belongs to
+     */
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "earned_month", nullable = false)
+    private Integer earnedMonth;
+
+    @Column(nullable = false, length = 10)
+    private String tier;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Points earned in the given month (0 if the bucket belongs to an earlier month)
+     */
+    public int earnedIn(YearMonth month) {
+        return monthStart != null && YearMonth.from(monthStart).equals(month) ? earnedMonth : 0;
+    }
+
+    /**
+     * Summary of a user without loyalty activity
+     */
+    public static LoyaltyBalance empty(Long userId) {
+        return LoyaltyBalance.builder()
+                .userId(userId)
+                .balance(0)
+                .lifetimeEarned(0)
+                .lifetimeRedeemed(0)
+                .lifetimeExpired(0)
+                .earnedMonth(0)
+                .tier(tierFor(0))
+                .build();
+    }
+
+    /**
+     * Business rule: BRONZE < 1000, SILVER < 5000, GOLD >= 5000
+     */
+    public static String tierFor(int lifetimeEarned) {
+        if (lifetimeEarned >= GOLD_THRESHOLD) {
+            return "GOLD";
+        } else if (lifetimeEarned >= SILVER_THRESHOLD) {
+            return "SILVER";
+        } else {
+            return "BRONZE";
+        }
+    }
+}
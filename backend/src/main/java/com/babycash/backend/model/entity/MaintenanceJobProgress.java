@@ -0,0 +1,52 @@
+package com.babycash.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progreso de un trabajo de mantenimiento por lotes (ver MaintenanceJobRunner)
+ * Permite que una ejecución interrumpida o pausada continúe desde el último lote confirmado
+ */
+@Entity
+@Table(name = "maintenance_job_progress")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenanceJobProgress {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    /**
+     * Última clave (ID) procesada; el siguiente lote empieza después de ella
+     */
+    @Column(name = "last_key", nullable = false)
+    private Long lastKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * Elementos procesados en la ejecución actual
+     */
+    @Column(nullable = false)
+    private Long processed;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        RUNNING,    // En curso, o interrumpida (caída del proceso): se reanuda
+        PAUSED,     // Agotó su presupuesto de tiempo: se reanuda en la siguiente ejecución
+        COMPLETED   // Terminó: la siguiente ejecución empieza desde el principio
+    }
+}
@@ -9,10 +9,10 @@ import java.time.LocalDateTime;
 /**
  * Refresh Token entity for JWT token rotation
  * Implements automatic token rotation for enhanced security
+ * Only the SHA-256 hash of the token is stored; the raw value is known only when it is issued
  */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_token", columnList = "token"),
         @Index(name = "idx_refresh_user", columnList = "user_id"),
         @Index(name = "idx_refresh_expiry", columnList = "expiry_date")
 })
@@ -27,9 +27,15 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 512)
+    /**
+     * Raw token returned to the client (not persisted, only set when the token is issued)
+     */
+    @Transient
     private String token;
 
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_refresh_token_user", foreignKeyDefinition = "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE"))
     private User user;
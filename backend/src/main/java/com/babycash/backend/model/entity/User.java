@@ -3,6 +3,7 @@ package com.babycash.backend.model.entity;
 import com.babycash.backend.model.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -67,6 +68,14 @@ public class User {
     @Column(name = "refresh_token", columnDefinition = "TEXT")
     private String refreshToken;
 
+    /**
+     * Se incrementa al restablecer la contraseña (AuthService.resetPassword): invalida los access tokens emitidos antes
+     */
+    @Column(name = "auth_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long authVersion = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
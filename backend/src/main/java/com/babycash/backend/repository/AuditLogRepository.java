@@ -26,6 +26,7 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     /**
      * Buscar logs por rango de fechas
+     * El filtro es sobre la clave de partición: solo se leen las particiones mensuales del rango
      */
     Page<AuditLog> findByTimestampBetween(
         LocalDateTime start, 
@@ -41,17 +42,6 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         Long entityId
     );
 
-    /**
-     * Buscar intentos de login fallidos por IP
-     */
-    @Query("SELECT COUNT(a) FROM AuditLog a WHERE a.ipAddress = :ip " +
-           "AND a.actionType = 'LOGIN_FAILED' " +
-           "AND a.timestamp > :since")
-    long countFailedLoginsByIpSince(
-        @Param("ip") String ipAddress, 
-        @Param("since") LocalDateTime since
-    );
-
     /**
      * Buscar eventos de seguridad recientes
      */
@@ -70,7 +60,9 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     );
 
     /**
-     * Eliminar logs antiguos (para limpieza periódica)
+     * IDs de logs anteriores al corte, en orden de ID (un lote de la limpieza periódica)
+     * Solo se usa si audit_logs no está particionada (ver AuditPartitionManager)
      */
-    void deleteByTimestampBefore(LocalDateTime timestamp);
+    @Query("SELECT a.id FROM AuditLog a WHERE a.id > :afterId AND a.timestamp < :cutoff ORDER BY a.id")
+    List<Long> findIdsBefore(@Param("afterId") Long afterId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
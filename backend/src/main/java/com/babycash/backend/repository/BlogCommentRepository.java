@@ -11,11 +11,11 @@ import java.util.List;
 @Repository
 public interface BlogCommentRepository extends JpaRepository<BlogComment, Long> {
 
-    // Find all approved comments for a blog post (excluding replies)
-    List<BlogComment> findByBlogPostIdAndApprovedTrueAndParentCommentIsNullOrderByCreatedAtDesc(Long blogPostId);
-
-    // Find all approved replies for a comment
-    List<BlogComment> findByParentCommentIdAndApprovedTrueOrderByCreatedAtAsc(Long parentCommentId);
+    // Find all approved comments and replies of a blog post with their authors (one query for the whole tree)
+    @Query("SELECT c FROM BlogComment c JOIN FETCH c.user " +
+           "WHERE c.blogPost.id = :postId AND c.approved = true " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<BlogComment> findApprovedWithUserByPostId(@Param("postId") Long postId);
 
     // Find all pending comments for admin review
     List<BlogComment> findByApprovedFalseOrderByCreatedAtDesc();
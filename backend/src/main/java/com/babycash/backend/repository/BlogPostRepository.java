@@ -2,13 +2,17 @@ package com.babycash.backend.repository;
 
 import com.babycash.backend.model.entity.BlogPost;
 import com.babycash.backend.model.entity.User;
+import com.babycash.backend.repository.projection.BlogPostSummary;
+import com.babycash.backend.repository.projection.BlogPostTag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +21,7 @@ import java.util.Optional;
  * Interface Segregation Principle: Only necessary query methods
  */
 @Repository
-public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+public interface BlogPostRepository extends JpaRepository<BlogPost, Long>, BlogPostSearchOperations {
 
     /**
      * Find published posts ordered by publication date (newest first)
@@ -46,6 +50,8 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
 
     /**
      * Search posts by title or content (published only)
+     * Fallback for databases without the search_vector column (H2, schema not migrated);
+     * see BlogPostSearchOperations for the full-text search
      */
     @Query("SELECT bp FROM BlogPost bp WHERE bp.published = true AND " +
            "(LOWER(bp.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
@@ -53,6 +59,12 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
            "LOWER(bp.excerpt) LIKE LOWER(CONCAT('%', :query, '%')))")
     Page<BlogPost> searchPublishedPosts(@Param("query") String query, Pageable pageable);
 
+    /**
+     * Load a page of posts by ID with their author (search results); order is not preserved
+     */
+    @EntityGraph(attributePaths = "author")
+    List<BlogPost> findWithAuthorByIdIn(Collection<Long> ids);
+
     /**
      * Find posts by tag
      */
@@ -80,6 +92,38 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
      */
     List<BlogPost> findTop10ByPublishedTrueOrderByViewCountDesc();
 
+    // ==================== Summary projections (listing cards) ====================
+
+    String SUMMARY_SELECT = "SELECT new com.babycash.backend.repository.projection.BlogPostSummary(" +
+            "bp.id, bp.title, bp.slug, bp.excerpt, bp.imageUrl, bp.featured, bp.viewCount, bp.publishedAt, " +
+            "a.id, a.firstName, a.lastName) FROM BlogPost bp JOIN bp.author a ";
+
+    /**
+     * Published post summaries, newest first (no content, no tags)
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE bp.published = true ORDER BY bp.publishedAt DESC, bp.id DESC",
+           countQuery = "SELECT COUNT(bp) FROM BlogPost bp WHERE bp.published = true")
+    Page<BlogPostSummary> findPublishedSummaries(Pageable pageable);
+
+    /**
+     * Featured published post summaries, newest first; the page size is the limit
+     */
+    @Query(SUMMARY_SELECT + "WHERE bp.published = true AND bp.featured = true ORDER BY bp.publishedAt DESC, bp.id DESC")
+    List<BlogPostSummary> findFeaturedSummaries(Pageable pageable);
+
+    /**
+     * Most viewed published post summaries; the page size is the limit
+     */
+    @Query(SUMMARY_SELECT + "WHERE bp.published = true ORDER BY bp.viewCount DESC, bp.id DESC")
+    List<BlogPostSummary> findMostViewedSummaries(Pageable pageable);
+
+    /**
+     * Tags of several posts in one query (replaces one EAGER collection load per post)
+     */
+    @Query("SELECT new com.babycash.backend.repository.projection.BlogPostTag(bp.id, t) " +
+           "FROM BlogPost bp JOIN bp.tags t WHERE bp.id IN :ids")
+    List<BlogPostTag> findTagsByPostIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find all posts ordered by featured first, then by creation date (for admin panel)
      * Featured posts appear first regardless of creation date
@@ -0,0 +1,42 @@
+package com.babycash.backend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Búsqueda de texto completo sobre blog_posts (PostgreSQL)
+ *
+ * Fragmento de BlogPostRepository implementado con JDBC sobre la columna search_vector
+ * (db/blog_posts_search.sql): tsvector ponderado título > extracto > contenido con índice GIN.
+ */
+public interface BlogPostSearchOperations {
+
+    /**
+     * Marcadores de inicio y fin de cada término resaltado en {@link SearchHit#snippet()}
+     * (caracteres de control: no aparecen en el texto de los posts y sobreviven al escape HTML)
+     */
+    String HIGHLIGHT_START = "\u0002";
+    String HIGHLIGHT_STOP = "\u0003";
+
+    /**
+     * Resultado de búsqueda
+     *
+     * @param id      ID del post
+     * @param rank    relevancia (ts_rank); la página viene ordenada de mayor a menor
+     * @param snippet fragmento del contenido con los términos encontrados entre HIGHLIGHT_START y HIGHLIGHT_STOP
+     */
+    record SearchHit(Long id, float rank, String snippet) {
+    }
+
+    /**
+     * Indica si la columna search_vector existe (migración aplicada); en H2 o sin migrar es false.
+     * Se consulta una vez por arranque
+     */
+    boolean isFullTextSearchAvailable();
+
+    /**
+     * Busca posts publicados con la sintaxis de websearch_to_tsquery (palabras, "frase exacta", -excluir, OR),
+     * configuración 'spanish'; empate de relevancia por fecha de publicación más reciente
+     */
+    Page<SearchHit> searchPublished(String query, Pageable pageable);
+}
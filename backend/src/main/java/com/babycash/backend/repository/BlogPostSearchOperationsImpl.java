@@ -0,0 +1,81 @@
+package com.babycash.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Implementación JDBC de BlogPostSearchOperations (Spring Data la une a BlogPostRepository)
+ *
+ * La consulta interna ordena y pagina por ts_rank usando solo el índice GIN y search_vector;
+ * ts_headline (que vuelve a analizar el texto) se calcula después, solo para las filas de la página.
+ * El total se obtiene con un COUNT aparte sobre el mismo índice.
+ */
+@RequiredArgsConstructor
+class BlogPostSearchOperationsImpl implements BlogPostSearchOperations {
+
+    private static final String TS_CONFIG = "'spanish'";
+
+    private static final String HEADLINE_OPTIONS = "StartSel=" + HIGHLIGHT_START + ", StopSel=" + HIGHLIGHT_STOP
+            + ", MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private static final String AVAILABLE_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_attribute"
+                    + " WHERE attrelid = to_regclass('blog_posts') AND attname = 'search_vector' AND NOT attisdropped)";
+
+    private static final String SEARCH_SQL =
+            "SELECT page.id, page.rank,"
+                    + " ts_headline(" + TS_CONFIG + ", coalesce(bp.excerpt, '') || ' ' || bp.content, page.query, ?) AS snippet"
+                    + " FROM ("
+                    + " SELECT p.id, ts_rank(p.search_vector, q.query) AS rank, p.published_at, q.query"
+                    + " FROM blog_posts p, websearch_to_tsquery(" + TS_CONFIG + ", ?) AS q(query)"
+                    + " WHERE p.published = TRUE AND p.search_vector @@ q.query"
+                    + " ORDER BY rank DESC, p.published_at DESC NULLS LAST, p.id DESC"
+                    + " LIMIT ? OFFSET ?"
+                    + ") page JOIN blog_posts bp ON bp.id = page.id"
+                    + " ORDER BY page.rank DESC, page.published_at DESC NULLS LAST, page.id DESC";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM blog_posts"
+                    + " WHERE published = TRUE AND search_vector @@ websearch_to_tsquery(" + TS_CONFIG + ", ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean available;
+
+    @Override
+    public boolean isFullTextSearchAvailable() {
+        Boolean result = available;
+        if (result == null) {
+            try {
+                result = Boolean.TRUE.equals(jdbcTemplate.queryForObject(AVAILABLE_SQL, Boolean.class));
+            } catch (DataAccessException e) {
+                // Base de datos sin catálogo de PostgreSQL (H2)
+                result = false;
+            }
+            available = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Page<SearchHit> searchPublished(String query, Pageable pageable) {
+        List<SearchHit> hits = jdbcTemplate.query(SEARCH_SQL,
+                (rs, rowNum) -> new SearchHit(rs.getLong("id"), rs.getFloat("rank"), rs.getString("snippet")),
+                HEADLINE_OPTIONS, query, pageable.getPageSize(), pageable.getOffset());
+
+        long total;
+        if (pageable.getOffset() == 0 && hits.size() < pageable.getPageSize()) {
+            total = hits.size();
+        } else {
+            Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, query);
+            total = count != null ? count : 0;
+        }
+        return new PageImpl<>(hits, pageable, total);
+    }
+}
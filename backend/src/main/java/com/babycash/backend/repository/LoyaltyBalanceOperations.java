@@ -0,0 +1,29 @@
+package com.babycash.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Operaciones de conjunto sobre loyalty_balances
+ *
+ * Fragmento de LoyaltyBalanceRepository implementado con JDBC.
+ * Debe ejecutarse dentro de la transacción del llamador (la misma que escribe el movimiento).
+ */
+public interface LoyaltyBalanceOperations {
+
+    /**
+     * Suma puntos ganados al resumen del usuario, creándolo si no existe, en una sola sentencia
+     * (INSERT ... ON CONFLICT, PostgreSQL): actualiza saldo, total histórico, mes actual y nivel
+     */
+    void recordEarned(Long userId, int points, LocalDateTime now);
+
+    /**
+     * Descuenta puntos canjeados solo si el saldo alcanza, en un único UPDATE condicionado.
+     * Los puntos activos con expires_at <= now no cuentan aunque el job de expiración aún no los procese
+     *
+     * El UPDATE toma el lock de la fila del usuario: los canjes del mismo usuario se serializan
+     * (el segundo vuelve a evaluar el saldo ya descontado) y los de usuarios distintos no se esperan.
+     *
+     * @return true si se descontaron; false si el saldo no alcanza o el usuario no tiene resumen
+     */
+    boolean tryRedeem(Long userId, int points, LocalDateTime now);
+}
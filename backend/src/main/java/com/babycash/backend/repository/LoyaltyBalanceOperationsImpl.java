@@ -0,0 +1,68 @@
+package com.babycash.backend.repository;
+
+import com.babycash.backend.model.entity.LoyaltyBalance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Implementación JDBC de LoyaltyBalanceOperations (Spring Data la une a LoyaltyBalanceRepository)
+ *
+ * El upsert bloquea la fila del usuario: dos abonos concurrentes se aplican uno tras otro
+ * sin perder ninguno, y el primero de un usuario nuevo no choca con la clave primaria.
+ * El canje valida y descuenta el saldo en la misma sentencia, sin leerlo antes, sin contar
+ * los puntos vencidos pendientes de expirar.
+ */
+@RequiredArgsConstructor
+class LoyaltyBalanceOperationsImpl implements LoyaltyBalanceOperations {
+
+    private static final String LIFETIME_EARNED = "loyalty_balances.lifetime_earned + EXCLUDED.lifetime_earned";
+
+    private static final String RECORD_EARNED_SQL =
+            "INSERT INTO loyalty_balances (user_id, balance, lifetime_earned, lifetime_redeemed, lifetime_expired,"
+                    + " month_start, earned_month, tier, updated_at) "
+                    + "VALUES (?, ?, ?, 0, 0, ?, ?, ?, ?) "
+                    + "ON CONFLICT (user_id) DO UPDATE SET"
+                    + " balance = loyalty_balances.balance + EXCLUDED.balance,"
+                    + " lifetime_earned = " + LIFETIME_EARNED + ","
+                    + " earned_month = CASE WHEN loyalty_balances.month_start = EXCLUDED.month_start"
+                    + "  THEN loyalty_balances.earned_month + EXCLUDED.earned_month ELSE EXCLUDED.earned_month END,"
+                    + " month_start = EXCLUDED.month_start,"
+                    + " tier = CASE WHEN " + LIFETIME_EARNED + " >= " + LoyaltyBalance.GOLD_THRESHOLD
+                    + "  THEN '" + LoyaltyBalance.tierFor(LoyaltyBalance.GOLD_THRESHOLD) + "'"
+                    + "  WHEN " + LIFETIME_EARNED + " >= " + LoyaltyBalance.SILVER_THRESHOLD
+                    + "  THEN '" + LoyaltyBalance.tierFor(LoyaltyBalance.SILVER_THRESHOLD) + "'"
+                    + "  ELSE '" + LoyaltyBalance.tierFor(0) + "' END,"
+                    + " updated_at = EXCLUDED.updated_at";
+
+    /*
+     * El saldo disponible excluye los puntos ya vencidos que el job de expiración aún no procesó
+     * (rango sobre idx_loyalty_points_user_expiry); el job los descuenta de balance al desactivarlos
+     */
+    private static final String REDEEM_SQL =
+            "UPDATE loyalty_balances"
+                    + " SET balance = balance - ?, lifetime_redeemed = lifetime_redeemed + ?, updated_at = ?"
+                    + " WHERE user_id = ? AND balance - ("
+                    + "  SELECT COALESCE(SUM(points), 0) FROM loyalty_points"
+                    + "  WHERE user_id = ? AND active = TRUE AND expires_at IS NOT NULL AND expires_at <= ?"
+                    + " ) >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void recordEarned(Long userId, int points, LocalDateTime now) {
+        jdbcTemplate.update(RECORD_EARNED_SQL,
+                userId, points, points, Date.valueOf(YearMonth.from(now).atDay(1)), points,
+                LoyaltyBalance.tierFor(points), Timestamp.valueOf(now));
+    }
+
+    @Override
+    public boolean tryRedeem(Long userId, int points, LocalDateTime now) {
+        return jdbcTemplate.update(REDEEM_SQL, points, points, Timestamp.valueOf(now),
+                userId, userId, Timestamp.valueOf(now), points) == 1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.babycash.backend.repository;
+
+import com.babycash.backend.model.entity.LoyaltyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for LoyaltyBalance entity (one row per user, keyed by user ID)
+ */
+@Repository
+public interface LoyaltyBalanceRepository extends JpaRepository<LoyaltyBalance, Long>, LoyaltyBalanceOperations {
+}
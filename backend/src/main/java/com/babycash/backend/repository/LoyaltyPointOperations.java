@@ -0,0 +1,29 @@
+package com.babycash.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Operaciones de conjunto sobre loyalty_points
+ *
+ * Fragmento de LoyaltyPointRepository implementado con JDBC: la expiración no carga
+ * entidades en memoria. Debe ejecutarse dentro de la transacción del llamador.
+ */
+public interface LoyaltyPointOperations {
+
+    /**
+     * Resultado de un lote de expiración
+     *
+     * @param lastId  mayor ID examinado (punto de reanudación), o afterId si no hubo filas
+     * @param scanned puntos vencidos encontrados en el lote
+     * @param expired puntos desactivados por este lote (menos que scanned si otro proceso se adelantó)
+     */
+    record ExpiryBatch(long lastId, int scanned, int expired) {
+    }
+
+    /**
+     * Expira hasta {@code limit} puntos activos vencidos con ID mayor que {@code afterId}, en una sola
+     * sentencia (PostgreSQL): UPDATE para desactivarlos, INSERT ... SELECT de los registros EXPIRED
+     * y descuento de los saldos en loyalty_balances
+     */
+    ExpiryBatch expireBatch(long afterId, LocalDateTime now, int limit);
+}
@@ -0,0 +1,53 @@
+package com.babycash.backend.repository;
+
+import com.babycash.backend.model.enums.LoyaltyTransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Implementación JDBC de LoyaltyPointOperations (Spring Data la une a LoyaltyPointRepository)
+ *
+ * El lote se elige por keyset (id > afterId ORDER BY id LIMIT n, índice idx_loyalty_points_expiry).
+ * El UPDATE vuelve a exigir active = TRUE: si dos ejecuciones coinciden, la segunda espera el lock
+ * de cada fila, la encuentra ya desactivada y no inserta un segundo registro EXPIRED.
+ * La misma sentencia descuenta lo expirado de loyalty_balances, una fila por usuario del lote.
+ */
+@RequiredArgsConstructor
+class LoyaltyPointOperationsImpl implements LoyaltyPointOperations {
+
+    private static final String EXPIRE_BATCH_SQL =
+            "WITH batch AS ("
+                    + " SELECT id FROM loyalty_points"
+                    + " WHERE id > ? AND active = TRUE AND expires_at IS NOT NULL AND expires_at <= ?"
+                    + " ORDER BY id LIMIT ?"
+                    + "), expired AS ("
+                    + " UPDATE loyalty_points lp SET active = FALSE FROM batch"
+                    + " WHERE lp.id = batch.id AND lp.active = TRUE"
+                    + " RETURNING lp.id, lp.user_id, lp.points"
+                    + "), ledger AS ("
+                    + " INSERT INTO loyalty_points (user_id, transaction_type, points, description, active, created_at)"
+                    + " SELECT user_id, '" + LoyaltyTransactionType.EXPIRED.name() + "', -points,"
+                    + " 'Puntos expirados de transacción #' || id, TRUE, ? FROM expired"
+                    + "), balances AS ("
+                    + " UPDATE loyalty_balances b"
+                    + " SET balance = b.balance - t.points, lifetime_expired = b.lifetime_expired + t.points, updated_at = ?"
+                    + " FROM (SELECT user_id, SUM(points) AS points FROM expired GROUP BY user_id) t"
+                    + " WHERE b.user_id = t.user_id"
+                    + ") "
+                    + "SELECT (SELECT MAX(id) FROM batch) AS last_id,"
+                    + " (SELECT COUNT(*) FROM batch) AS scanned,"
+                    + " (SELECT COUNT(*) FROM expired) AS expired";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public ExpiryBatch expireBatch(long afterId, LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForObject(EXPIRE_BATCH_SQL, (rs, rowNum) -> {
+            long lastId = rs.getLong("last_id");
+            return new ExpiryBatch(rs.wasNull() ? afterId : lastId, rs.getInt("scanned"), rs.getInt("expired"));
+        }, afterId, Timestamp.valueOf(now), limit, Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+}
@@ -18,7 +18,7 @@ import java.util.List;
  * Interface Segregation Principle - only methods needed
  */
 @Repository
-public interface LoyaltyPointRepository extends JpaRepository<LoyaltyPoint, Long> {
+public interface LoyaltyPointRepository extends JpaRepository<LoyaltyPoint, Long>, LoyaltyPointOperations {
 
     /**
      * Find all active points for a user ordered by creation date
@@ -31,22 +31,28 @@ public interface LoyaltyPointRepository extends JpaRepository<LoyaltyPoint, Long
     Page<LoyaltyPoint> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
     /**
-     * Calculate total active points for a user
+     * Sum active points of a user expiring within the given window
+     * (range scan on idx_loyalty_points_user_expiry, independent of history length)
      */
     @Query("SELECT COALESCE(SUM(lp.points), 0) FROM LoyaltyPoint lp " +
            "WHERE lp.user = :user " +
            "AND lp.active = true " +
-           "AND (lp.expiresAt IS NULL OR lp.expiresAt > :now)")
-    Integer calculateTotalActivePoints(@Param("user") User user, @Param("now") LocalDateTime now);
+           "AND lp.expiresAt > :from " +
+           "AND lp.expiresAt < :to")
+    Integer sumPointsExpiringBetween(@Param("user") User user,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
 
     /**
-     * Find expired but still active points (for cleanup job)
+     * Sum active points of a user already past their expiry but not yet processed by the expiry job
+     * (range scan on idx_loyalty_points_user_expiry); they must not count as available
      */
-    @Query("SELECT lp FROM LoyaltyPoint lp " +
-           "WHERE lp.active = true " +
+    @Query("SELECT COALESCE(SUM(lp.points), 0) FROM LoyaltyPoint lp " +
+           "WHERE lp.user = :user " +
+           "AND lp.active = true " +
            "AND lp.expiresAt IS NOT NULL " +
            "AND lp.expiresAt <= :now")
-    List<LoyaltyPoint> findExpiredActivePoints(@Param("now") LocalDateTime now);
+    Integer sumPointsDueForExpiry(@Param("user") User user, @Param("now") LocalDateTime now);
 
     /**
      * Find points by transaction type for a user
@@ -0,0 +1,12 @@
+package com.babycash.backend.repository;
+
+import com.babycash.backend.model.entity.MaintenanceJobProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for MaintenanceJobProgress entity
+ */
+@Repository
+public interface MaintenanceJobProgressRepository extends JpaRepository<MaintenanceJobProgress, String> {
+}
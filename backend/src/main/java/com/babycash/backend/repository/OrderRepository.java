@@ -7,8 +7,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +24,26 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByOrderNumber(String orderNumber);
     
-    @EntityGraph(attributePaths = {"items", "items.product"})
-    Page<Order> findByUser(User user, Pageable pageable);
-    
-    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+    /*
+     * Listados paginados en dos fases: primero se pagina solo el ID (LIMIT/OFFSET en la base de datos)
+     * y luego findWithItemsByIdIn carga items y productos de esa página. Un EntityGraph de colección
+     * sobre una consulta paginada obliga a Hibernate a traer todas las órdenes y paginar en memoria.
+     */
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.user = :user",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user = :user")
+    Page<Long> findIdsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.status = :status",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<Long> findIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o",
+            countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
     
     @EntityGraph(attributePaths = {"items", "items.product"})
     List<Order> findByUserOrderByCreatedAtDesc(User user);
@@ -32,6 +52,24 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findById(Long id);
     
     long countByStatus(OrderStatus status);
+
+    /**
+     * Cantidad de órdenes y suma de totales por estado, en una sola consulta agregada
+     */
+    @Query("SELECT o.status AS status, COUNT(o) AS orders, COALESCE(SUM(o.totalAmount), 0) AS amount "
+            + "FROM Order o GROUP BY o.status")
+    List<StatusTotals> aggregateByStatus();
     
     long countByUser(User user);
+
+    /**
+     * Proyección de aggregateByStatus
+     */
+    interface StatusTotals {
+        OrderStatus getStatus();
+
+        long getOrders();
+
+        BigDecimal getAmount();
+    }
 }
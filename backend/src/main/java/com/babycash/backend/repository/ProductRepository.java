@@ -2,6 +2,7 @@ package com.babycash.backend.repository;
 
 import com.babycash.backend.model.entity.Product;
 import com.babycash.backend.model.enums.ProductCategory;
+import com.babycash.backend.repository.projection.ProductSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,7 +16,7 @@ import java.util.List;
  * Repository for Product entity
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockOperations {
     
     Page<Product> findByEnabledTrue(Pageable pageable);
     
@@ -25,12 +26,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     List<Product> findByFeaturedTrueAndEnabledTrue();
     
-    @Query("SELECT p FROM Product p WHERE p.enabled = true AND " +
-           "(LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Product> searchProducts(@Param("query") String query, Pageable pageable);
-    
     long countByEnabledTrue();
     
     long countByCategory(ProductCategory category);
+
+    /**
+     * Enabled product summaries (no description), optionally filtered by category;
+     * fallback for listings the catalog snapshot cannot serve
+     */
+    @Query(value = "SELECT new com.babycash.backend.repository.projection.ProductSummary(" +
+                   "p.id, p.name, p.price, p.discountPrice, p.category, p.stock, p.imageUrl, p.featured, " +
+                   "p.rating, p.reviewCount) FROM Product p " +
+                   "WHERE p.enabled = true AND (:category IS NULL OR p.category = :category)",
+           countQuery = "SELECT COUNT(p) FROM Product p " +
+                   "WHERE p.enabled = true AND (:category IS NULL OR p.category = :category)")
+    Page<ProductSummary> findEnabledSummaries(@Param("category") ProductCategory category, Pageable pageable);
 }
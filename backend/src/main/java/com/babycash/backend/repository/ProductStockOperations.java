@@ -0,0 +1,31 @@
+package com.babycash.backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operaciones atómicas de stock sobre la tabla products
+ *
+ * Fragmento de ProductRepository implementado con JDBC: cada producto se actualiza con un
+ * UPDATE condicional y todas las líneas de un pedido viajan en un solo batch.
+ * Deben ejecutarse dentro de la transacción del llamador.
+ */
+public interface ProductStockOperations {
+
+    /**
+     * Descuenta el stock de todos los productos solo si alcanza
+     * (UPDATE ... SET stock = stock - q WHERE id = ? AND stock >= q)
+     *
+     * @param quantities productId -> cantidad a descontar
+     * @return IDs de productos sin stock suficiente (vacío si todo quedó reservado).
+     *         Si no está vacío, el llamador debe revertir la transacción.
+     */
+    List<Long> reserveStock(Map<Long, Integer> quantities);
+
+    /**
+     * Devuelve stock a los productos (UPDATE ... SET stock = stock + q WHERE id = ?)
+     *
+     * @param quantities productId -> cantidad a devolver
+     */
+    void releaseStock(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,63 @@
+package com.babycash.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementación JDBC de ProductStockOperations (Spring Data la une a ProductRepository)
+ *
+ * Las filas se actualizan siempre en orden de ID para que dos pedidos concurrentes
+ * con productos en común tomen los locks en el mismo orden y no se bloqueen mutuamente.
+ */
+@RequiredArgsConstructor
+class ProductStockOperationsImpl implements ProductStockOperations {
+
+    private static final String RESERVE_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND stock >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> reserveStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        })[0];
+
+        // 0 filas actualizadas = stock insuficiente (o producto inexistente)
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 1) {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public void releaseStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(RELEASE_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+        });
+    }
+}
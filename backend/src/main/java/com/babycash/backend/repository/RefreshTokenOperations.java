@@ -0,0 +1,44 @@
+package com.babycash.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Operaciones de conjunto sobre refresh_tokens
+ *
+ * Fragmento de RefreshTokenRepository implementado con JDBC: los tokens se buscan por
+ * token_hash (índice único) y ninguna operación carga entidades en memoria.
+ * Deben ejecutarse dentro de la transacción del llamador.
+ */
+public interface RefreshTokenOperations {
+
+    /**
+     * Token emitido por una rotación
+     */
+    record Rotation(Long id, Long userId) {
+    }
+
+    /**
+     * Revoca el token vigente e inserta su reemplazo en una sola sentencia (PostgreSQL)
+     *
+     * @return el token nuevo, o vacío si el anterior no existe, ya estaba revocado o expiró
+     */
+    Optional<Rotation> rotate(String oldTokenHash, String newTokenHash, LocalDateTime now,
+                              LocalDateTime expiryDate, String ipAddress, String userAgent);
+
+    /**
+     * Deja como máximo {@code keep} tokens activos del usuario revocando los más antiguos
+     * (un único UPDATE con ROW_NUMBER)
+     *
+     * @return cantidad de tokens revocados
+     */
+    int revokeOldestBeyond(Long userId, int keep, LocalDateTime now);
+
+    /**
+     * Inserta un token nuevo
+     *
+     * @return ID generado
+     */
+    Long insertToken(Long userId, String tokenHash, LocalDateTime now, LocalDateTime expiryDate,
+                     String ipAddress, String userAgent);
+}
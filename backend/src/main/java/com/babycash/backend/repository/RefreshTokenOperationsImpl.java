@@ -0,0 +1,82 @@
+package com.babycash.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación JDBC de RefreshTokenOperations (Spring Data la une a RefreshTokenRepository)
+ *
+ * La rotación usa un CTE con UPDATE ... RETURNING: el token anterior queda bloqueado por el UPDATE,
+ * así dos rotaciones concurrentes del mismo token no pueden emitir dos reemplazos.
+ */
+@RequiredArgsConstructor
+class RefreshTokenOperationsImpl implements RefreshTokenOperations {
+
+    private static final String ROTATE_SQL =
+            "WITH revoked AS ("
+                    + " UPDATE refresh_tokens SET revoked = TRUE, revoked_at = ?"
+                    + " WHERE token_hash = ? AND revoked = FALSE AND expiry_date > ?"
+                    + " RETURNING user_id"
+                    + ") "
+                    + "INSERT INTO refresh_tokens (token_hash, user_id, expiry_date, revoked, created_at, ip_address, user_agent) "
+                    + "SELECT ?, user_id, ?, FALSE, ?, ?, ? FROM revoked "
+                    + "RETURNING id, user_id";
+
+    private static final String REVOKE_OLDEST_SQL =
+            "UPDATE refresh_tokens SET revoked = TRUE, revoked_at = ? "
+                    + "WHERE id IN ("
+                    + " SELECT id FROM ("
+                    + "  SELECT id, ROW_NUMBER() OVER (ORDER BY created_at DESC, id DESC) AS rn"
+                    + "  FROM refresh_tokens"
+                    + "  WHERE user_id = ? AND revoked = FALSE AND expiry_date > ?"
+                    + " ) ranked"
+                    + " WHERE rn > ?"
+                    + ")";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO refresh_tokens (token_hash, user_id, expiry_date, revoked, created_at, ip_address, user_agent) "
+                    + "VALUES (?, ?, ?, FALSE, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Rotation> rotate(String oldTokenHash, String newTokenHash, LocalDateTime now,
+                                     LocalDateTime expiryDate, String ipAddress, String userAgent) {
+        List<Rotation> rows = jdbcTemplate.query(ROTATE_SQL,
+                (rs, rowNum) -> new Rotation(rs.getLong("id"), rs.getLong("user_id")),
+                Timestamp.valueOf(now), oldTokenHash, Timestamp.valueOf(now),
+                newTokenHash, Timestamp.valueOf(expiryDate), Timestamp.valueOf(now), ipAddress, userAgent);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public int revokeOldestBeyond(Long userId, int keep, LocalDateTime now) {
+        return jdbcTemplate.update(REVOKE_OLDEST_SQL,
+                Timestamp.valueOf(now), userId, Timestamp.valueOf(now), keep);
+    }
+
+    @Override
+    public Long insertToken(Long userId, String tokenHash, LocalDateTime now, LocalDateTime expiryDate,
+                            String ipAddress, String userAgent) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            ps.setString(1, tokenHash);
+            ps.setLong(2, userId);
+            ps.setTimestamp(3, Timestamp.valueOf(expiryDate));
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+            ps.setString(5, ipAddress);
+            ps.setString(6, userAgent);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+}
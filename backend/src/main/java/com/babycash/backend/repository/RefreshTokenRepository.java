@@ -2,6 +2,7 @@ package com.babycash.backend.repository;
 
 import com.babycash.backend.model.entity.RefreshToken;
 import com.babycash.backend.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,12 +17,12 @@ import java.util.Optional;
  * Repository for RefreshToken entity
  */
 @Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenOperations {
 
     /**
-     * Find refresh token by token string
+     * Find refresh token by the SHA-256 hash of the token string
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     /**
      * Find all refresh tokens for a user
@@ -42,15 +43,10 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     int revokeAllUserTokens(@Param("user") User user, @Param("now") LocalDateTime now);
 
     /**
-     * Delete expired tokens (for cleanup)
+     * IDs of expired or revoked tokens older than the date, in key order after the given ID
+     * (one chunk of the cleanup job)
      */
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :date OR (rt.revoked = true AND rt.revokedAt < :date)")
-    int deleteExpiredAndRevokedTokens(@Param("date") LocalDateTime date);
-
-    /**
-     * Count active tokens for a user
-     */
-    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user = :user AND rt.revoked = false AND rt.expiryDate > :now")
-    long countActiveTokensByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.id > :afterId " +
+           "AND (rt.expiryDate < :date OR (rt.revoked = true AND rt.revokedAt < :date)) ORDER BY rt.id")
+    List<Long> findIdsToCleanup(@Param("afterId") Long afterId, @Param("date") LocalDateTime date, Pageable pageable);
 }
@@ -3,6 +3,9 @@ package com.babycash.backend.repository;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -22,4 +25,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByResetPasswordToken(String token);
     
     long countByRole(UserRole role);
+
+    /**
+     * Estado de autenticación de un usuario (sin cargar la entidad completa)
+     */
+    @Query("SELECT u.role AS role, u.enabled AS enabled, u.authVersion AS authVersion FROM User u WHERE u.id = :id")
+    Optional<AuthState> findAuthStateById(@Param("id") Long id);
+
+    /**
+     * Reemplaza el hash de la contraseña (mismo password, nuevo work factor)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordHash(@Param("email") String email, @Param("password") String password);
+
+    interface AuthState {
+        UserRole getRole();
+
+        Boolean getEnabled();
+
+        Long getAuthVersion();
+    }
 }
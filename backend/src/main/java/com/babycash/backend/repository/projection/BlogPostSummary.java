@@ -0,0 +1,21 @@
+package com.babycash.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns a blog listing card needs, selected with a JPQL constructor expression:
+ * no content TEXT and no tags (batch-loaded per page with BlogPostRepository.findTagsByPostIdIn)
+ */
+public record BlogPostSummary(
+        Long id,
+        String title,
+        String slug,
+        String excerpt,
+        String imageUrl,
+        Boolean featured,
+        Long viewCount,
+        LocalDateTime publishedAt,
+        Long authorId,
+        String authorFirstName,
+        String authorLastName) {
+}
@@ -0,0 +1,7 @@
+package com.babycash.backend.repository.projection;
+
+/**
+ * One row of blog_post_tags, used to batch-load the tags of a page of summaries
+ */
+public record BlogPostTag(Long postId, String tag) {
+}
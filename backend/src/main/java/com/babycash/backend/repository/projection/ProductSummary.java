@@ -0,0 +1,22 @@
+package com.babycash.backend.repository.projection;
+
+import com.babycash.backend.model.enums.ProductCategory;
+
+import java.math.BigDecimal;
+
+/**
+ * Columns a product listing card needs, selected with a JPQL constructor expression
+ * (no description TEXT)
+ */
+public record ProductSummary(
+        Long id,
+        String name,
+        BigDecimal price,
+        BigDecimal discountPrice,
+        ProductCategory category,
+        Integer stock,
+        String imageUrl,
+        Boolean featured,
+        BigDecimal rating,
+        Integer reviewCount) {
+}
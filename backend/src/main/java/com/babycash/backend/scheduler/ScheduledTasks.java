@@ -18,7 +18,7 @@ public class ScheduledTasks {
     private final ILoyaltyService loyaltyService;
 
     /**
-     * Process expired loyalty points daily at 1 AM
+     * Process expired loyalty points daily at 1 AM, in chunks (job "loyalty-expiry")
      * Cron: second minute hour day month weekday
      */
     @Scheduled(cron = "0 0 1 * * ?")
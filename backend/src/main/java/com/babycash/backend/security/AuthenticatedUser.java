@@ -0,0 +1,18 @@
+package com.babycash.backend.security;
+
+import com.babycash.backend.model.enums.UserRole;
+
+import java.security.Principal;
+
+/**
+ * Principal construido a partir de los claims firmados del JWT (sin consultar la base de datos)
+ *
+ * getName() devuelve el email, así Authentication.getName() sigue funcionando igual en los servicios
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,21 +1,32 @@
 package com.babycash.backend.security;
 
+import com.babycash.backend.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * JWT Authentication Filter
+ *
+ * The token is verified once. With app.jwt.stateless=true the principal is built from its
+ * signed claims and checked against UserAuthStateCache, so authenticated requests do not
+ * query the database. Tokens issued before the claims existed fall back to a user lookup.
  */
 @Component
 @RequiredArgsConstructor
@@ -23,35 +34,80 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final UserAuthStateCache userAuthStateCache;
+
+    @Value("${app.jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
-        
+
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = parse(authorizationHeader.substring(7));
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // Token invalid or expired
+            if (claims != null) {
+                UsernamePasswordAuthenticationToken authToken =
+                        stateless && claims.get(JwtUtil.CLAIM_USER_ID) != null
+                                ? fromClaims(claims)
+                                : fromDatabase(claims);
+                if (authToken != null) {
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
         }
+        chain.doFilter(request, response);
+    }
+
+    private Claims parse(String jwt) {
+        try {
+            return jwtUtil.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token invalid or expired
+            return null;
+        }
+    }
+
+    /**
+     * Builds the principal from the signed claims; the token is rejected if the user was
+     * disabled, deleted, changed role or had its auth version bumped since it was issued
+     */
+    private UsernamePasswordAuthenticationToken fromClaims(Claims claims) {
+        Long userId = longClaim(claims, JwtUtil.CLAIM_USER_ID);
+        UserRole role = UserRole.valueOf(claims.get(JwtUtil.CLAIM_ROLE, String.class));
+
+        UserAuthStateCache.UserAuthState state = userAuthStateCache.get(userId);
+        if (state == null
+                || !state.enabled()
+                || !Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_ENABLED, Boolean.class))
+                || state.role() != role
+                || state.version() != longClaim(claims, JwtUtil.CLAIM_VERSION)) {
+            return null;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        AuthenticatedUser principal = new AuthenticatedUser(userId, claims.getSubject(), role);
+        return new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+    private UsernamePasswordAuthenticationToken fromDatabase(Claims claims) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (!userDetails.isEnabled()) {
+                return null;
             }
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        } catch (UsernameNotFoundException e) {
+            return null;
         }
-        chain.doFilter(request, response);
+    }
+
+    private static long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : 0L;
     }
 }
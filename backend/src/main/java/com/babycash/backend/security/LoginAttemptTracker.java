@@ -0,0 +1,190 @@
+package com.babycash.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Contador en memoria de logins fallidos por IP y por cuenta (ventana deslizante)
+ *
+ * - Cada clave guarda un anillo de contadores de 1 minuto (app.security.login.window-minutes):
+ *   registrar o contar un fallo es O(ventana) en memoria, sin consultar audit_logs
+ * - AuditService.logFailedLogin emite el evento de seguridad al alcanzar
+ *   app.security.login.alert-threshold fallos (y en cada múltiplo), así solo se escriben los eventos
+ * - Bloqueo temporal opcional (app.security.login.lockout.enabled): mientras la ventana tenga
+ *   demasiados fallos para la IP o la cuenta, el login se rechaza sin verificar la contraseña;
+ *   se levanta solo cuando los fallos salen de la ventana
+ * - Claves acotadas por app.security.login.max-keys con desalojo W-TinyLFU: las IPs de un solo
+ *   intento (rotación de IPs) no desplazan a las claves con muchos fallos
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final long SLOT_MS = Duration.ofMinutes(1).toMillis();
+
+    /**
+     * Fallos dentro de la ventana tras registrar un intento
+     */
+    public record Failures(String ip, int byIp, int byAccount) {
+    }
+
+    private final int windowSlots;
+    private final int alertThreshold;
+    private final boolean lockoutEnabled;
+    private final int ipLockoutThreshold;
+    private final int accountLockoutThreshold;
+    private final Cache<String, SlidingWindow> byIp;
+    private final Cache<String, SlidingWindow> byAccount;
+    private final Counter failures;
+    private final Counter lockouts;
+
+    public LoginAttemptTracker(MeterRegistry meterRegistry,
+                               @Value("${app.security.login.window-minutes:15}") int windowMinutes,
+                               @Value("${app.security.login.alert-threshold:5}") int alertThreshold,
+                               @Value("${app.security.login.lockout.enabled:false}") boolean lockoutEnabled,
+                               @Value("${app.security.login.lockout.ip-threshold:50}") int ipLockoutThreshold,
+                               @Value("${app.security.login.lockout.account-threshold:10}") int accountLockoutThreshold,
+                               @Value("${app.security.login.max-keys:100000}") long maxKeys) {
+        this.windowSlots = windowMinutes;
+        this.alertThreshold = alertThreshold;
+        this.lockoutEnabled = lockoutEnabled;
+        this.ipLockoutThreshold = ipLockoutThreshold;
+        this.accountLockoutThreshold = accountLockoutThreshold;
+        Duration window = Duration.ofMinutes(windowMinutes);
+        this.byIp = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(window).build();
+        this.byAccount = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(window).build();
+        this.failures = Counter.builder("security.login.failures")
+                .description("Failed login attempts")
+                .register(meterRegistry);
+        this.lockouts = Counter.builder("security.login.lockouts")
+                .description("Login attempts rejected by the temporary lockout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un login fallido de la request actual
+     */
+    public Failures recordFailure(String account) {
+        return recordFailure(currentClientIp(), account, System.currentTimeMillis());
+    }
+
+    Failures recordFailure(String ip, String account, long nowMs) {
+        failures.increment();
+        int ipCount = ip != null ? byIp.get(ip, k -> new SlidingWindow(windowSlots)).increment(nowMs) : 0;
+        int accountCount = account != null
+                ? byAccount.get(account, k -> new SlidingWindow(windowSlots)).increment(nowMs)
+                : 0;
+        return new Failures(ip, ipCount, accountCount);
+    }
+
+    /**
+     * Login correcto: la cuenta deja de acumular fallos (los de la IP se mantienen)
+     */
+    public void recordSuccess(String account) {
+        if (account != null) {
+            byAccount.invalidate(account);
+        }
+    }
+
+    /**
+     * Indica si el login de la request actual debe rechazarse por demasiados fallos recientes
+     */
+    public boolean isLockedOut(String account) {
+        return isLockedOut(currentClientIp(), account, System.currentTimeMillis());
+    }
+
+    boolean isLockedOut(String ip, String account, long nowMs) {
+        if (!lockoutEnabled) {
+            return false;
+        }
+        boolean locked = count(byIp, ip, nowMs) >= ipLockoutThreshold
+                || count(byAccount, account, nowMs) >= accountLockoutThreshold;
+        if (locked) {
+            lockouts.increment();
+        }
+        return locked;
+    }
+
+    /**
+     * Un contador que alcanza el umbral (o un múltiplo) merece un evento de seguridad
+     */
+    public boolean shouldAlert(int failuresInWindow) {
+        return failuresInWindow >= alertThreshold && failuresInWindow % alertThreshold == 0;
+    }
+
+    public int windowMinutes() {
+        return windowSlots;
+    }
+
+    private int count(Cache<String, SlidingWindow> windows, String key, long nowMs) {
+        if (key == null) {
+            return 0;
+        }
+        SlidingWindow window = windows.getIfPresent(key);
+        return window != null ? window.count(nowMs) : 0;
+    }
+
+    private String currentClientIp() {
+        ServletRequestAttributes attributes =
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String xfHeader = request.getHeader("X-Forwarded-For");
+        if (xfHeader != null && !xfHeader.isEmpty()) {
+            return xfHeader.split(",")[0].trim();
+        }
+
+        String xrHeader = request.getHeader("X-Real-IP");
+        if (xrHeader != null && !xrHeader.isEmpty()) {
+            return xrHeader;
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Anillo de contadores por minuto; un slot se reinicia al reutilizarse en un minuto posterior
+     */
+    static final class SlidingWindow {
+
+        private final long[] slotMinute;
+        private final int[] counts;
+
+        SlidingWindow(int slots) {
+            this.slotMinute = new long[slots];
+            this.counts = new int[slots];
+        }
+
+        synchronized int increment(long nowMs) {
+            long minute = nowMs / SLOT_MS;
+            int index = (int) (minute % counts.length);
+            if (slotMinute[index] != minute) {
+                slotMinute[index] = minute;
+                counts[index] = 0;
+            }
+            counts[index]++;
+            return count(nowMs);
+        }
+
+        synchronized int count(long nowMs) {
+            long oldest = nowMs / SLOT_MS - counts.length;
+            int total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (slotMinute[i] > oldest) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
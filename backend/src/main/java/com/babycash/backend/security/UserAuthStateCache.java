@@ -0,0 +1,56 @@
+package com.babycash.backend.security;
+
+import com.babycash.backend.config.CacheConfig;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.util.TransactionCallbacks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache pequeña del estado de autenticación por usuario (rol, habilitado, versión)
+ *
+ * - JwtAuthenticationFilter la consulta en cada request: en estado estable no hay consultas a la base de datos
+ * - Un fallo de cache cuesta una consulta por usuario y por TTL (app.cache.user-auth-state.ttl-ms)
+ * - El restablecimiento de contraseña (AuthService.resetPassword) incrementa users.auth_version y desaloja
+ *   la entrada al confirmar; los tokens con una versión anterior dejan de ser aceptados
+ * - Rol y estado se leen de aquí en cada request, pero hoy ningún flujo los modifica: quien lo agregue
+ *   debe incrementar auth_version y llamar a evict, o el cambio tardará hasta el TTL en aplicarse
+ */
+@Component
+public class UserAuthStateCache {
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+
+    /**
+     * Estado vigente de un usuario
+     */
+    public record UserAuthState(UserRole role, boolean enabled, long version) {
+    }
+
+    public UserAuthStateCache(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheConfig.USER_AUTH_STATE);
+    }
+
+    /**
+     * Estado actual del usuario, o null si ya no existe
+     */
+    public UserAuthState get(Long userId) {
+        return cache.get(userId, () -> userRepository.findAuthStateById(userId)
+                .map(state -> new UserAuthState(
+                        state.getRole(),
+                        Boolean.TRUE.equals(state.getEnabled()),
+                        state.getAuthVersion() != null ? state.getAuthVersion() : 0L))
+                .orElse(null));
+    }
+
+    /**
+     * Desaloja la entrada del usuario cuando la transacción actual confirma
+     */
+    public void evict(Long userId) {
+        TransactionCallbacks.afterCommit(() -> cache.evict(userId));
+    }
+}
@@ -3,13 +3,19 @@ package com.babycash.backend.service;
 import com.babycash.backend.entity.AuditLog;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.repository.AuditLogRepository;
+import com.babycash.backend.security.AuthenticatedUser;
+import com.babycash.backend.security.LoginAttemptTracker;
+import com.babycash.backend.service.audit.AuditLogWriter;
+import com.babycash.backend.service.audit.AuditPartitionManager;
+import com.babycash.backend.service.maintenance.MaintenanceJob;
+import com.babycash.backend.service.maintenance.MaintenanceJobRunner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,15 +37,20 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuditService {
 
+    private static final String CLEANUP_JOB = "audit-log-cleanup";
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditPartitionManager auditPartitionManager;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final MaintenanceJobRunner maintenanceJobRunner;
     private final ObjectMapper objectMapper;
 
     /**
-     * Registra una acción de auditoría de forma asíncrona
-     * No bloquea la operación principal
+     * Registra una acción de auditoría
+     * Los datos de usuario y request se toman en el hilo que llama; la escritura
+     * la hace AuditLogWriter en batch, sin bloquear la operación principal
      */
-    @Async
-    @Transactional
     public void logAction(
         AuditLog.ActionType actionType,
         String entityType,
@@ -64,6 +75,9 @@ public class AuditService {
                 if (auth.getPrincipal() instanceof User user) {
                     auditLog.setUserId(user.getId());
                     auditLog.setUsername(user.getEmail());
+                } else if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+                    auditLog.setUserId(user.id());
+                    auditLog.setUsername(user.email());
                 }
             }
 
@@ -73,7 +87,7 @@ public class AuditService {
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
             }
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
             
             log.debug("Audit log created: {} - {}", actionType, description);
         } catch (Exception e) {
@@ -84,8 +98,6 @@ public class AuditService {
     /**
      * Registra una acción fallida
      */
-    @Async
-    @Transactional
     public void logFailure(
         AuditLog.ActionType actionType,
         String entityType,
@@ -110,6 +122,9 @@ public class AuditService {
             if (auth != null && auth.getPrincipal() instanceof User user) {
                 auditLog.setUserId(user.getId());
                 auditLog.setUsername(user.getEmail());
+            } else if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                auditLog.setUserId(user.id());
+                auditLog.setUsername(user.email());
             }
 
             if (request != null) {
@@ -117,7 +132,7 @@ public class AuditService {
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
             }
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
             
             log.warn("Audit failure logged: {} - {}", actionType, errorMessage);
         } catch (Exception e) {
@@ -128,8 +143,6 @@ public class AuditService {
     /**
      * Registra un evento de seguridad
      */
-    @Async
-    @Transactional
     public void logSecurityEvent(String description, String details) {
         try {
             HttpServletRequest request = getCurrentRequest();
@@ -147,7 +160,7 @@ public class AuditService {
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
             }
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
             
             log.warn("Security event logged: {}", description);
         } catch (Exception e) {
@@ -157,9 +170,9 @@ public class AuditService {
 
     /**
      * Registra intento de login fallido
+     * Los fallos recientes por IP y por cuenta se cuentan en memoria (LoginAttemptTracker);
+     * la base de datos solo recibe el registro del intento y los eventos de seguridad
      */
-    @Async
-    @Transactional
     public void logFailedLogin(String username, String reason) {
         try {
             HttpServletRequest request = getCurrentRequest();
@@ -174,25 +187,27 @@ public class AuditService {
                 .build();
 
             if (request != null) {
-                String ip = getClientIP(request);
-                auditLog.setIpAddress(ip);
+                auditLog.setIpAddress(getClientIP(request));
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
+            }
 
-                // Verificar intentos fallidos recientes desde esta IP
-                long recentFailures = auditLogRepository.countFailedLoginsByIpSince(
-                    ip, 
-                    LocalDateTime.now().minusMinutes(15)
-                );
+            auditLogWriter.enqueue(auditLog);
 
-                if (recentFailures >= 5) {
-                    logSecurityEvent(
-                        "Múltiples intentos de login fallidos",
-                        String.format("IP %s ha tenido %d intentos fallidos en 15 minutos", ip, recentFailures)
-                    );
-                }
-            }
+            LoginAttemptTracker.Failures failures = loginAttemptTracker.recordFailure(username);
+            int window = loginAttemptTracker.windowMinutes();
 
-            auditLogRepository.save(auditLog);
+            if (failures.ip() != null && loginAttemptTracker.shouldAlert(failures.byIp())) {
+                logSecurityEvent(
+                    "Múltiples intentos de login fallidos",
+                    String.format("IP %s ha tenido %d intentos fallidos en %d minutos", failures.ip(), failures.byIp(), window)
+                );
+            }
+            if (username != null && loginAttemptTracker.shouldAlert(failures.byAccount())) {
+                logSecurityEvent(
+                    "Múltiples intentos de login fallidos",
+                    String.format("La cuenta %s ha tenido %d intentos fallidos en %d minutos", username, failures.byAccount(), window)
+                );
+            }
         } catch (Exception e) {
             log.error("Error logging failed login: {}", e.getMessage(), e);
         }
@@ -231,19 +246,34 @@ public class AuditService {
     }
 
     /**
-     * Limpia logs antiguos (más de 90 días)
+     * Limpia logs antiguos (app.audit.retention-days, 90 por defecto)
+     * Con la tabla particionada elimina meses completos; si no, borra por lotes cortos
+     * (ver MaintenanceJobRunner) y una ejecución pausada continúa en la siguiente
      */
-    @Transactional
     public void cleanupOldLogs() {
         try {
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(90);
-            auditLogRepository.deleteByTimestampBefore(cutoffDate);
-            log.info("Old audit logs cleaned up (before {})", cutoffDate);
+            if (auditPartitionManager.isPartitioned()) {
+                int dropped = auditPartitionManager.dropExpiredPartitions();
+                log.info("Old audit logs cleaned up ({} partitions dropped)", dropped);
+                return;
+            }
+            MaintenanceJobRunner.RunResult result = maintenanceJobRunner.run(CLEANUP_JOB, this::deleteOldLogsChunk);
+            log.info("Old audit logs cleaned up ({} rows before {}{})", result.processed(),
+                auditPartitionManager.retentionCutoff(), result.completed() ? "" : ", paused");
         } catch (Exception e) {
             log.error("Error cleaning up old logs: {}", e.getMessage(), e);
         }
     }
 
+    private MaintenanceJob.Chunk deleteOldLogsChunk(long afterId, int chunkSize) {
+        List<Long> ids = auditLogRepository.findIdsBefore(
+            afterId, auditPartitionManager.retentionCutoff(), PageRequest.of(0, chunkSize));
+        if (!ids.isEmpty()) {
+            auditLogRepository.deleteAllByIdInBatch(ids);
+        }
+        return MaintenanceJob.Chunk.of(afterId, ids, chunkSize);
+    }
+
     /**
      * Obtiene la request HTTP actual
      */
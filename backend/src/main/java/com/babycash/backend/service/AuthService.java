@@ -10,14 +10,14 @@ import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.UserRepository;
 import com.babycash.backend.security.JwtUtil;
+import com.babycash.backend.security.LoginAttemptTracker;
+import com.babycash.backend.security.UserAuthStateCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,8 +38,10 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final EmailService emailService;
+    private final UserAuthStateCache userAuthStateCache;
+    private final AuditService auditService;
+    private final LoginAttemptTracker loginAttemptTracker;
 
     /**
      * Register a new user in the system
@@ -76,8 +78,7 @@ public class AuthService {
         log.info("✅ User registered successfully with ID: {} and email: {}", savedUser.getId(), savedUser.getEmail());
 
         // Generate JWT tokens
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
-        String accessToken = jwtUtil.generateToken(userDetails);
+        String accessToken = jwtUtil.generateToken(savedUser);
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(savedUser);
 
         return AuthResponse.builder()
@@ -101,9 +102,14 @@ public class AuthService {
     public AuthResponse login(LoginRequest request) {
         log.info("🔹 Attempting login for user: {}", request.getEmail());
 
+        String loginEmail = request.getEmail() != null ? request.getEmail().trim().toLowerCase() : null;
+        if (loginAttemptTracker.isLockedOut(loginEmail)) {
+            log.warn("❌ Login blocked for user {}: too many recent failed attempts", loginEmail);
+            throw new AuthenticationException("Demasiados intentos fallidos. Intenta de nuevo en unos minutos");
+        }
+
         try {
             // Authenticate with Spring Security
-        String loginEmail = request.getEmail().trim().toLowerCase();
         authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
                 loginEmail,
@@ -116,10 +122,10 @@ public class AuthService {
                     .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
 
             log.info("✅ Login successful for user: {} with role: {}", user.getEmail(), user.getRole());
+            loginAttemptTracker.recordSuccess(loginEmail);
 
             // Generate JWT tokens
-            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-            String accessToken = jwtUtil.generateToken(userDetails);
+            String accessToken = jwtUtil.generateToken(user);
             RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
             return AuthResponse.builder()
@@ -132,8 +138,9 @@ public class AuthService {
                     .build();
 
         } catch (BadCredentialsException e) {
-            String attempted = request.getEmail() != null ? request.getEmail().trim().toLowerCase() : "<unknown>";
+            String attempted = loginEmail != null ? loginEmail : "<unknown>";
             log.warn("❌ Login failed for user {}: Invalid credentials", attempted);
+            auditService.logFailedLogin(loginEmail, "Credenciales inválidas");
             throw new AuthenticationException("Credenciales inválidas");
         }
     }
@@ -141,19 +148,18 @@ public class AuthService {
     /**
      * Refresh access token using refresh token
      *
-     * @param refreshTokenString Refresh token from client
-     * @return AuthResponse with new access token
-     * @throws AuthenticationException if refresh token is invalid
+     * @param refreshTokenString Refresh token from client (revoked and replaced by a new one)
+     * @return AuthResponse with new access token and rotated refresh token
+     * @throws BusinessException if refresh token is invalid
      */
-    @Transactional
+    @Transactional(noRollbackFor = BusinessException.class)
     public AuthResponse refreshToken(String refreshTokenString) {
         log.info("🔹 Attempting to refresh access token");
 
-        RefreshToken refreshToken = refreshTokenService.verifyRefreshToken(refreshTokenString);
+        RefreshToken refreshToken = refreshTokenService.rotateRefreshToken(refreshTokenString);
         User user = refreshToken.getUser();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String newAccessToken = jwtUtil.generateToken(userDetails);
+        String newAccessToken = jwtUtil.generateToken(user);
 
         log.info("✅ Access token refreshed for user: {}", user.getEmail());
 
@@ -260,7 +266,11 @@ public class AuthService {
         user.setResetPasswordToken(null);
         user.setResetPasswordExpiry(null);
 
+        // Revoke access tokens issued with the old password
+        user.setAuthVersion(user.getAuthVersion() + 1);
+
         userRepository.save(user);
+        userAuthStateCache.evict(user.getId());
 
         log.info("✅ Password reset successful for user: {}", user.getEmail());
 
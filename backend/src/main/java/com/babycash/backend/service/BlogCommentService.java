@@ -1,5 +1,6 @@
 package com.babycash.backend.service;
 
+import com.babycash.backend.config.CacheConfig;
 import com.babycash.backend.dto.comment.CommentRequest;
 import com.babycash.backend.dto.comment.CommentResponse;
 import com.babycash.backend.model.entity.BlogComment;
@@ -8,12 +9,20 @@ import com.babycash.backend.model.entity.User;
 import com.babycash.backend.repository.BlogCommentRepository;
 import com.babycash.backend.repository.BlogPostRepository;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +33,7 @@ public class BlogCommentService {
     private final BlogCommentRepository commentRepository;
     private final BlogPostRepository blogPostRepository;
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
     @Transactional
     public CommentResponse createComment(Long postId, CommentRequest request, Long userId) {
@@ -50,21 +60,23 @@ public class BlogCommentService {
                 .build();
 
         BlogComment saved = commentRepository.save(comment);
+        evictCommentTree(postId);
         log.info("Comment created successfully with ID: {}", saved.getId());
 
         return mapToResponse(saved);
     }
 
+    /**
+     * Approved comments of a post as a tree: top-level comments newest first, replies oldest first
+     * One query loads every approved comment with its author; the tree is assembled in memory
+     * and cached per post until a comment of the post is created, approved, edited or deleted
+     */
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.COMMENT_TREES, key = "#postId")
     public List<CommentResponse> getApprovedCommentsByPost(Long postId) {
         log.info("Fetching approved comments for post: {}", postId);
 
-        List<BlogComment> topLevelComments = commentRepository
-                .findByBlogPostIdAndApprovedTrueAndParentCommentIsNullOrderByCreatedAtDesc(postId);
-
-        return topLevelComments.stream()
-                .map(this::mapToResponseWithReplies)
-                .collect(Collectors.toList());
+        return buildTree(commentRepository.findApprovedWithUserByPostId(postId));
     }
 
     @Transactional(readOnly = true)
@@ -102,6 +114,7 @@ public class BlogCommentService {
 
         comment.approve();
         BlogComment saved = commentRepository.save(comment);
+        evictCommentTree(saved.getBlogPost().getId());
 
         log.info("Comment approved successfully: {}", commentId);
         return mapToResponse(saved);
@@ -111,11 +124,11 @@ public class BlogCommentService {
     public void deleteComment(Long commentId) {
         log.info("Deleting comment: {}", commentId);
 
-        if (!commentRepository.existsById(commentId)) {
-            throw new IllegalArgumentException("Comment not found");
-        }
+        BlogComment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
 
-        commentRepository.deleteById(commentId);
+        commentRepository.delete(comment);
+        evictCommentTree(comment.getBlogPost().getId());
         log.info("Comment deleted successfully: {}", commentId);
     }
 
@@ -134,6 +147,7 @@ public class BlogCommentService {
         comment.setApproved(false); // Requires re-approval after edit
 
         BlogComment saved = commentRepository.save(comment);
+        evictCommentTree(saved.getBlogPost().getId());
         log.info("Comment updated successfully: {}", commentId);
 
         return mapToResponse(saved);
@@ -154,19 +168,44 @@ public class BlogCommentService {
                 .build();
     }
 
-    private CommentResponse mapToResponseWithReplies(BlogComment comment) {
-        CommentResponse response = mapToResponse(comment);
-
-        List<BlogComment> replies = commentRepository
-                .findByParentCommentIdAndApprovedTrueOrderByCreatedAtAsc(comment.getId());
+    /**
+     * Assembles the tree in O(n) from comments sorted oldest first: each parent precedes its replies,
+     * so every reply finds its parent already indexed. Replies whose parent is not approved are left out.
+     * The lists are returned unmodifiable because the tree is shared through the cache
+     */
+    private List<CommentResponse> buildTree(List<BlogComment> comments) {
+        Map<Long, CommentResponse> byId = new HashMap<>();
+        List<CommentResponse> roots = new ArrayList<>();
+
+        for (BlogComment comment : comments) {
+            CommentResponse response = mapToResponse(comment);
+            byId.put(response.getId(), response);
+
+            if (response.getParentCommentId() == null) {
+                roots.add(response);
+            } else {
+                CommentResponse parent = byId.get(response.getParentCommentId());
+                if (parent != null) {
+                    parent.getReplies().add(response);
+                }
+            }
+        }
 
-        response.setReplies(
-                replies.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList())
-        );
+        byId.values().forEach(response -> response.setReplies(List.copyOf(response.getReplies())));
+        Collections.reverse(roots);
+        return List.copyOf(roots);
+    }
 
-        return response;
+    /**
+     * Drops the cached tree of a post once the current transaction commits, so a concurrent
+     * read cannot cache the previous tree again before the change is visible
+     */
+    private void evictCommentTree(Long postId) {
+        Cache cache = cacheManager.getCache(CacheConfig.COMMENT_TREES);
+        if (cache == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> cache.evict(postId));
     }
 
     private CommentResponse.UserInfo mapUserInfo(User user) {
@@ -2,21 +2,32 @@ package com.babycash.backend.service;
 
 import com.babycash.backend.dto.request.BlogPostRequest;
 import com.babycash.backend.dto.response.BlogPostResponse;
+import com.babycash.backend.dto.response.BlogPostSummaryResponse;
 import com.babycash.backend.exception.custom.BusinessException;
 import com.babycash.backend.exception.custom.ResourceNotFoundException;
 import com.babycash.backend.model.entity.BlogPost;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.repository.BlogPostRepository;
+import com.babycash.backend.repository.BlogPostSearchOperations;
+import com.babycash.backend.repository.BlogPostSearchOperations.SearchHit;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.repository.projection.BlogPostSummary;
+import com.babycash.backend.repository.projection.BlogPostTag;
+import com.babycash.backend.service.blog.BlogViewCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,10 +42,13 @@ public class BlogPostService implements IBlogPostService {
 
     private final BlogPostRepository blogPostRepository;
     private final UserRepository userRepository;
+    private final BlogViewCounter blogViewCounter;
 
     private static final String POST_NOT_FOUND = "Post de blog no encontrado";
     private static final String USER_NOT_FOUND = "Usuario no encontrado";
     private static final String UNAUTHORIZED = "No tienes permiso para realizar esta acción";
+    private static final int FEATURED_LIMIT = 5;
+    private static final int MOST_VIEWED_LIMIT = 10;
 
     @Override
     @Transactional
@@ -121,15 +135,17 @@ public class BlogPostService implements IBlogPostService {
         return mapToResponse(post);
     }
 
+    /**
+     * Read-only: the view is recorded in BlogViewCounter and written later in a batch,
+     * the response already includes the views not yet flushed
+     */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public BlogPostResponse getPostBySlug(String slug) {
         BlogPost post = blogPostRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException(POST_NOT_FOUND));
 
-        // Increment view count
-        post.incrementViewCount();
-        blogPostRepository.save(post);
+        blogViewCounter.record(post.getId());
 
         return mapToResponse(post);
     }
@@ -170,8 +186,30 @@ public class BlogPostService implements IBlogPostService {
     @Override
     @Transactional(readOnly = true)
     public Page<BlogPostResponse> searchPosts(String query, Pageable pageable) {
-        Page<BlogPost> posts = blogPostRepository.searchPublishedPosts(query, pageable);
-        return posts.map(this::mapToResponse);
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        if (!blogPostRepository.isFullTextSearchAvailable()) {
+            Page<BlogPost> posts = blogPostRepository.searchPublishedPosts(query, pageable);
+            return posts.map(this::mapToResponse);
+        }
+
+        Page<SearchHit> hits = blogPostRepository.searchPublished(query, pageable);
+        Map<Long, BlogPost> posts = blogPostRepository
+                .findWithAuthorByIdIn(hits.map(SearchHit::id).getContent())
+                .stream()
+                .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+
+        // Keep the rank order of the hits; a post deleted in between is skipped
+        List<BlogPostResponse> content = hits.getContent().stream()
+                .filter(hit -> posts.containsKey(hit.id()))
+                .map(hit -> {
+                    BlogPostResponse response = mapToResponse(posts.get(hit.id()));
+                    response.setHighlight(toHighlightHtml(hit.snippet()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalElements());
     }
 
     @Override
@@ -244,11 +282,12 @@ public class BlogPostService implements IBlogPostService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void incrementViewCount(Long id) {
-        BlogPost post = findPostById(id);
-        post.incrementViewCount();
-        blogPostRepository.save(post);
+        if (!blogPostRepository.existsById(id)) {
+            throw new ResourceNotFoundException(POST_NOT_FOUND + " con ID: " + id);
+        }
+        blogViewCounter.record(id);
     }
 
     @Override
@@ -260,6 +299,27 @@ public class BlogPostService implements IBlogPostService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BlogPostSummaryResponse> getPublishedPostSummaries(Pageable pageable) {
+        Page<BlogPostSummary> summaries = blogPostRepository.findPublishedSummaries(
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Long, List<String>> tags = findTags(summaries.getContent());
+        return summaries.map(summary -> mapToSummaryResponse(summary, tags));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogPostSummaryResponse> getFeaturedPostSummaries() {
+        return mapToSummaryResponses(blogPostRepository.findFeaturedSummaries(PageRequest.of(0, FEATURED_LIMIT)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogPostSummaryResponse> getMostViewedPostSummaries() {
+        return mapToSummaryResponses(blogPostRepository.findMostViewedSummaries(PageRequest.of(0, MOST_VIEWED_LIMIT)));
+    }
+
     // ==================== Private Helper Methods ====================
 
     /**
@@ -303,6 +363,55 @@ public class BlogPostService implements IBlogPostService {
         return slug;
     }
 
+    /**
+     * Escape the snippet as HTML and turn the search markers into <mark> tags,
+     * so post text can never inject markup into the highlight
+     */
+    private String toHighlightHtml(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(BlogPostSearchOperations.HIGHLIGHT_START, "<mark>")
+                .replace(BlogPostSearchOperations.HIGHLIGHT_STOP, "</mark>");
+    }
+
+    private List<BlogPostSummaryResponse> mapToSummaryResponses(List<BlogPostSummary> summaries) {
+        Map<Long, List<String>> tags = findTags(summaries);
+        return summaries.stream()
+                .map(summary -> mapToSummaryResponse(summary, tags))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load the tags of a page of summaries in one query, grouped by post ID
+     */
+    private Map<Long, List<String>> findTags(List<BlogPostSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = summaries.stream().map(BlogPostSummary::id).collect(Collectors.toList());
+        return blogPostRepository.findTagsByPostIdIn(ids).stream()
+                .collect(Collectors.groupingBy(BlogPostTag::postId,
+                        Collectors.mapping(BlogPostTag::tag, Collectors.toList())));
+    }
+
+    private BlogPostSummaryResponse mapToSummaryResponse(BlogPostSummary summary, Map<Long, List<String>> tags) {
+        return BlogPostSummaryResponse.builder()
+                .id(summary.id())
+                .title(summary.title())
+                .slug(summary.slug())
+                .excerpt(summary.excerpt())
+                .imageUrl(summary.imageUrl())
+                .featured(summary.featured())
+                .viewCount(summary.viewCount() + blogViewCounter.pending(summary.id()))
+                .tags(tags.getOrDefault(summary.id(), List.of()))
+                .publishedAt(summary.publishedAt())
+                .authorId(summary.authorId())
+                .authorName(summary.authorFirstName() + " " + summary.authorLastName())
+                .build();
+    }
+
     /**
      * Map entity to DTO
      */
@@ -316,7 +425,7 @@ public class BlogPostService implements IBlogPostService {
                 .imageUrl(post.getImageUrl())
                 .published(post.getPublished())
                 .featured(post.getFeatured())
-                .viewCount(post.getViewCount())
+                .viewCount(post.getViewCount() + blogViewCounter.pending(post.getId()))
                 .tags(post.getTags())
                 .publishedAt(post.getPublishedAt())
                 .createdAt(post.getCreatedAt())
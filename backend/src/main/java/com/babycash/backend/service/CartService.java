@@ -9,8 +9,8 @@ import com.babycash.backend.model.entity.CartItem;
 import com.babycash.backend.model.entity.Product;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.repository.CartRepository;
-import com.babycash.backend.repository.ProductRepository;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.catalog.ProductBatchResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,6 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Cart service with business logic
@@ -27,14 +31,23 @@ import java.math.BigDecimal;
 public class CartService {
 
     private final CartRepository cartRepository;
-    private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ProductBatchResolver productBatchResolver;
 
     @Transactional
     public CartResponse addToCart(AddToCartRequest request) {
         User user = getCurrentUser();
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        Optional<Cart> existingCart = cartRepository.findByUser(user);
+
+        // The requested product and every product already in the cart, in one query
+        List<Long> productIds = new ArrayList<>(existingCart.map(this::productIds).orElseGet(ArrayList::new));
+        productIds.add(request.getProductId());
+        Map<Long, Product> products = productBatchResolver.resolve(productIds);
+
+        Product product = products.get(request.getProductId());
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found");
+        }
 
         if (!product.getEnabled()) {
             throw new BusinessException("Product is not available");
@@ -44,7 +57,7 @@ public class CartService {
             throw new BusinessException("Insufficient stock");
         }
 
-        Cart cart = cartRepository.findByUser(user)
+        Cart cart = existingCart
                 .orElseGet(() -> {
                     Cart newCart = Cart.builder()
                             .user(user)
@@ -70,7 +83,7 @@ public class CartService {
         }
 
         cart = cartRepository.save(cart);
-        return mapToResponse(cart);
+        return mapToResponse(cart, products);
     }
 
     @Transactional(readOnly = true)
@@ -78,7 +91,7 @@ public class CartService {
         User user = getCurrentUser();
         Cart cart = cartRepository.findByUser(user)
                 .orElseGet(() -> Cart.builder().user(user).build());
-        return mapToResponse(cart);
+        return mapToResponse(cart, productBatchResolver.resolve(productIds(cart)));
     }
 
     @Transactional
@@ -92,17 +105,19 @@ public class CartService {
                 .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
 
+        Map<Long, Product> products = productBatchResolver.resolve(productIds(cart));
+
         if (quantity <= 0) {
             cart.getItems().remove(item);
         } else {
-            if (item.getProduct().getStock() < quantity) {
+            if (products.get(item.getProduct().getId()).getStock() < quantity) {
                 throw new BusinessException("Insufficient stock");
             }
             item.setQuantity(quantity);
         }
 
         cart = cartRepository.save(cart);
-        return mapToResponse(cart);
+        return mapToResponse(cart, products);
     }
 
     @Transactional
@@ -125,12 +140,25 @@ public class CartService {
         cartRepository.save(cart);
     }
 
-    private CartResponse mapToResponse(Cart cart) {
+    /**
+     * IDs de los productos del carrito (leer el ID no inicializa el proxy lazy de CartItem.product)
+     */
+    private List<Long> productIds(Cart cart) {
+        return cart.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList();
+    }
+
+    /**
+     * Arma la respuesta con los productos ya cargados en lote (sin cargas lazy por línea)
+     */
+    private CartResponse mapToResponse(Cart cart, Map<Long, Product> products) {
         BigDecimal totalAmount = cart.getItems().stream()
                 .map(item -> {
-                    BigDecimal price = item.getProduct().getDiscountPrice() != null
-                            ? item.getProduct().getDiscountPrice()
-                            : item.getProduct().getPrice();
+                    Product product = products.get(item.getProduct().getId());
+                    BigDecimal price = product.getDiscountPrice() != null
+                            ? product.getDiscountPrice()
+                            : product.getPrice();
                     return price.multiply(BigDecimal.valueOf(item.getQuantity()));
                 })
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -143,15 +171,16 @@ public class CartService {
                 .id(cart.getId())
                 .items(cart.getItems().stream()
                         .map(item -> {
-                            BigDecimal price = item.getProduct().getDiscountPrice() != null
-                                    ? item.getProduct().getDiscountPrice()
-                                    : item.getProduct().getPrice();
+                            Product product = products.get(item.getProduct().getId());
+                            BigDecimal price = product.getDiscountPrice() != null
+                                    ? product.getDiscountPrice()
+                                    : product.getPrice();
                             return CartResponse.CartItemResponse.builder()
                                     .id(item.getId())
-                                    .productId(item.getProduct().getId())
-                                    .productName(item.getProduct().getName())
+                                    .productId(product.getId())
+                                    .productName(product.getName())
                                     .productPrice(price)
-                                    .productImage(item.getProduct().getImageUrl())
+                                    .productImage(product.getImageUrl())
                                     .quantity(item.getQuantity())
                                     .subtotal(price.multiply(BigDecimal.valueOf(item.getQuantity())))
                                     .build();
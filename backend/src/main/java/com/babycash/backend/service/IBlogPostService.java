@@ -2,6 +2,7 @@ package com.babycash.backend.service;
 
 import com.babycash.backend.dto.request.BlogPostRequest;
 import com.babycash.backend.dto.response.BlogPostResponse;
+import com.babycash.backend.dto.response.BlogPostSummaryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -92,4 +93,19 @@ public interface IBlogPostService {
      * Get most viewed posts
      */
     List<BlogPostResponse> getMostViewedPosts();
+
+    /**
+     * Get published post summaries for listing cards (paginated, no content)
+     */
+    Page<BlogPostSummaryResponse> getPublishedPostSummaries(Pageable pageable);
+
+    /**
+     * Get featured post summaries (no content)
+     */
+    List<BlogPostSummaryResponse> getFeaturedPostSummaries();
+
+    /**
+     * Get most viewed post summaries (no content)
+     */
+    List<BlogPostSummaryResponse> getMostViewedPostSummaries();
 }
@@ -2,11 +2,15 @@ package com.babycash.backend.service;
 
 import com.babycash.backend.dto.LoyaltyPointsResponse;
 import com.babycash.backend.dto.LoyaltyTransactionResponse;
+import com.babycash.backend.model.entity.LoyaltyBalance;
 import com.babycash.backend.model.entity.LoyaltyPoint;
 import com.babycash.backend.model.entity.Order;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.LoyaltyTransactionType;
+import com.babycash.backend.repository.LoyaltyBalanceRepository;
 import com.babycash.backend.repository.LoyaltyPointRepository;
+import com.babycash.backend.service.maintenance.MaintenanceJob;
+import com.babycash.backend.service.maintenance.MaintenanceJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,7 +21,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.List;
 
 /**
  * Service for managing loyalty points
@@ -30,6 +33,10 @@ import java.util.List;
 public class LoyaltyService implements ILoyaltyService {
 
     private final LoyaltyPointRepository loyaltyPointRepository;
+    private final LoyaltyBalanceRepository loyaltyBalanceRepository;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+
+    private static final String EXPIRY_JOB = "loyalty-expiry";
 
     // Business rule: 1 point per $1000 COP spent
     private static final BigDecimal THOUSAND = new BigDecimal("1000");
@@ -37,13 +44,9 @@ public class LoyaltyService implements ILoyaltyService {
     // Points expire after 1 year
     private static final int EXPIRATION_MONTHS = 12;
 
-    // Tier thresholds
-    private static final int SILVER_THRESHOLD = 1000;
-    private static final int GOLD_THRESHOLD = 5000;
-
     /**
      * Award points to a user based on purchase amount
-     * Calculates points, creates transaction, sets expiration
+     * Calculates points, creates transaction, sets expiration, updates the balance summary
      */
     @Override
     @Transactional
@@ -57,6 +60,7 @@ public class LoyaltyService implements ILoyaltyService {
         Integer pointsToAward = amount.divide(THOUSAND, 0, java.math.RoundingMode.DOWN).intValue();
 
         if (pointsToAward > 0) {
+            LocalDateTime now = LocalDateTime.now();
             LoyaltyPoint loyaltyPoint = LoyaltyPoint.builder()
                     .user(user)
                     .transactionType(LoyaltyTransactionType.EARNED)
@@ -64,11 +68,12 @@ public class LoyaltyService implements ILoyaltyService {
                     .amountSpent(amount)
                     .order(order)
                     .description(String.format("Puntos ganados por compra #%s", order.getOrderNumber()))
-                    .expiresAt(LocalDateTime.now().plusMonths(EXPIRATION_MONTHS))
+                    .expiresAt(now.plusMonths(EXPIRATION_MONTHS))
                     .active(true)
                     .build();
 
             loyaltyPointRepository.save(loyaltyPoint);
+            loyaltyBalanceRepository.recordEarned(user.getId(), pointsToAward, now);
             log.info("Awarded {} points to user {} for order {}", pointsToAward, user.getEmail(), order.getOrderNumber());
         }
 
@@ -77,7 +82,8 @@ public class LoyaltyService implements ILoyaltyService {
 
     /**
      * Redeem points for a user
-     * Validates balance, creates negative transaction
+     * Checks and debits the balance in one conditional update (row lock on the user's summary only,
+     * so concurrent redemptions cannot overdraw), then creates the negative transaction
      */
     @Override
     @Transactional
@@ -87,11 +93,8 @@ public class LoyaltyService implements ILoyaltyService {
             return false;
         }
 
-        // Check if user has enough points
-        Integer currentBalance = loyaltyPointRepository.calculateTotalActivePoints(user, LocalDateTime.now());
-        if (currentBalance < points) {
-            log.warn("Insufficient points. User {} has {} but tried to redeem {}", 
-                    user.getEmail(), currentBalance, points);
+        if (!loyaltyBalanceRepository.tryRedeem(user.getId(), points, LocalDateTime.now())) {
+            log.warn("Insufficient points. User {} tried to redeem {}", user.getEmail(), points);
             return false;
         }
 
@@ -105,63 +108,26 @@ public class LoyaltyService implements ILoyaltyService {
                 .build();
 
         loyaltyPointRepository.save(redemption);
-        log.info("User {} redeemed {} points. New balance: {}", user.getEmail(), points, currentBalance - points);
+        log.info("User {} redeemed {} points", user.getEmail(), points);
 
         return true;
     }
 
     /**
      * Get loyalty points summary for a user
-     * Calculates all statistics and tier
+     * Reads the loyalty_balances row (primary key) plus indexed ranges for points already due
+     * and expiring soon, so the cost does not depend on the length of the user's history
      */
     @Override
     @Transactional(readOnly = true)
     public LoyaltyPointsResponse getUserLoyaltyPoints(User user) {
         LocalDateTime now = LocalDateTime.now();
-        
-        // Get total active points
-        Integer totalPoints = loyaltyPointRepository.calculateTotalActivePoints(user, now);
-
-        // Get all transactions for calculations
-        List<LoyaltyPoint> allTransactions = loyaltyPointRepository.findByUserOrderByCreatedAtDesc(user, Pageable.unpaged()).getContent();
-
-        // Calculate earned total
-        Integer earnedTotal = allTransactions.stream()
-                .filter(lp -> lp.getTransactionType() == LoyaltyTransactionType.EARNED || 
-                             lp.getTransactionType() == LoyaltyTransactionType.BONUS)
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        // Calculate earned this month
-        YearMonth currentMonth = YearMonth.now();
-        Integer earnedThisMonth = allTransactions.stream()
-                .filter(lp -> (lp.getTransactionType() == LoyaltyTransactionType.EARNED || 
-                              lp.getTransactionType() == LoyaltyTransactionType.BONUS))
-                .filter(lp -> {
-                    YearMonth txMonth = YearMonth.from(lp.getCreatedAt());
-                    return txMonth.equals(currentMonth);
-                })
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        // Calculate redeemed total
-        Integer redeemedTotal = allTransactions.stream()
-                .filter(lp -> lp.getTransactionType() == LoyaltyTransactionType.REDEEMED)
-                .mapToInt(lp -> Math.abs(lp.getPoints()))
-                .sum();
+        LoyaltyBalance balance = findBalance(user);
+        // Points past their expiry stay in the summary until the expiry job reaches them
+        Integer totalPoints = balance.getBalance() - loyaltyPointRepository.sumPointsDueForExpiry(user, now);
 
         // Calculate expiring soon (next 30 days)
-        LocalDateTime thirtyDaysFromNow = now.plusDays(30);
-        Integer expiringSoon = allTransactions.stream()
-                .filter(lp -> lp.getActive())
-                .filter(lp -> lp.getExpiresAt() != null && 
-                             lp.getExpiresAt().isAfter(now) && 
-                             lp.getExpiresAt().isBefore(thirtyDaysFromNow))
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        // Calculate tier
-        String tier = calculateTier(earnedTotal);
+        Integer expiringSoon = loyaltyPointRepository.sumPointsExpiringBetween(user, now, now.plusDays(30));
 
         // Get member since
         String memberSince = String.valueOf(user.getCreatedAt().getYear());
@@ -174,12 +140,12 @@ public class LoyaltyService implements ILoyaltyService {
 
         return LoyaltyPointsResponse.builder()
                 .totalPoints(totalPoints)
-                .earnedThisMonth(earnedThisMonth)
-                .earnedTotal(earnedTotal)
-                .redeemedTotal(redeemedTotal)
+                .earnedThisMonth(balance.earnedIn(YearMonth.from(now)))
+                .earnedTotal(balance.getLifetimeEarned())
+                .redeemedTotal(balance.getLifetimeRedeemed())
                 .expiringSoon(expiringSoon)
                 .memberSince(memberSince)
-                .tier(tier)
+                .tier(balance.getTier())
                 .availableDiscountPercent(availableDiscountPercent)
                 .pointsForNextDiscount(pointsForNextDiscount)
                 .build();
@@ -199,48 +165,32 @@ public class LoyaltyService implements ILoyaltyService {
 
     /**
      * Process expired points (scheduled job)
-     * Finds expired active points, deactivates them, creates audit records
+     * Deactivates expired active points and creates their EXPIRED records
+     * Runs in short chunks (see MaintenanceJobRunner); a paused run resumes on the next call
      */
     @Override
-    @Transactional
     public void processExpiredPoints() {
-        LocalDateTime now = LocalDateTime.now();
-        List<LoyaltyPoint> expiredPoints = loyaltyPointRepository.findExpiredActivePoints(now);
-
-        log.info("Processing {} expired loyalty points", expiredPoints.size());
-
-        for (LoyaltyPoint expiredPoint : expiredPoints) {
-            // Deactivate the point
-            expiredPoint.deactivate();
-            loyaltyPointRepository.save(expiredPoint);
-
-            // Create audit record
-            LoyaltyPoint expirationRecord = LoyaltyPoint.builder()
-                    .user(expiredPoint.getUser())
-                    .transactionType(LoyaltyTransactionType.EXPIRED)
-                    .points(-expiredPoint.getPoints())
-                    .description(String.format("Puntos expirados de transacción #%d", expiredPoint.getId()))
-                    .active(true)
-                    .build();
-
-            loyaltyPointRepository.save(expirationRecord);
-        }
+        MaintenanceJobRunner.RunResult result = maintenanceJobRunner.run(EXPIRY_JOB, this::expirePointsChunk);
+        log.info("Expired {} loyalty point transactions{}", result.processed(),
+                result.completed() ? "" : " (paused, resumes on next run)");
+    }
 
-        log.info("Expired {} loyalty point transactions", expiredPoints.size());
+    /**
+     * Expire one chunk set-based: a single statement deactivates the points and inserts
+     * their EXPIRED records, so memory and statement count do not grow with the chunk
+     */
+    private MaintenanceJob.Chunk expirePointsChunk(long afterId, int chunkSize) {
+        LoyaltyPointRepository.ExpiryBatch batch = loyaltyPointRepository.expireBatch(
+                afterId, LocalDateTime.now(), chunkSize);
+        return new MaintenanceJob.Chunk(batch.lastId(), batch.expired(), batch.scanned() >= chunkSize);
     }
 
     /**
-     * Calculate tier based on total earned points
-     * Business rule: BRONZE < 1000, SILVER < 5000, GOLD >= 5000
+     * Summary row of a user, or an empty one if the user has no loyalty activity yet
      */
-    private String calculateTier(Integer totalEarned) {
-        if (totalEarned >= GOLD_THRESHOLD) {
-            return "GOLD";
-        } else if (totalEarned >= SILVER_THRESHOLD) {
-            return "SILVER";
-        } else {
-            return "BRONZE";
-        }
+    private LoyaltyBalance findBalance(User user) {
+        return loyaltyBalanceRepository.findById(user.getId())
+                .orElseGet(() -> LoyaltyBalance.empty(user.getId()));
     }
 
     /**
@@ -9,8 +9,11 @@ import com.babycash.backend.model.enums.OrderStatus;
 import com.babycash.backend.repository.OrderRepository;
 import com.babycash.backend.repository.ProductRepository;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.catalog.ProductBatchResolver;
+import com.babycash.backend.service.order.OrderStatsTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +22,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Order service with business logic
@@ -32,18 +37,29 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final ILoyaltyService loyaltyService;
+    private final ProductBatchResolver productBatchResolver;
+    private final OrderStatsTracker orderStatsTracker;
+    private final ProductService productService;
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
         User user = getCurrentUser();
 
+        // Load every referenced product in a single query
+        Map<Long, Product> products = productBatchResolver.resolve(request.getItems().stream()
+                .map(CreateOrderRequest.OrderItemRequest::getProductId)
+                .toList());
+
         // Validate products and calculate total
         List<OrderItem> orderItems = new ArrayList<>();
+        Map<Long, Integer> quantities = new HashMap<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (CreateOrderRequest.OrderItemRequest itemReq : request.getItems()) {
-            Product product = productRepository.findById(itemReq.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + itemReq.getProductId()));
+            Product product = products.get(itemReq.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + itemReq.getProductId());
+            }
 
             if (!product.getEnabled()) {
                 throw new BusinessException("Product is not available: " + product.getName());
@@ -68,11 +84,16 @@ public class OrderService {
                     .build();
 
             orderItems.add(orderItem);
+            quantities.merge(product.getId(), itemReq.getQuantity(), Integer::sum);
+        }
 
-            // Reduce stock
-            product.setStock(product.getStock() - itemReq.getQuantity());
-            productRepository.save(product);
+        // Reserve stock atomically (one conditional UPDATE per product, single JDBC batch).
+        // The check above is only a fast path: concurrent orders are resolved by the database.
+        List<Long> rejected = productRepository.reserveStock(quantities);
+        if (!rejected.isEmpty()) {
+            throw new BusinessException("Insufficient stock for: " + products.get(rejected.get(0)).getName());
         }
+        productService.onStockChanged(products.values());
 
         // Create order
         Order order = Order.builder()
@@ -92,14 +113,14 @@ public class OrderService {
         order.setItems(orderItems);
         order = orderRepository.save(order);
 
+        orderStatsTracker.recordCreated(order.getStatus(), order.getTotalAmount());
         return mapToResponse(order);
     }
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> getMyOrders(Pageable pageable) {
         User user = getCurrentUser();
-        return orderRepository.findByUser(user, pageable)
-                .map(this::mapToResponse);
+        return loadPage(orderRepository.findIdsByUser(user, pageable));
     }
 
     @Transactional(readOnly = true)
@@ -146,13 +167,15 @@ public class OrderService {
         order.setStatus(OrderStatus.CANCELLED);
 
         // Restore stock
+        Map<Long, Integer> quantities = new HashMap<>();
         for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
+        productRepository.releaseStock(quantities);
+        productService.onStockChanged(order.getItems().stream().map(OrderItem::getProduct).toList());
 
         order = orderRepository.save(order);
+        orderStatsTracker.recordStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED, order.getTotalAmount());
         return mapToResponse(order);
     }
 
@@ -168,6 +191,7 @@ public class OrderService {
         OrderStatus oldStatus = order.getStatus();
         order.setStatus(newStatus);
         order = orderRepository.save(order);
+        orderStatsTracker.recordStatusChange(oldStatus, newStatus, order.getTotalAmount());
 
         // Award loyalty points when order is completed
         if (newStatus == OrderStatus.DELIVERED && oldStatus != OrderStatus.DELIVERED) {
@@ -177,6 +201,22 @@ public class OrderService {
         return mapToResponse(order);
     }
 
+    /**
+     * Second phase of a paged order listing: bulk-loads items and products for the page ids only
+     * (one query), keeping the order and totals of the id page
+     */
+    private Page<OrderResponse> loadPage(Page<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return new PageImpl<>(List.of(), orderIds.getPageable(), orderIds.getTotalElements());
+        }
+
+        Map<Long, Order> orders = new HashMap<>();
+        for (Order order : orderRepository.findWithItemsByIdIn(orderIds.getContent())) {
+            orders.put(order.getId(), order);
+        }
+        return orderIds.map(id -> mapToResponse(orders.get(id)));
+    }
+
     private OrderResponse mapToResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
@@ -211,8 +251,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(this::mapToResponse);
+        return loadPage(orderRepository.findAllIds(pageable));
     }
 
     /**
@@ -220,8 +259,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrdersByStatus(OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable)
-                .map(this::mapToResponse);
+        return loadPage(orderRepository.findIdsByStatus(status, pageable));
     }
 
     /**
@@ -235,28 +273,18 @@ public class OrderService {
     }
 
     /**
-     * Get order statistics
+     * Get order statistics (in-memory counters, no queries)
      */
-    @Transactional(readOnly = true)
     public OrderStats getOrderStats() {
-        long totalOrders = orderRepository.count();
-        long pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
-        long processingOrders = orderRepository.countByStatus(OrderStatus.PROCESSING);
-        long completedOrders = orderRepository.countByStatus(OrderStatus.DELIVERED);
-        long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
-
-        BigDecimal totalRevenue = orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() == OrderStatus.DELIVERED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        OrderStatsTracker.Totals totals = orderStatsTracker.current();
 
         return new OrderStats(
-                totalOrders,
-                pendingOrders,
-                processingOrders,
-                completedOrders,
-                cancelledOrders,
-                totalRevenue
+                totals.totalCount(),
+                totals.count(OrderStatus.PENDING),
+                totals.count(OrderStatus.PROCESSING),
+                totals.count(OrderStatus.DELIVERED),
+                totals.count(OrderStatus.CANCELLED),
+                totals.amount(OrderStatus.DELIVERED)
         );
     }
 
@@ -1,21 +1,33 @@
 package com.babycash.backend.service;
 
+import com.babycash.backend.config.CacheConfig;
 import com.babycash.backend.dto.request.ProductRequest;
 import com.babycash.backend.dto.response.ProductResponse;
+import com.babycash.backend.dto.response.ProductSummaryResponse;
 import com.babycash.backend.exception.custom.ResourceNotFoundException;
 import com.babycash.backend.model.entity.Product;
 import com.babycash.backend.model.enums.ProductCategory;
 import com.babycash.backend.repository.ProductRepository;
+import com.babycash.backend.repository.projection.ProductSummary;
+import com.babycash.backend.service.catalog.CatalogSnapshotService;
+import com.babycash.backend.service.search.ProductSearchIndex;
+import com.babycash.backend.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio de productos con cache para optimizar performance
@@ -25,37 +37,80 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CacheManager cacheManager;
 
-    @Transactional(readOnly = true)
+    /**
+     * Catálogo paginado servido desde la foto en memoria.
+     * Solo consulta la base de datos si la foto no soporta el ordenamiento pedido.
+     */
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        return productRepository.findByEnabledTrue(pageable)
+        return catalogSnapshotService.findEnabled(null, pageable)
+                .orElseGet(() -> productRepository.findByEnabledTrue(pageable))
                 .map(this::mapToResponse);
     }
 
-    @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByCategory(ProductCategory category, Pageable pageable) {
-        return productRepository.findByCategoryAndEnabledTrue(category, pageable)
+        return catalogSnapshotService.findEnabled(category, pageable)
+                .orElseGet(() -> productRepository.findByCategoryAndEnabledTrue(category, pageable))
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Listado resumido para tarjetas (sin descripción), con categoría opcional.
+     * Se sirve desde la foto del catálogo; si no soporta el ordenamiento, la consulta
+     * a la base de datos proyecta solo las columnas del resumen.
+     */
+    public Page<ProductSummaryResponse> getProductSummaries(ProductCategory category, Pageable pageable) {
+        return catalogSnapshotService.findEnabled(category, pageable)
+                .map(page -> page.map(this::mapToSummaryResponse))
+                .orElseGet(() -> productRepository.findEnabledSummaries(category, pageable)
+                        .map(this::mapToSummaryResponse));
+    }
+
+    /**
+     * Búsqueda por relevancia usando el índice invertido en memoria.
+     * Solo la página solicitada se carga desde la base de datos (por PK).
+     */
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String query, Pageable pageable) {
-        return productRepository.searchProducts(query, pageable)
-                .map(this::mapToResponse);
+        List<Long> rankedIds = productSearchIndex.search(query);
+        if (rankedIds.isEmpty() || pageable.getOffset() >= rankedIds.size()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+
+        int from = (int) pageable.getOffset();
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            rank.put(pageIds.get(i), i);
+        }
+
+        List<ProductResponse> content = productRepository.findAllById(pageIds).stream()
+                .filter(Product::getEnabled)
+                .sorted(Comparator.comparing(product -> rank.get(product.getId())))
+                .map(this::mapToResponse)
+                .toList();
+
+        return new PageImpl<>(content, pageable, rankedIds.size());
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#id")
+    @Cacheable(value = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         return mapToResponse(product);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "featuredProducts")
+    @Cacheable(value = CacheConfig.FEATURED_PRODUCTS)
     public List<ProductResponse> getFeaturedProducts() {
-        return productRepository.findByFeaturedTrueAndEnabledTrue().stream()
+        return catalogSnapshotService.findFeatured()
+                .orElseGet(productRepository::findByFeaturedTrueAndEnabledTrue)
+                .stream()
                 .map(this::mapToResponse)
                 .toList();
     }
@@ -64,23 +119,31 @@ public class ProductService {
      * Delete a product (Admin only)
      */
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts"}, allEntries = true)
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        boolean wasFeatured = isListedAsFeatured(product);
         productRepository.delete(product);
+        TransactionCallbacks.afterCommit(() -> {
+            productSearchIndex.remove(id);
+            catalogSnapshotService.remove(id);
+            evictProduct(id, wasFeatured);
+        });
     }
 
     /**
      * Toggle featured status of a product (Admin only)
      */
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts"}, allEntries = true)
     public ProductResponse toggleFeatured(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         product.setFeatured(!product.getFeatured());
         Product saved = productRepository.save(product);
+        TransactionCallbacks.afterCommit(() -> {
+            catalogSnapshotService.apply(saved);
+            evictProduct(id, Boolean.TRUE.equals(saved.getEnabled()));
+        });
         return mapToResponse(saved);
     }
 
@@ -88,12 +151,12 @@ public class ProductService {
      * Toggle enabled status of a product (Admin only)
      */
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts"}, allEntries = true)
     public ProductResponse toggleEnabled(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         product.setEnabled(!product.getEnabled());
         Product saved = productRepository.save(product);
+        TransactionCallbacks.afterCommit(() -> onProductChanged(saved, Boolean.TRUE.equals(saved.getFeatured())));
         return mapToResponse(saved);
     }
 
@@ -101,7 +164,6 @@ public class ProductService {
      * Create a new product (Admin only)
      */
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts"}, allEntries = true)
     public ProductResponse createProduct(ProductRequest request) {
         Product product = Product.builder()
                 .name(request.getName())
@@ -118,6 +180,7 @@ public class ProductService {
                 .build();
 
         Product saved = productRepository.save(product);
+        TransactionCallbacks.afterCommit(() -> onProductChanged(saved, isListedAsFeatured(saved)));
         return mapToResponse(saved);
     }
 
@@ -125,10 +188,10 @@ public class ProductService {
      * Update an existing product (Admin only)
      */
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts"}, allEntries = true)
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        boolean wasFeatured = isListedAsFeatured(product);
 
         product.setName(request.getName());
         product.setDescription(request.getDescription());
@@ -146,9 +209,59 @@ public class ProductService {
         }
 
         Product saved = productRepository.save(product);
+        // Los destacados solo cambian si el producto estaba o queda en la lista
+        boolean featuredAffected = wasFeatured || isListedAsFeatured(saved);
+        TransactionCallbacks.afterCommit(() -> onProductChanged(saved, featuredAffected));
         return mapToResponse(saved);
     }
 
+    /**
+     * Propaga el stock cambiado por un pedido (OrderService) cuando la transacción confirma:
+     * relee los productos en la foto del catálogo y desaloja sus respuestas cacheadas
+     */
+    public void onStockChanged(Collection<Product> products) {
+        List<Long> ids = products.stream().map(Product::getId).distinct().toList();
+        boolean featuredAffected = products.stream().anyMatch(this::isListedAsFeatured);
+        TransactionCallbacks.afterCommit(() -> {
+            catalogSnapshotService.refresh(ids);
+            evictProducts(ids, featuredAffected);
+        });
+    }
+
+    /**
+     * Propaga un producto creado o modificado al índice de búsqueda, a la foto del catálogo y a la cache
+     */
+    private void onProductChanged(Product product, boolean featuredAffected) {
+        productSearchIndex.index(product);
+        catalogSnapshotService.apply(product);
+        evictProduct(product.getId(), featuredAffected);
+    }
+
+    /**
+     * Desaloja solo la entrada del producto modificado; la lista de destacados
+     * se invalida únicamente cuando el cambio la afecta
+     */
+    private void evictProduct(Long id, boolean featuredAffected) {
+        evictProducts(List.of(id), featuredAffected);
+    }
+
+    private void evictProducts(Collection<Long> ids, boolean featuredAffected) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (products != null) {
+            ids.forEach(products::evict);
+        }
+        if (featuredAffected) {
+            Cache featured = cacheManager.getCache(CacheConfig.FEATURED_PRODUCTS);
+            if (featured != null) {
+                featured.clear();
+            }
+        }
+    }
+
+    private boolean isListedAsFeatured(Product product) {
+        return Boolean.TRUE.equals(product.getFeatured()) && Boolean.TRUE.equals(product.getEnabled());
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
@@ -165,4 +278,34 @@ public class ProductService {
                 .createdAt(product.getCreatedAt())
                 .build();
     }
+
+    private ProductSummaryResponse mapToSummaryResponse(Product product) {
+        return ProductSummaryResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .discountPrice(product.getDiscountPrice())
+                .category(product.getCategory().name())
+                .stock(product.getStock())
+                .imageUrl(product.getImageUrl())
+                .featured(product.getFeatured())
+                .rating(product.getRating())
+                .reviewCount(product.getReviewCount())
+                .build();
+    }
+
+    private ProductSummaryResponse mapToSummaryResponse(ProductSummary summary) {
+        return ProductSummaryResponse.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .price(summary.price())
+                .discountPrice(summary.discountPrice())
+                .category(summary.category().name())
+                .stock(summary.stock())
+                .imageUrl(summary.imageUrl())
+                .featured(summary.featured())
+                .rating(summary.rating())
+                .reviewCount(summary.reviewCount())
+                .build();
+    }
 }
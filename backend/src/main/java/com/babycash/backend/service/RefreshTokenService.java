@@ -4,22 +4,36 @@ import com.babycash.backend.entity.AuditLog;
 import com.babycash.backend.exception.custom.BusinessException;
 import com.babycash.backend.model.entity.RefreshToken;
 import com.babycash.backend.model.entity.User;
+import com.babycash.backend.repository.RefreshTokenOperations;
 import com.babycash.backend.repository.RefreshTokenRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.maintenance.MaintenanceJob;
+import com.babycash.backend.service.maintenance.MaintenanceJobRunner;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Service for managing refresh tokens with automatic rotation
+ *
+ * Tokens are looked up by the SHA-256 of their value (unique index on token_hash).
+ * Rotation revokes the old token and inserts the new one in a single statement, and the
+ * per-user cap is enforced with one windowed UPDATE instead of loading active tokens.
  */
 @Slf4j
 @Service
@@ -27,7 +41,11 @@ import java.util.UUID;
 public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
     private final AuditService auditService;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+
+    static final String CLEANUP_JOB = "refresh-token-cleanup";
 
     @Value("${app.jwt.refresh-expiration-ms:604800000}") // 7 days default
     private Long refreshTokenDurationMs;
@@ -37,97 +55,95 @@ public class RefreshTokenService {
 
     /**
      * Create a new refresh token for a user
+     * The returned token carries the raw value; only its hash is stored
      */
     @Transactional
     public RefreshToken createRefreshToken(User user) {
-        // Check if user has too many active tokens
-        long activeTokenCount = refreshTokenRepository.countActiveTokensByUser(user, LocalDateTime.now());
-        if (activeTokenCount >= maxActiveTokensPerUser) {
-            // Revoke oldest token
-            List<RefreshToken> activeTokens = refreshTokenRepository.findActiveTokensByUser(user, LocalDateTime.now());
-            if (!activeTokens.isEmpty()) {
-                RefreshToken oldestToken = activeTokens.stream()
-                        .min((t1, t2) -> t1.getCreatedAt().compareTo(t2.getCreatedAt()))
-                        .orElseThrow();
-                oldestToken.revoke();
-                refreshTokenRepository.save(oldestToken);
-                log.info("Revoked oldest refresh token for user {} due to max limit", user.getEmail());
-            }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Make room for the new token: revoke the oldest active ones beyond the limit
+        int revoked = refreshTokenRepository.revokeOldestBeyond(user.getId(), maxActiveTokensPerUser - 1, now);
+        if (revoked > 0) {
+            log.info("Revoked {} oldest refresh token(s) for user {} due to max limit", revoked, user.getEmail());
         }
 
-        // Generate new token
         String token = UUID.randomUUID().toString();
-        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(refreshTokenDurationMs * 1_000_000);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
-                .user(user)
-                .expiryDate(expiryDate)
-                .revoked(false)
-                .ipAddress(getClientIP())
-                .userAgent(getUserAgent())
-                .build();
+        LocalDateTime expiryDate = now.plus(Duration.ofMillis(refreshTokenDurationMs));
+        String ipAddress = getClientIP();
+        String userAgent = getUserAgent();
 
-        refreshToken = refreshTokenRepository.save(refreshToken);
+        Long id = refreshTokenRepository.insertToken(user.getId(), hashToken(token), now, expiryDate, ipAddress, userAgent);
 
         auditService.logAction(
                 AuditLog.ActionType.LOGIN,
                 "RefreshToken",
-                refreshToken.getId(),
+                id,
                 "Refresh token creado para usuario: " + user.getEmail()
         );
 
         log.debug("Created refresh token for user: {}", user.getEmail());
-        return refreshToken;
+        return issued(id, token, user, now, expiryDate, ipAddress, userAgent);
     }
 
     /**
      * Validate and rotate refresh token
-     * Returns the same user but revokes the old token
+     * Returns a new token for the same user and revokes the old one
+     * A rejected rotation still commits, so the revocation after a reuse attempt is kept
      */
-    @Transactional
+    @Transactional(noRollbackFor = BusinessException.class)
     public RefreshToken rotateRefreshToken(String token) {
-        RefreshToken oldToken = refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new BusinessException("Refresh token not found"));
-
-        // Validate token
-        if (!oldToken.isValid()) {
-            if (oldToken.getRevoked()) {
-                // Possible token reuse attack - revoke all user tokens
-                refreshTokenRepository.revokeAllUserTokens(oldToken.getUser(), LocalDateTime.now());
-                auditService.logSecurityEvent(
-                        "Intento de reutilización de refresh token",
-                        "Token revocado usado por: " + oldToken.getUser().getEmail() + ", IP: " + getClientIP()
-                );
-                log.warn("Refresh token reuse detected for user: {}", oldToken.getUser().getEmail());
-                throw new BusinessException("Invalid refresh token - all sessions revoked for security");
-            }
-            throw new BusinessException("Refresh token expired");
-        }
+        String oldHash = hashToken(token);
+        String newToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiryDate = now.plus(Duration.ofMillis(refreshTokenDurationMs));
+        String ipAddress = getClientIP();
+        String userAgent = getUserAgent();
 
-        // Revoke old token
-        oldToken.revoke();
-        refreshTokenRepository.save(oldToken);
+        RefreshTokenOperations.Rotation rotation = refreshTokenRepository
+                .rotate(oldHash, hashToken(newToken), now, expiryDate, ipAddress, userAgent)
+                .orElseThrow(() -> rejectRotation(oldHash, now));
 
-        // Create new token
-        RefreshToken newToken = createRefreshToken(oldToken.getUser());
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new BusinessException("Refresh token not found"));
 
         auditService.logAction(
                 AuditLog.ActionType.LOGIN,
                 "RefreshToken",
-                newToken.getId(),
-                "Token rotado para usuario: " + oldToken.getUser().getEmail()
+                rotation.id(),
+                "Token rotado para usuario: " + user.getEmail()
         );
 
-        log.debug("Rotated refresh token for user: {}", oldToken.getUser().getEmail());
-        return newToken;
+        log.debug("Rotated refresh token for user: {}", user.getEmail());
+        return issued(rotation.id(), newToken, user, now, expiryDate, ipAddress, userAgent);
+    }
+
+    /**
+     * Explain why a token could not be rotated (only runs on the failure path)
+     */
+    private BusinessException rejectRotation(String tokenHash, LocalDateTime now) {
+        RefreshToken oldToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElse(null);
+        if (oldToken == null) {
+            return new BusinessException("Refresh token not found");
+        }
+        if (oldToken.getRevoked()) {
+            // Possible token reuse attack - revoke all user tokens
+            refreshTokenRepository.revokeAllUserTokens(oldToken.getUser(), now);
+            auditService.logSecurityEvent(
+                    "Intento de reutilización de refresh token",
+                    "Token revocado usado por: " + oldToken.getUser().getEmail() + ", IP: " + getClientIP()
+            );
+            log.warn("Refresh token reuse detected for user: {}", oldToken.getUser().getEmail());
+            return new BusinessException("Invalid refresh token - all sessions revoked for security");
+        }
+        return new BusinessException("Refresh token expired");
     }
 
     /**
      * Verify if refresh token is valid
      */
     public RefreshToken verifyRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hashToken(token))
                 .orElseThrow(() -> new BusinessException("Refresh token not found"));
 
         if (!refreshToken.isValid()) {
@@ -142,7 +158,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public void revokeRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hashToken(token))
                 .orElseThrow(() -> new BusinessException("Refresh token not found"));
 
         refreshToken.revoke();
@@ -177,13 +193,49 @@ public class RefreshTokenService {
 
     /**
      * Cleanup expired and revoked tokens older than 30 days
+     * Runs in short chunks (see MaintenanceJobRunner); a paused run resumes on the next call
      */
-    @Transactional
     public int cleanupOldTokens() {
+        MaintenanceJobRunner.RunResult result = maintenanceJobRunner.run(CLEANUP_JOB, this::deleteOldTokensChunk);
+        log.info("Cleaned up {} old refresh tokens{}", result.processed(),
+                result.completed() ? "" : " (paused, resumes on next run)");
+        return (int) result.processed();
+    }
+
+    private MaintenanceJob.Chunk deleteOldTokensChunk(long afterId, int chunkSize) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-        int deletedCount = refreshTokenRepository.deleteExpiredAndRevokedTokens(cutoffDate);
-        log.info("Cleaned up {} old refresh tokens", deletedCount);
-        return deletedCount;
+        List<Long> ids = refreshTokenRepository.findIdsToCleanup(afterId, cutoffDate, PageRequest.of(0, chunkSize));
+        if (!ids.isEmpty()) {
+            refreshTokenRepository.deleteAllByIdInBatch(ids);
+        }
+        return MaintenanceJob.Chunk.of(afterId, ids, chunkSize);
+    }
+
+    /**
+     * SHA-256 (hex) of a raw refresh token, as stored in refresh_tokens.token_hash
+     */
+    static String hashToken(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private RefreshToken issued(Long id, String token, User user, LocalDateTime now, LocalDateTime expiryDate,
+                                String ipAddress, String userAgent) {
+        return RefreshToken.builder()
+                .id(id)
+                .token(token)
+                .tokenHash(hashToken(token))
+                .user(user)
+                .expiryDate(expiryDate)
+                .revoked(false)
+                .createdAt(now)
+                .ipAddress(ipAddress)
+                .userAgent(userAgent)
+                .build();
     }
 
     /**
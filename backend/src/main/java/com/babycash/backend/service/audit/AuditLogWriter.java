@@ -0,0 +1,211 @@
+package com.babycash.backend.service.audit;
+
+import com.babycash.backend.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canal de escritura de auditoría: buffer circular acotado + un único hilo escritor
+ *
+ * - enqueue() no bloquea ni abre transacción: deja la fila en el buffer y vuelve
+ * - El escritor inserta con un batch JDBC cada app.audit.flush-interval-ms o en cuanto
+ *   hay app.audit.batch-size filas pendientes
+ * - Con el buffer lleno se aplica app.audit.overflow-policy:
+ *   DROP descarta la fila (y la cuenta), CALLER_RUNS la inserta en el hilo que llama
+ * - Métricas: audit.buffer.size / capacity, audit.dropped, audit.overflow{policy},
+ *   audit.written, audit.write.failures, audit.flush (latencia) y audit.flush.batch
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        DROP,
+        CALLER_RUNS
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, username, action_type, entity_type, entity_id, description, "
+                    + "ip_address, user_agent, status, error_message, metadata, timestamp) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter dropped;
+    private final Counter overflow;
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Timer flushTimer;
+    private final DistributionSummary flushBatch;
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.buffer-capacity:8192}") int bufferCapacity,
+                          @Value("${app.audit.batch-size:200}") int batchSize,
+                          @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs,
+                          @Value("${app.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit rows waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.dropped")
+                .description("Audit rows discarded because the buffer was full or the batch insert failed")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("audit.overflow")
+                .tag("policy", overflowPolicy.name().toLowerCase(Locale.ROOT))
+                .description("Audit rows that found the buffer full")
+                .register(meterRegistry);
+        this.written = Counter.builder("audit.written").register(meterRegistry);
+        this.writeFailures = Counter.builder("audit.write.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush")
+                .description("Time to write one batch of audit rows")
+                .register(meterRegistry);
+        this.flushBatch = DistributionSummary.builder("audit.flush.batch")
+                .description("Audit rows per batch insert")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "babycash-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        Thread writer = writerThread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // El buffer tiene un único consumidor: solo se drena aquí si el escritor ya terminó
+        if (writer == null || !writer.isAlive()) {
+            flush();
+        }
+    }
+
+    /**
+     * Encola una fila de auditoría; nunca lanza excepción al llamador
+     */
+    public void enqueue(AuditLog auditLog) {
+        if (auditLog.getTimestamp() == null) {
+            auditLog.setTimestamp(LocalDateTime.now());
+        }
+        if (buffer.offer(auditLog)) {
+            if (buffer.size() >= batchSize) {
+                Thread writer = writerThread;
+                if (writer != null) {
+                    LockSupport.unpark(writer);
+                }
+            }
+            return;
+        }
+
+        overflow.increment();
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            write(List.of(auditLog));
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Audit writer failed: {}", e.getMessage(), e);
+            }
+        }
+        // Apagado: escribe lo que quedó pendiente
+        flush();
+    }
+
+    /**
+     * Escribe todo lo pendiente en batches de hasta batchSize filas
+     */
+    void flush() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                setLong(ps, 1, entry.getUserId());
+                ps.setString(2, entry.getUsername());
+                ps.setString(3, entry.getActionType().name());
+                ps.setString(4, entry.getEntityType());
+                setLong(ps, 5, entry.getEntityId());
+                ps.setString(6, entry.getDescription());
+                ps.setString(7, entry.getIpAddress());
+                ps.setString(8, entry.getUserAgent());
+                ps.setString(9, entry.getStatus().name());
+                ps.setString(10, entry.getErrorMessage());
+                ps.setString(11, entry.getMetadata());
+                ps.setTimestamp(12, Timestamp.valueOf(entry.getTimestamp()));
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            // La auditoría nunca debe tumbar la operación principal ni al escritor
+            writeFailures.increment();
+            dropped.increment(batch.size());
+            log.error("Could not write {} audit rows: {}", batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushBatch.record(batch.size());
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.babycash.backend.service.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Particiones mensuales de audit_logs (PostgreSQL, PARTITION BY RANGE (timestamp))
+ *
+ * - Crea por adelantado las particiones del mes actual y de los app.audit.partition-months-ahead siguientes
+ * - La retención elimina particiones completas cuyo mes terminó antes del corte
+ *   (app.audit.retention-days): un DETACH PARTITION CONCURRENTLY y un DROP TABLE por mes,
+ *   sin importar cuántas filas tenga y sin bloquear las escrituras sobre audit_logs
+ * - Sin partición DEFAULT (PostgreSQL no admite CONCURRENTLY con ella): ensurePartitions crea
+ *   los meses por adelantado para que ninguna fila quede fuera de rango
+ * - DETACH CONCURRENTLY y pg_inherits.inhdetachpending requieren PostgreSQL 14+
+ * - Las consultas con filtro por timestamp solo leen las particiones del rango
+ * - Si la tabla no está particionada (H2 en tests, esquema sin migrar) no hace nada
+ *   y AuditService usa un DELETE por rango
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager {
+
+    private static final String PARENT_TABLE = "audit_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + PARENT_TABLE + "'))";
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "WHERE i.inhparent = '" + PARENT_TABLE + "'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionDays;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.audit.partition-months-ahead:3}") int monthsAhead,
+                                 @Value("${app.audit.retention-days:90}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Fecha antes de la cual los registros de auditoría pueden eliminarse
+     */
+    public LocalDateTime retentionCutoff() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    public boolean isPartitioned() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+        } catch (DataAccessException e) {
+            // Base de datos sin catálogo de PostgreSQL (H2)
+            return false;
+        }
+    }
+
+    /**
+     * Crea las particiones que falten: al arrancar y cada día a la 1:30 AM
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 1 * * *")
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            log.debug("{} is not partitioned, skipping partition maintenance", PARENT_TABLE);
+            return;
+        }
+        try {
+            ensurePartitions(YearMonth.now());
+        } catch (DataAccessException e) {
+            log.error("Could not create audit log partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    void ensurePartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /**
+     * Elimina las particiones cuyo mes completo quedó fuera de la retención
+     *
+     * @return cantidad de particiones eliminadas
+     */
+    public int dropExpiredPartitions() {
+        return dropPartitionsEndingBefore(retentionCutoff().toLocalDate());
+    }
+
+    int dropPartitionsEndingBefore(LocalDate cutoff) {
+        List<Partition> partitions = jdbcTemplate.query(LIST_PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)));
+        int dropped = 0;
+        for (Partition partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), SUFFIX);
+            if (!month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                detach(partition);
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.name());
+                log.info("Dropped audit log partition {}", partition.name());
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Separa la partición de audit_logs antes de eliminarla. CONCURRENTLY no puede ejecutarse
+     * dentro de una transacción (JdbcTemplate en autocommit); si una ejecución anterior quedó
+     * interrumpida, la partición sigue pendiente de separar y se completa con FINALIZE
+     */
+    private void detach(Partition partition) {
+        String mode = partition.detachPending() ? " FINALIZE" : " CONCURRENTLY";
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition.name() + mode);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(SUFFIX);
+    }
+
+    record Partition(String name, boolean detachPending) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.babycash.backend.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular acotado sin locks: muchos productores, un único consumidor
+ *
+ * - offer() reserva una posición con CAS sobre el índice de productores y publica el elemento;
+ *   nunca bloquea: con el buffer lleno devuelve false
+ * - drainTo() solo lo llama el hilo escritor: consume elementos publicados en orden
+ * - Una posición reservada pero aún no publicada detiene el drenaje hasta el siguiente ciclo
+ */
+final class AuditRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        // Potencia de dos para calcular la posición con una máscara
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        slots.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Mueve hasta {@code limit} elementos a {@code target}; devuelve cuántos movió
+     */
+    int drainTo(List<? super E> target, int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) index & mask;
+            E element = slots.get(slot);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            target.add(element);
+            index++;
+            drained++;
+        }
+        // Escritura volátil: libera las posiciones para los productores
+        consumerIndex = index;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
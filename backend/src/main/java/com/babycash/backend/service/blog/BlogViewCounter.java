@@ -0,0 +1,99 @@
+package com.babycash.backend.service.blog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de vistas de posts con escritura diferida (write-behind)
+ *
+ * - record() solo incrementa un LongAdder por post (celdas repartidas entre hilos, sin locks
+ *   ni transacción): una lectura por slug ya no escribe la fila del post
+ * - Cada app.blog.view-flush-interval-ms se vuelcan los acumulados con un único batch JDBC,
+ *   un UPDATE view_count = view_count + ? por post, en orden de ID (orden de locks estable)
+ * - Si el batch falla los acumulados se devuelven al contador y se reintentan en el siguiente ciclo
+ * - Las vistas aún no volcadas se suman al valor leído de la base de datos (pending)
+ * - Métricas: blog.views.flushed, blog.views.flush.failures
+ */
+@Slf4j
+@Component
+public class BlogViewCounter {
+
+    private static final String INCREMENT_SQL = "UPDATE blog_posts SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+    private final Counter flushFailures;
+
+    public BlogViewCounter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushed = Counter.builder("blog.views.flushed")
+                .description("Blog post views written to the database")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("blog.views.flush.failures").register(meterRegistry);
+    }
+
+    /**
+     * Registra una vista del post
+     */
+    public void record(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Vistas del post registradas y todavía no volcadas
+     */
+    public long pending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Vuelca los acumulados a blog_posts
+     *
+     * Las entradas del mapa no se eliminan (una por post visto): quitar una mientras otro hilo
+     * la incrementa perdería esa vista. sumThenReset toma cada celda de forma atómica.
+     */
+    @Scheduled(fixedDelayString = "${app.blog.view-flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>();
+        pending.forEach((postId, adder) -> {
+            long views = adder.sumThenReset();
+            if (views > 0) {
+                deltas.add(Map.entry(postId, views));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.sort(Map.Entry.comparingByKey());
+
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, deltas, deltas.size(), (ps, delta) -> {
+                ps.setLong(1, delta.getValue());
+                ps.setLong(2, delta.getKey());
+            });
+            flushed.increment(deltas.stream().mapToLong(Map.Entry::getValue).sum());
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            deltas.forEach(delta -> pending.get(delta.getKey()).add(delta.getValue()));
+            log.error("Could not flush views of {} blog posts, retrying next cycle: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,193 @@
+package com.babycash.backend.service.catalog;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.enums.ProductCategory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Foto inmutable del catálogo público (solo productos habilitados)
+ *
+ * Mantiene un arreglo pre-ordenado por cada criterio de ordenamiento soportado,
+ * tanto para el catálogo completo como para cada categoría. Paginar es un simple
+ * recorrido del arreglo (en sentido inverso para DESC), sin consultas a la base de datos.
+ * Nunca se modifica: cada cambio en el catálogo produce una nueva instancia.
+ */
+final class CatalogSnapshot {
+
+    /**
+     * Criterios de ordenamiento soportados (los mismos que expone ProductController)
+     */
+    enum SortKey {
+        ID("id", Comparator.comparing(Product::getId)),
+        CREATED_AT("createdAt", Comparator.comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))),
+        PRICE("price", Comparator.comparing(Product::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))),
+        NAME("name", Comparator.comparing(Product::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+        RATING("rating", Comparator.comparing(Product::getRating, Comparator.nullsLast(Comparator.naturalOrder()))),
+        STOCK("stock", Comparator.comparing(Product::getStock, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        private final String property;
+        private final Comparator<Product> comparator;
+
+        SortKey(String property, Comparator<Product> comparator) {
+            this.property = property;
+            // Desempate por id para que el orden sea estable entre reconstrucciones
+            this.comparator = comparator.thenComparing(Product::getId);
+        }
+
+        static Optional<SortKey> fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return Optional.of(key);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final Map<SortKey, Product[]> all;
+    private final Map<ProductCategory, Map<SortKey, Product[]>> byCategory;
+    private final List<Product> featured;
+
+    private CatalogSnapshot(Map<SortKey, Product[]> all,
+                            Map<ProductCategory, Map<SortKey, Product[]>> byCategory,
+                            List<Product> featured) {
+        this.all = all;
+        this.byCategory = byCategory;
+        this.featured = featured;
+    }
+
+    /**
+     * Construye la foto a partir de los productos habilitados
+     */
+    static CatalogSnapshot of(List<Product> enabledProducts) {
+        Product[] products = enabledProducts.toArray(new Product[0]);
+
+        Map<ProductCategory, List<Product>> grouped = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            grouped.put(category, new ArrayList<>());
+        }
+        List<Product> featured = new ArrayList<>();
+        for (Product product : products) {
+            grouped.get(product.getCategory()).add(product);
+            if (Boolean.TRUE.equals(product.getFeatured())) {
+                featured.add(product);
+            }
+        }
+        featured.sort(SortKey.ID.comparator);
+
+        Map<ProductCategory, Map<SortKey, Product[]>> byCategory = new EnumMap<>(ProductCategory.class);
+        grouped.forEach((category, list) -> byCategory.put(category, sortAll(list.toArray(new Product[0]))));
+
+        return new CatalogSnapshot(sortAll(products), byCategory, List.copyOf(featured));
+    }
+
+    /**
+     * Página del catálogo completo (category == null) o de una categoría.
+     * Vacío si el Pageable pide un ordenamiento no soportado.
+     */
+    Optional<Page<Product>> page(ProductCategory category, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        Map<SortKey, Product[]> sorted = category == null ? all : byCategory.get(category);
+
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return Optional.of(slice(sorted.get(SortKey.ID), pageable, false));
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            return Optional.empty();
+        }
+        Sort.Order order = orders.get(0);
+        return SortKey.fromProperty(order.getProperty())
+                .map(key -> slice(sorted.get(key), pageable, order.isDescending()));
+    }
+
+    List<Product> featured() {
+        return featured;
+    }
+
+    /**
+     * Nueva foto con el producto agregado o reemplazado (o eliminado si está deshabilitado)
+     */
+    CatalogSnapshot with(Product product) {
+        return with(Set.of(product.getId()), List.of(product));
+    }
+
+    /**
+     * Nueva foto con los productos indicados reemplazados por su versión actual, en una sola reconstrucción.
+     * Los IDs sin versión actual (eliminados) y los productos deshabilitados quedan fuera
+     */
+    CatalogSnapshot with(Set<Long> productIds, Collection<Product> current) {
+        List<Product> products = productsExcept(productIds);
+        for (Product product : current) {
+            if (Boolean.TRUE.equals(product.getEnabled())) {
+                products.add(product);
+            }
+        }
+        return of(products);
+    }
+
+    /**
+     * Nueva foto sin el producto indicado
+     */
+    CatalogSnapshot without(Long productId) {
+        return of(productsExcept(Set.of(productId)));
+    }
+
+    int size() {
+        return all.get(SortKey.ID).length;
+    }
+
+    private List<Product> productsExcept(Set<Long> productIds) {
+        Product[] current = all.get(SortKey.ID);
+        List<Product> products = new ArrayList<>(current.length + productIds.size());
+        for (Product product : current) {
+            if (!productIds.contains(product.getId())) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static Map<SortKey, Product[]> sortAll(Product[] products) {
+        Map<SortKey, Product[]> sorted = new EnumMap<>(SortKey.class);
+        for (SortKey key : SortKey.values()) {
+            Product[] copy = Arrays.copyOf(products, products.length);
+            Arrays.sort(copy, key.comparator);
+            sorted.put(key, copy);
+        }
+        return sorted;
+    }
+
+    private static Page<Product> slice(Product[] sorted, Pageable pageable, boolean descending) {
+        int total = sorted.length;
+        long offset = pageable.getOffset();
+        if (offset >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        int from = (int) offset;
+        int to = Math.min(from + pageable.getPageSize(), total);
+        List<Product> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(descending ? sorted[total - 1 - i] : sorted[i]);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+}
@@ -0,0 +1,136 @@
+package com.babycash.backend.service.catalog;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.enums.ProductCategory;
+import com.babycash.backend.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Servicio que publica la foto inmutable del catálogo para las lecturas públicas
+ *
+ * - Se construye al arrancar y se reemplaza atómicamente (copy-on-write)
+ *   después de cada cambio de administración en ProductService, sin volver a la base de datos
+ * - Las lecturas no toman locks ni conexiones del pool: solo leen la referencia actual
+ * - Los pedidos releen sus productos al confirmar (refresh) para que el stock no espere al refresco periódico
+ * - Un refresco periódico cubre cualquier otro cambio hecho fuera de la aplicación
+ * - Mientras no exista una foto (arranque), los llamadores usan la base de datos
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate refreshTransaction;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshotService(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        // refresh corre después del commit del pedido: una transacción nueva evita leer las entidades
+        // del contexto de persistencia del pedido, que no reflejan el UPDATE de stock
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reconstruye la foto desde la base de datos y la publica de forma atómica
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${app.catalog.refresh-interval-ms:60000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        List<Product> products = new ArrayList<>();
+        int pageNumber = 0;
+        Page<Product> page;
+        do {
+            page = productRepository.findByEnabledTrue(
+                    PageRequest.of(pageNumber++, LOAD_BATCH_SIZE, Sort.by("id")));
+            products.addAll(page.getContent());
+        } while (page.hasNext());
+
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(products);
+        snapshot = rebuilt;
+
+        log.debug("Catalog snapshot rebuilt: {} products in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Publica una nueva foto con el producto creado o modificado
+     */
+    public synchronized void apply(Product product) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        snapshot = current.with(product);
+    }
+
+    /**
+     * Relee los productos indicados y publica una nueva foto con su estado actual (stock tras un pedido).
+     * Un fallo solo se registra: el refresco periódico corrige la foto
+     */
+    public synchronized void refresh(Collection<Long> productIds) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            List<Product> products = refreshTransaction.execute(status -> productRepository.findAllById(productIds));
+            snapshot = current.with(Set.copyOf(productIds), products);
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh products {} in the catalog snapshot: {}", productIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Publica una nueva foto sin el producto eliminado
+     */
+    public synchronized void remove(Long productId) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.without(productId);
+        }
+    }
+
+    /**
+     * Página de productos habilitados (category == null para todo el catálogo).
+     * Vacío si aún no hay foto o si el ordenamiento solicitado no está pre-calculado.
+     */
+    public Optional<Page<Product>> findEnabled(ProductCategory category, Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        return current == null ? Optional.empty() : current.page(category, pageable);
+    }
+
+    /**
+     * Productos destacados y habilitados. Vacío si aún no hay foto.
+     */
+    public Optional<List<Product>> findFeatured() {
+        CatalogSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.featured());
+    }
+}
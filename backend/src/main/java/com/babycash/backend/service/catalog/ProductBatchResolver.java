@@ -0,0 +1,43 @@
+package com.babycash.backend.service.catalog;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carga en lote los productos referenciados por un pedido o un carrito
+ *
+ * Una sola consulta WHERE id IN (...) sin importar cuántas líneas tenga el pedido,
+ * en lugar de un findById (o una carga lazy de CartItem.product) por línea.
+ * Los IDs que no existen simplemente no aparecen en el mapa.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductBatchResolver {
+
+    private final ProductRepository productRepository;
+
+    /**
+     * @return productId -> Product para los IDs encontrados
+     */
+    public Map<Long, Product> resolve(Collection<Long> productIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(productIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(distinctIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,250 @@
+package com.babycash.backend.service.idempotency;
+
+import com.babycash.backend.exception.custom.BusinessException;
+import com.babycash.backend.model.entity.IdempotencyRecord;
+import com.babycash.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Soporte del header Idempotency-Key para operaciones que no deben repetirse
+ * (crear orden, procesar pago) cuando el cliente reintenta por timeout
+ *
+ * - La operación y el registro clave -> respuesta se confirman en la misma transacción:
+ *   si dos instancias ejecutan la misma clave, la restricción única revierte a la segunda
+ *   y esta devuelve la respuesta de la primera
+ * - Las respuestas recientes se sirven desde un mapa LRU acotado; la tabla idempotency_keys
+ *   las conserva entre reinicios y entre instancias
+ * - Los duplicados concurrentes esperan a la ejecución en curso en lugar de repetirla
+ * - Reusar una clave con un cuerpo distinto es un error del cliente (400)
+ * - Sin header, la operación se ejecuta normalmente
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMs;
+
+    private final Map<String, StoredResponse> recent;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Respuesta registrada: el cuerpo se guarda ya deserializado para no repetir el parseo
+     */
+    private record StoredResponse(String requestHash, Object body, LocalDateTime expiresAt) {
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlMs = ttlMs;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por (scope, usuario, clave)
+     *
+     * @param scope          operación protegida, p. ej. "orders:create"
+     * @param idempotencyKey valor del header (null o vacío = sin idempotencia)
+     * @param request        cuerpo de la solicitud, para detectar reuso de la clave con otro contenido
+     * @param responseType   tipo de la respuesta, para reconstruirla desde la tabla
+     * @param action         operación a ejecutar
+     */
+    public <T> T execute(String scope, String idempotencyKey, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String owner = currentOwner();
+        String cacheKey = scope + '|' + owner + '|' + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredResponse cached = recent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null) {
+            log.debug("Coalescing duplicate request for {} key {}", scope, idempotencyKey);
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            StoredResponse stored = findRecorded(scope, owner, idempotencyKey, responseType)
+                    .orElseGet(() -> executeAndRecord(scope, owner, idempotencyKey, requestHash, responseType, action));
+            recent.put(cacheKey, stored);
+            execution.complete(stored);
+            return replay(stored, requestHash, responseType);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    /**
+     * Elimina los registros vencidos cada hora
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    @Transactional
+    public void cleanupExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private <T> StoredResponse executeAndRecord(String scope, String owner, String idempotencyKey,
+                                                String requestHash, Class<T> responseType, Supplier<T> action) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(ttlMs));
+        try {
+            return transactionTemplate.execute(status -> {
+                T response = action.get();
+                idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .scope(scope)
+                        .owner(owner)
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .responseBody(toJson(response))
+                        .expiresAt(expiresAt)
+                        .build());
+                return new StoredResponse(requestHash, response, expiresAt);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia registró la misma clave primero; nuestra transacción ya se revirtió
+            log.info("Idempotency key {} for {} recorded concurrently, returning stored response", idempotencyKey, scope);
+            return findRecorded(scope, owner, idempotencyKey, responseType).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Respuesta registrada para la clave; un registro vencido cuenta como ausente y se elimina
+     * (sin esperar a cleanupExpired) para que la nueva ejecución pueda registrar la clave otra vez
+     */
+    private <T> Optional<StoredResponse> findRecorded(String scope, String owner, String idempotencyKey,
+                                                      Class<T> responseType) {
+        return idempotencyRecordRepository.findByScopeAndOwnerAndIdempotencyKey(scope, owner, idempotencyKey)
+                .filter(record -> {
+                    if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                        idempotencyRecordRepository.delete(record);
+                        return false;
+                    }
+                    return true;
+                })
+                .map(record -> new StoredResponse(
+                        record.getRequestHash(),
+                        fromJson(record.getResponseBody(), responseType),
+                        record.getExpiresAt()));
+    }
+
+    private StoredResponse recent(String cacheKey) {
+        StoredResponse stored = recent.get(cacheKey);
+        if (stored != null && stored.expiresAt().isBefore(LocalDateTime.now())) {
+            recent.remove(cacheKey);
+            return null;
+        }
+        return stored;
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BusinessException(HEADER + " was already used with a different request");
+        }
+        return responseType.cast(stored.body());
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // El duplicado recibe el mismo error que la ejecución original
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String currentOwner() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getName() != null ? auth.getName() : ANONYMOUS;
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] body = request == null
+                    ? new byte[0]
+                    : objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize stored response", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.babycash.backend.service.maintenance;
+
+import java.util.List;
+
+/**
+ * Trabajo de mantenimiento que avanza por lotes en orden de clave (keyset)
+ *
+ * Cada llamada procesa como máximo {@code chunkSize} elementos con clave mayor que {@code afterKey},
+ * dentro de la transacción corta que abre MaintenanceJobRunner para ese lote.
+ */
+@FunctionalInterface
+public interface MaintenanceJob {
+
+    Chunk processChunk(long afterKey, int chunkSize);
+
+    /**
+     * Resultado de un lote
+     *
+     * @param lastKey   mayor clave procesada (punto de reanudación)
+     * @param processed elementos procesados
+     * @param hasMore   false si ya no quedan elementos después de lastKey
+     */
+    record Chunk(long lastKey, int processed, boolean hasMore) {
+
+        /**
+         * Lote a partir de las claves leídas (en orden ascendente)
+         */
+        public static Chunk of(long afterKey, List<Long> keys, int chunkSize) {
+            if (keys.isEmpty()) {
+                return new Chunk(afterKey, 0, false);
+            }
+            return new Chunk(keys.get(keys.size() - 1), keys.size(), keys.size() >= chunkSize);
+        }
+    }
+}
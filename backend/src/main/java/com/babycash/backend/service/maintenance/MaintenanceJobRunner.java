@@ -0,0 +1,175 @@
+package com.babycash.backend.service.maintenance;
+
+import com.babycash.backend.model.entity.MaintenanceJobProgress;
+import com.babycash.backend.repository.MaintenanceJobProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta trabajos de mantenimiento por lotes cortos en lugar de una única transacción grande
+ *
+ * - Cada lote (app.maintenance.chunk-size elementos, en orden de clave) va en su propia transacción,
+ *   junto con el checkpoint en maintenance_job_progress: pocos locks a la vez y WAL repartido
+ * - Entre lotes hace una pausa proporcional a lo que tardó el lote (app.maintenance.duty-cycle,
+ *   0.5 = trabaja como máximo la mitad del tiempo): si la base de datos está cargada los lotes
+ *   tardan más y el trabajo cede más tiempo al tráfico normal
+ * - Una ejecución se detiene al agotar app.maintenance.max-run-ms y queda PAUSED; si el proceso
+ *   se cae queda RUNNING. En ambos casos la siguiente ejecución continúa desde el último lote
+ * - Valores por trabajo: app.maintenance.jobs.<nombre>.chunk-size / max-run-ms
+ * - Métricas: maintenance.job.items{job}, maintenance.job.chunk{job}
+ */
+@Slf4j
+@Component
+public class MaintenanceJobRunner {
+
+    /**
+     * Resultado de una ejecución
+     *
+     * @param processed elementos procesados en esta ejecución (incluye los de una ejecución reanudada)
+     * @param completed false si se detuvo por presupuesto y continuará en la siguiente
+     */
+    public record RunResult(long processed, boolean completed) {
+    }
+
+    private final MaintenanceJobProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final int defaultChunkSize;
+    private final long defaultMaxRunMs;
+    private final long minPauseMs;
+    private final double dutyCycle;
+
+    public MaintenanceJobRunner(MaintenanceJobProgressRepository progressRepository,
+                                PlatformTransactionManager transactionManager,
+                                Environment environment,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.maintenance.chunk-size:1000}") int defaultChunkSize,
+                                @Value("${app.maintenance.max-run-ms:900000}") long defaultMaxRunMs,
+                                @Value("${app.maintenance.min-pause-ms:50}") long minPauseMs,
+                                @Value("${app.maintenance.duty-cycle:0.5}") double dutyCycle) {
+        this.progressRepository = progressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultChunkSize = defaultChunkSize;
+        this.defaultMaxRunMs = defaultMaxRunMs;
+        this.minPauseMs = minPauseMs;
+        this.dutyCycle = Math.min(1.0, Math.max(0.05, dutyCycle));
+    }
+
+    /**
+     * Ejecuta (o reanuda) un trabajo hasta terminarlo o agotar su presupuesto de tiempo
+     * Un error en un lote revierte solo ese lote; el checkpoint queda en el lote anterior
+     */
+    public RunResult run(String jobName, MaintenanceJob job) {
+        int chunkSize = environment.getProperty("app.maintenance.jobs." + jobName + ".chunk-size",
+                Integer.class, defaultChunkSize);
+        long maxRunNanos = TimeUnit.MILLISECONDS.toNanos(environment.getProperty(
+                "app.maintenance.jobs." + jobName + ".max-run-ms", Long.class, defaultMaxRunMs));
+        Counter items = meterRegistry.counter("maintenance.job.items", "job", jobName);
+        Timer chunkTimer = meterRegistry.timer("maintenance.job.chunk", "job", jobName);
+
+        MaintenanceJobProgress start = transactionTemplate.execute(status -> begin(jobName));
+        long lastKey = start.getLastKey();
+        long processed = start.getProcessed();
+        if (lastKey > 0) {
+            log.info("Resuming maintenance job {} after key {} ({} already processed)", jobName, lastKey, processed);
+        }
+
+        long runStart = System.nanoTime();
+        while (true) {
+            long afterKey = lastKey;
+            long chunkStart = System.nanoTime();
+            MaintenanceJob.Chunk chunk = transactionTemplate.execute(status -> {
+                MaintenanceJob.Chunk result = job.processChunk(afterKey, chunkSize);
+                checkpoint(jobName, result, result.hasMore()
+                        ? MaintenanceJobProgress.Status.RUNNING
+                        : MaintenanceJobProgress.Status.COMPLETED);
+                return result;
+            });
+            long chunkNanos = System.nanoTime() - chunkStart;
+            chunkTimer.record(chunkNanos, TimeUnit.NANOSECONDS);
+            items.increment(chunk.processed());
+            lastKey = chunk.lastKey();
+            processed += chunk.processed();
+
+            if (!chunk.hasMore()) {
+                log.info("Maintenance job {} completed: {} items", jobName, processed);
+                return new RunResult(processed, true);
+            }
+            if (System.nanoTime() - runStart >= maxRunNanos || !pause(chunkNanos)) {
+                transactionTemplate.executeWithoutResult(status -> markPaused(jobName));
+                log.info("Maintenance job {} paused after key {} ({} items), resumes on next run",
+                        jobName, lastKey, processed);
+                return new RunResult(processed, false);
+            }
+        }
+    }
+
+    private MaintenanceJobProgress begin(String jobName) {
+        LocalDateTime now = LocalDateTime.now();
+        MaintenanceJobProgress progress = progressRepository.findById(jobName)
+                .orElseGet(() -> MaintenanceJobProgress.builder()
+                        .jobName(jobName)
+                        .status(MaintenanceJobProgress.Status.COMPLETED)
+                        .build());
+        if (progress.getStatus() == MaintenanceJobProgress.Status.COMPLETED) {
+            progress.setLastKey(0L);
+            progress.setProcessed(0L);
+            progress.setStartedAt(now);
+        }
+        progress.setStatus(MaintenanceJobProgress.Status.RUNNING);
+        progress.setUpdatedAt(now);
+        return progressRepository.save(progress);
+    }
+
+    private void checkpoint(String jobName, MaintenanceJob.Chunk chunk, MaintenanceJobProgress.Status status) {
+        MaintenanceJobProgress progress = progressRepository.findById(jobName).orElseThrow();
+        progress.setLastKey(chunk.lastKey());
+        progress.setProcessed(progress.getProcessed() + chunk.processed());
+        progress.setStatus(status);
+        progress.setUpdatedAt(LocalDateTime.now());
+        progressRepository.save(progress);
+    }
+
+    private void markPaused(String jobName) {
+        progressRepository.findById(jobName).ifPresent(progress -> {
+            progress.setStatus(MaintenanceJobProgress.Status.PAUSED);
+            progress.setUpdatedAt(LocalDateTime.now());
+            progressRepository.save(progress);
+        });
+    }
+
+    /**
+     * Pausa entre lotes según el duty cycle
+     *
+     * @return false si el hilo fue interrumpido (la ejecución se detiene y queda pausada)
+     */
+    private boolean pause(long chunkNanos) {
+        long chunkMs = TimeUnit.NANOSECONDS.toMillis(chunkNanos);
+        long pauseMs = Math.max(minPauseMs, (long) (chunkMs * (1 - dutyCycle) / dutyCycle));
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.babycash.backend.service.order;
+
+import com.babycash.backend.model.enums.OrderStatus;
+import com.babycash.backend.repository.OrderRepository;
+import com.babycash.backend.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores en memoria de órdenes por estado e ingresos por estado
+ *
+ * - OrderService informa cada alta y cada cambio de estado; los cambios se aplican
+ *   al confirmar la transacción, así un rollback nunca altera los contadores
+ * - Las lecturas devuelven una foto inmutable (O(1), sin consultas)
+ * - Se siembran al arrancar y se reconcilian periódicamente con un único GROUP BY status,
+ *   que corrige cualquier desvío (p. ej. cambios hechos directamente en la base de datos)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatsTracker {
+
+    private final OrderRepository orderRepository;
+
+    private final Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, BigDecimal> amounts = new EnumMap<>(OrderStatus.class);
+
+    private final Object reconcileLock = new Object();
+
+    // Cambios confirmados durante una reconciliación; null si no hay ninguna en curso (guardado por this)
+    private List<Change> concurrentChanges;
+
+    private volatile Totals totals;
+
+    private record Change(OrderStatus from, OrderStatus to, BigDecimal amount) {
+    }
+
+    /**
+     * Foto inmutable de los contadores
+     */
+    public record Totals(Map<OrderStatus, Long> counts, Map<OrderStatus, BigDecimal> amounts) {
+
+        public long count(OrderStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+
+        public BigDecimal amount(OrderStatus status) {
+            return amounts.getOrDefault(status, BigDecimal.ZERO);
+        }
+
+        public long totalCount() {
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    /**
+     * Reemplaza los contadores con el resultado de la consulta agregada
+     *
+     * Los cambios confirmados mientras corre la consulta se guardan y se vuelven a aplicar sobre
+     * el resultado: la consulta puede no verlos, y el reemplazo no debe borrarlos. Solo un cambio
+     * confirmado justo antes de empezar cuyo afterCommit llegue después podría contarse dos veces;
+     * la siguiente reconciliación lo corrige.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.orders.stats-reconcile-interval-ms:300000}",
+            initialDelayString = "${app.orders.stats-reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                concurrentChanges = new ArrayList<>();
+            }
+            // La consulta corre fuera del lock de los contadores para no frenar a los pedidos en curso
+            List<OrderRepository.StatusTotals> rows;
+            try {
+                rows = orderRepository.aggregateByStatus();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    // Los cambios ya se aplicaron a los contadores actuales
+                    concurrentChanges = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                counts.clear();
+                amounts.clear();
+                for (OrderRepository.StatusTotals row : rows) {
+                    counts.put(row.getStatus(), row.getOrders());
+                    amounts.put(row.getStatus(), row.getAmount());
+                }
+                concurrentChanges.forEach(this::add);
+                concurrentChanges = null;
+                publish();
+            }
+        }
+        log.debug("Order stats reconciled: {} orders", totals.totalCount());
+    }
+
+    /**
+     * Contadores actuales (se siembran en la primera lectura si aún no existen)
+     */
+    public Totals current() {
+        Totals current = totals;
+        if (current == null) {
+            reconcile();
+            current = totals;
+        }
+        return current;
+    }
+
+    /**
+     * Registra una orden nueva cuando la transacción actual confirma
+     */
+    public void recordCreated(OrderStatus status, BigDecimal amount) {
+        TransactionCallbacks.afterCommit(() -> apply(new Change(null, status, amount)));
+    }
+
+    /**
+     * Registra un cambio de estado cuando la transacción actual confirma
+     */
+    public void recordStatusChange(OrderStatus from, OrderStatus to, BigDecimal amount) {
+        if (from == to) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(new Change(from, to, amount)));
+    }
+
+    private synchronized void apply(Change change) {
+        if (concurrentChanges != null) {
+            // Reconciliación en curso: se reaplicará sobre su resultado
+            concurrentChanges.add(change);
+        }
+        if (totals == null) {
+            // Aún sin sembrar: la siembra en curso lo reaplica, o una posterior ya lo incluirá
+            return;
+        }
+        add(change);
+        publish();
+    }
+
+    private void add(Change change) {
+        BigDecimal value = change.amount() != null ? change.amount() : BigDecimal.ZERO;
+        if (change.from() != null) {
+            counts.merge(change.from(), -1L, Long::sum);
+            amounts.merge(change.from(), value.negate(), BigDecimal::add);
+        }
+        counts.merge(change.to(), 1L, Long::sum);
+        amounts.merge(change.to(), value, BigDecimal::add);
+    }
+
+    private void publish() {
+        totals = new Totals(Map.copyOf(counts), Map.copyOf(amounts));
+    }
+}
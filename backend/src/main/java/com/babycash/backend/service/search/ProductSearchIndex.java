@@ -0,0 +1,236 @@
+package com.babycash.backend.service.search;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria para la búsqueda de productos
+ *
+ * Reemplaza el LIKE '%q%' sobre name/description (que no puede usar índices):
+ * - Cada término normalizado apunta a los productos que lo contienen
+ * - El nombre pesa más que la descripción en el ranking (tf ponderado * idf)
+ * - El último término de la consulta se busca por prefijo (búsqueda mientras se escribe)
+ *
+ * Solo se indexan productos habilitados. Se construye al arrancar la aplicación
+ * y ProductService lo actualiza en cada alta, edición, borrado o cambio de estado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (productId -> peso del término en el producto)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    // productId -> términos indexados (necesario para desindexar)
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    /**
+     * Construye el índice completo al arrancar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int documents;
+        int terms;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+
+            int pageNumber = 0;
+            Page<Product> page;
+            do {
+                page = productRepository.findByEnabledTrue(
+                        PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                page.forEach(this::addDocument);
+            } while (page.hasNext());
+
+            documents = documentTerms.size();
+            terms = postings.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built: {} products, {} terms in {} ms",
+                documents, terms, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexa (o reindexa) un producto. Los productos deshabilitados se eliminan del índice.
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            if (Boolean.TRUE.equals(product.getEnabled())) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un producto del índice
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca productos que contengan todos los términos de la consulta
+     *
+     * @return IDs de productos ordenados por relevancia (mayor primero)
+     */
+    public List<Long> search(String query) {
+        List<String> terms = SpanishTextAnalyzer.analyze(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocuments = documentTerms.size();
+            Map<Long, Float> scores = null;
+
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = i == terms.size() - 1;
+                Map<Long, Float> termScores = scoreTerm(terms.get(i), prefix, totalDocuments);
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.<Long, Float>comparingByKey()));
+
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Float> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de productos indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el puntaje tf-idf de un término (o de todos los términos con ese prefijo)
+     */
+    private Map<Long, Float> scoreTerm(String term, boolean prefix, int totalDocuments) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<String, Map<Long, Float>> matches = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : singleTerm(term);
+
+        for (Map<Long, Float> docs : matches.values()) {
+            float idf = (float) Math.log(1.0 + (double) totalDocuments / docs.size());
+            for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                scores.merge(doc.getKey(), doc.getValue() * idf, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Long, Float>> singleTerm(String term) {
+        Map<Long, Float> docs = postings.get(term);
+        return docs == null ? Collections.emptyMap() : Collections.singletonMap(term, docs);
+    }
+
+    /**
+     * Intersección de resultados (semántica AND), sumando puntajes
+     */
+    private Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Float> larger = smaller == left ? right : left;
+
+        Map<Long, Float> result = new HashMap<>();
+        for (Map.Entry<Long, Float> entry : smaller.entrySet()) {
+            Float other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : SpanishTextAnalyzer.analyze(product.getName())) {
+            weights.merge(term, NAME_WEIGHT, Float::sum);
+        }
+        for (String term : SpanishTextAnalyzer.analyze(product.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Float::sum);
+        }
+
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+                    .put(product.getId(), entry.getValue());
+        }
+        documentTerms.put(product.getId(), new HashSet<>(weights.keySet()));
+    }
+
+    private void removeDocument(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.babycash.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analizador de texto en español para el índice de búsqueda
+ *
+ * Normaliza el texto en tres pasos:
+ * - Elimina acentos y diacríticos (niño -> nino, algodón -> algodon)
+ * - Convierte a minúsculas y separa por caracteres no alfanuméricos
+ * - Descarta stopwords y aplica un stemming ligero (plurales y género)
+ */
+public final class SpanishTextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    // Palabras sin valor de búsqueda (artículos, preposiciones, conjunciones)
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los",
+            "o", "para", "por", "que", "se", "sin", "su", "sus", "un", "una", "unos",
+            "unas", "y", "e", "u"
+    );
+
+    // Longitud mínima para aplicar stemming (evita colapsar palabras cortas)
+    private static final int MIN_STEM_LENGTH = 4;
+
+    private SpanishTextAnalyzer() {
+    }
+
+    /**
+     * Convierte un texto en la lista de términos indexables
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        for (String token : NON_ALPHANUMERIC.split(normalize(text))) {
+            if (token.isEmpty() || STOPWORDS.contains(token)) {
+                continue;
+            }
+            terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    /**
+     * Elimina acentos y convierte a minúsculas
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Stemming ligero para español: reduce plurales y terminaciones de género
+     * (cunas -> cun, cuna -> cun, peluches -> peluch, luces -> luz)
+     */
+    static String stem(String token) {
+        int len = token.length();
+        if (len < MIN_STEM_LENGTH || Character.isDigit(token.charAt(len - 1))) {
+            return token;
+        }
+
+        char last = token.charAt(len - 1);
+        if (last == 'o' || last == 'a' || last == 'e') {
+            return token.substring(0, len - 1);
+        }
+
+        if (last == 's') {
+            if (token.endsWith("eses") && len > 5) {
+                return token.substring(0, len - 2);
+            }
+            if (token.endsWith("ces") && len > 4) {
+                return token.substring(0, len - 3) + "z";
+            }
+            char beforeLast = token.charAt(len - 2);
+            if (beforeLast == 'o' || beforeLast == 'a' || beforeLast == 'e') {
+                return token.substring(0, len - 2);
+            }
+            return token.substring(0, len - 1);
+        }
+
+        return token;
+    }
+}
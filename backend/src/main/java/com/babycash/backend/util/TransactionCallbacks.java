@@ -0,0 +1,33 @@
+package com.babycash.backend.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Acciones diferidas al commit de la transacción actual
+ *
+ * Usado para propagar cambios a estructuras en memoria (caches, índices, contadores):
+ * nunca reflejan un cambio revertido, y ninguna lectura concurrente vuelve a cachear
+ * el valor anterior antes de que el cambio sea visible.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual confirma (o de inmediato si no hay transacción)
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,10 +2,13 @@
 -- TABLA DE AUDITORÍA - audit_logs
 -- =============================================================================
 -- Registra todas las operaciones críticas para compliance y troubleshooting
+-- Particionada por mes sobre timestamp: AuditPartitionManager crea los meses
+-- siguientes y la retención elimina particiones completas (sin DELETE masivo)
+-- Instalaciones existentes con la tabla sin particionar: audit_logs_partitioning.sql
 -- =============================================================================
 
 CREATE TABLE IF NOT EXISTS audit_logs (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     
     -- Usuario que realizó la acción
     user_id BIGINT,
@@ -29,14 +32,37 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     -- Timestamp automático
     timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     
+    -- La clave de partición debe formar parte de la clave primaria
+    PRIMARY KEY (id, timestamp),
+
     -- Foreign key opcional (puede ser NULL para usuarios anónimos)
     CONSTRAINT fk_audit_user FOREIGN KEY (user_id) 
         REFERENCES users(id) ON DELETE SET NULL
-);
+) PARTITION BY RANGE (timestamp);
+
+-- =============================================================================
+-- PARTICIONES INICIALES (mes actual y los 3 siguientes)
+-- =============================================================================
+-- Nombre: audit_logs_pYYYYMM, rango [primer día del mes, primer día del mes siguiente)
+
+DO $$
+DECLARE
+    month_start DATE := DATE_TRUNC('month', CURRENT_DATE);
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE FORMAT(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_p' || TO_CHAR(month_start + (i || ' month')::INTERVAL, 'YYYYMM'),
+            month_start + (i || ' month')::INTERVAL,
+            month_start + ((i + 1) || ' month')::INTERVAL
+        );
+    END LOOP;
+END $$;
 
 -- =============================================================================
 -- ÍNDICES PARA PERFORMANCE DE CONSULTAS
 -- =============================================================================
+-- Definidos sobre la tabla padre: PostgreSQL los crea en cada partición
 
 -- Por usuario (para ver historial de un usuario específico)
 CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id);
@@ -102,8 +128,13 @@ COMMENT ON COLUMN audit_logs.metadata IS 'Datos adicionales en formato JSON';
 -- Query para ver actividad de un usuario específico
 -- SELECT * FROM audit_logs WHERE user_id = 1 ORDER BY timestamp DESC;
 
--- Query para eliminar logs antiguos (más de 90 días)
--- DELETE FROM audit_logs WHERE timestamp < NOW() - INTERVAL '90 days';
+-- Retención: se eliminan particiones completas (AuditPartitionManager), nunca con DELETE
+-- DROP TABLE IF EXISTS audit_logs_p202501;
+
+-- Particiones existentes y sus rangos
+-- SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+-- FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+-- WHERE i.inhparent = 'audit_logs'::regclass ORDER BY c.relname;
 
 -- Query para estadísticas de seguridad
 -- SELECT 
@@ -0,0 +1,84 @@
+-- =============================================================================
+-- MIGRACIÓN: audit_logs -> tabla particionada por mes
+-- =============================================================================
+-- Para instalaciones creadas con la versión anterior de audit_logs.sql
+-- (tabla sin particionar). Ejecutar una vez, en una ventana de baja carga:
+-- copia las filas existentes a particiones mensuales y elimina la tabla anterior.
+-- Requiere PostgreSQL 14+ (la retención usa DETACH PARTITION CONCURRENTLY)
+-- =============================================================================
+
+BEGIN;
+
+-- 1. Apartar la tabla actual (sus índices se eliminan con ella al final)
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER TABLE audit_logs_unpartitioned DROP CONSTRAINT IF EXISTS fk_audit_user;
+DROP INDEX IF EXISTS idx_audit_user, idx_audit_action, idx_audit_timestamp, idx_audit_entity,
+    idx_audit_ip, idx_audit_status, idx_audit_security;
+
+-- Conservar la secuencia de IDs (no debe eliminarse junto con la tabla anterior)
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+-- 2. Tabla particionada con el mismo esquema
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    user_id BIGINT,
+    username VARCHAR(100),
+    action_type VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id BIGINT,
+    description TEXT,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    status VARCHAR(20) NOT NULL,
+    error_message TEXT,
+    metadata TEXT,
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, timestamp),
+    CONSTRAINT fk_audit_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- 3. Una partición por cada mes con datos, hasta 3 meses por delante
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := DATE_TRUNC('month', CURRENT_DATE) + INTERVAL '3 month';
+BEGIN
+    SELECT COALESCE(DATE_TRUNC('month', MIN(timestamp)), DATE_TRUNC('month', CURRENT_DATE))
+    INTO month_start
+    FROM audit_logs_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE FORMAT(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_p' || TO_CHAR(month_start, 'YYYYMM'),
+            month_start,
+            month_start + INTERVAL '1 month'
+        );
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- 4. Copiar filas y eliminar la tabla anterior
+INSERT INTO audit_logs SELECT id, user_id, username, action_type, entity_type, entity_id, description,
+    ip_address, user_agent, status, error_message, metadata, timestamp
+FROM audit_logs_unpartitioned;
+
+DROP TABLE audit_logs_unpartitioned;
+
+-- 5. Índices (se propagan a todas las particiones, actuales y futuras)
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_action ON audit_logs(action_type);
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp ON audit_logs(timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_entity ON audit_logs(entity_type, entity_id);
+CREATE INDEX IF NOT EXISTS idx_audit_ip ON audit_logs(ip_address);
+CREATE INDEX IF NOT EXISTS idx_audit_status ON audit_logs(status);
+CREATE INDEX IF NOT EXISTS idx_audit_security ON audit_logs(action_type, timestamp DESC)
+    WHERE action_type IN ('LOGIN_FAILED', 'UNAUTHORIZED_ACCESS', 'RATE_LIMIT_EXCEEDED', 'SECURITY_EVENT');
+
+COMMENT ON TABLE audit_logs IS 'Registro de auditoría de operaciones críticas (particionado por mes)';
+
+COMMIT;
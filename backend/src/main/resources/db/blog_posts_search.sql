@@ -0,0 +1,36 @@
+-- =====================================================
+-- BLOG POSTS FULL-TEXT SEARCH - Weighted tsvector + GIN
+-- =====================================================
+-- Purpose: /api/blog/search with to_tsquery against an index instead of
+--          three LOWER(...) LIKE '%q%' scans over title, excerpt and content
+-- Features: Spanish text search configuration (stemming + stop words);
+--           weights title (A) > excerpt (B) > content (C) for ts_rank;
+--           kept up to date by a trigger that fires only when title,
+--           excerpt or content change (view_count flushes do not re-parse
+--           the content, unlike a GENERATED column)
+-- Requires PostgreSQL 11+. Idempotent: safe to run more than once
+-- =====================================================
+
+ALTER TABLE blog_posts ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION blog_posts_search_vector() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('spanish', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(NEW.excerpt, '')), 'B') ||
+        setweight(to_tsvector('spanish', coalesce(NEW.content, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_blog_posts_search_vector ON blog_posts;
+CREATE TRIGGER trg_blog_posts_search_vector
+    BEFORE INSERT OR UPDATE OF title, excerpt, content ON blog_posts
+    FOR EACH ROW EXECUTE FUNCTION blog_posts_search_vector();
+
+-- Backfill existing rows (fires the trigger)
+UPDATE blog_posts SET title = title WHERE search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_blog_posts_search ON blog_posts USING GIN (search_vector);
+
+ANALYZE blog_posts;
@@ -0,0 +1,40 @@
+-- =====================================================
+-- IDEMPOTENCY KEYS TABLE - Safe client retries
+-- =====================================================
+-- Purpose: Store the response of POST /api/orders and POST /api/payments/process
+--          per Idempotency-Key so retried requests return it instead of running again
+-- Features: Per-user keys, request fingerprint, expiry-based cleanup
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(50) NOT NULL,
+    owner VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uk_idempotency_scope_owner_key UNIQUE (scope, owner, idempotency_key)
+);
+
+-- =====================================================
+-- INDICES FOR PERFORMANCE
+-- =====================================================
+
+-- Lookups use the unique constraint index (scope, owner, idempotency_key)
+
+-- Index for cleanup queries by expiry date
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_keys(expires_at);
+
+-- =====================================================
+-- COMMENTS FOR DOCUMENTATION
+-- =====================================================
+
+COMMENT ON TABLE idempotency_keys IS 'Stored responses for Idempotency-Key headers on order creation and payment processing';
+COMMENT ON COLUMN idempotency_keys.scope IS 'Protected operation (orders:create, payments:process)';
+COMMENT ON COLUMN idempotency_keys.owner IS 'Authenticated user (email) that sent the key';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the original request body, to reject key reuse with a different payload';
+COMMENT ON COLUMN idempotency_keys.response_body IS 'Original JSON response returned on replay';
+COMMENT ON COLUMN idempotency_keys.expires_at IS 'Record removed by the hourly cleanup after this timestamp (default 24 hours)';
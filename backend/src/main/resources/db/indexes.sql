@@ -50,6 +50,17 @@ ON cart_items(cart_id, product_id);
 CREATE INDEX IF NOT EXISTS idx_order_items_order_id 
 ON order_items(order_id);
 
+-- Índice parcial para la expiración de puntos por lotes (keyset por id)
+-- Solo contiene puntos activos con vencimiento: los ya expirados salen del índice
+CREATE INDEX IF NOT EXISTS idx_loyalty_points_expiry 
+ON loyalty_points(id, expires_at) 
+WHERE active = true AND expires_at IS NOT NULL;
+
+-- Índice parcial para "puntos por expirar" de un usuario (rango por fecha de vencimiento)
+CREATE INDEX IF NOT EXISTS idx_loyalty_points_user_expiry 
+ON loyalty_points(user_id, expires_at) 
+WHERE active = true AND expires_at IS NOT NULL;
+
 -- =========================================
 -- ESTADÍSTICAS Y ANÁLISIS
 -- =========================================
@@ -62,6 +73,7 @@ ANALYZE order_items;
 ANALYZE payments;
 ANALYZE carts;
 ANALYZE cart_items;
+ANALYZE loyalty_points;
 
 -- =========================================
 -- VERIFICACIÓN DE ÍNDICES
@@ -0,0 +1,63 @@
+-- =====================================================
+-- LOYALTY BALANCES TABLE - Per-user loyalty summary
+-- =====================================================
+-- Purpose: Current balance, lifetime totals, current month bucket and tier
+--          per user, so /api/loyalty/points reads one row by primary key
+-- Features: Maintained in the same transaction as each loyalty_points row
+--           (award, redeem, expire); balance = SUM(loyalty_points.points)
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS loyalty_balances (
+    user_id BIGINT PRIMARY KEY,
+    balance INTEGER NOT NULL,
+    lifetime_earned INTEGER NOT NULL,
+    lifetime_redeemed INTEGER NOT NULL,
+    lifetime_expired INTEGER NOT NULL,
+    month_start DATE,
+    earned_month INTEGER NOT NULL,
+    tier VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT fk_loyalty_balance_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- =====================================================
+-- BACKFILL - One summary row per user with loyalty history
+-- =====================================================
+-- Safe to run again: existing summaries are kept
+
+INSERT INTO loyalty_balances (user_id, balance, lifetime_earned, lifetime_redeemed, lifetime_expired,
+                              month_start, earned_month, tier, updated_at)
+SELECT totals.user_id,
+       totals.balance,
+       totals.lifetime_earned,
+       totals.lifetime_redeemed,
+       totals.lifetime_expired,
+       DATE_TRUNC('month', CURRENT_DATE)::DATE,
+       totals.earned_month,
+       CASE WHEN totals.lifetime_earned >= 5000 THEN 'GOLD'
+            WHEN totals.lifetime_earned >= 1000 THEN 'SILVER'
+            ELSE 'BRONZE' END,
+       CURRENT_TIMESTAMP
+FROM (
+    SELECT user_id,
+           COALESCE(SUM(points), 0) AS balance,
+           COALESCE(SUM(points) FILTER (WHERE transaction_type IN ('EARNED', 'BONUS')), 0) AS lifetime_earned,
+           COALESCE(-SUM(points) FILTER (WHERE transaction_type = 'REDEEMED'), 0) AS lifetime_redeemed,
+           COALESCE(-SUM(points) FILTER (WHERE transaction_type = 'EXPIRED'), 0) AS lifetime_expired,
+           COALESCE(SUM(points) FILTER (WHERE transaction_type IN ('EARNED', 'BONUS')
+               AND created_at >= DATE_TRUNC('month', CURRENT_DATE)), 0) AS earned_month
+    FROM loyalty_points
+    GROUP BY user_id
+) totals
+ON CONFLICT (user_id) DO NOTHING;
+
+-- =====================================================
+-- COMMENTS FOR DOCUMENTATION
+-- =====================================================
+
+COMMENT ON TABLE loyalty_balances IS 'Per-user loyalty summary maintained with every loyalty_points row';
+COMMENT ON COLUMN loyalty_balances.balance IS 'Current points: earned minus redeemed minus expired';
+COMMENT ON COLUMN loyalty_balances.month_start IS 'First day of the month earned_month belongs to';
+COMMENT ON COLUMN loyalty_balances.tier IS 'BRONZE, SILVER or GOLD from lifetime_earned';
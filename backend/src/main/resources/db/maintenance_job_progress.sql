@@ -0,0 +1,25 @@
+-- =====================================================
+-- MAINTENANCE JOB PROGRESS TABLE - Resumable batch jobs
+-- =====================================================
+-- Purpose: Checkpoint of the chunked maintenance jobs (token cleanup, audit
+--          cleanup, loyalty expiry) so a paused or interrupted run resumes
+-- Features: One row per job, updated in the same transaction as each chunk
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS maintenance_job_progress (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_key BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed BIGINT NOT NULL,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- =====================================================
+-- COMMENTS FOR DOCUMENTATION
+-- =====================================================
+
+COMMENT ON TABLE maintenance_job_progress IS 'Checkpoints of chunked maintenance jobs';
+COMMENT ON COLUMN maintenance_job_progress.last_key IS 'Last primary key processed; the next chunk starts after it';
+COMMENT ON COLUMN maintenance_job_progress.status IS 'RUNNING (or interrupted), PAUSED (time budget reached) or COMPLETED';
+COMMENT ON COLUMN maintenance_job_progress.processed IS 'Items processed in the current run';
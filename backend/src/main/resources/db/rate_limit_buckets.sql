@@ -0,0 +1,34 @@
+-- =====================================================
+-- RATE LIMIT BUCKETS TABLE - Cluster-wide rate limiting
+-- =====================================================
+-- Purpose: Shared per-client quota for app.rate-limit.mode=distributed, so the
+--          limit holds across every backend instance behind the load balancer
+-- Features: One row per (tier, client) window, atomic reservation via
+--           INSERT ... ON CONFLICT DO UPDATE, periodic cleanup of stale windows
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    window_start BIGINT NOT NULL,
+    consumed INTEGER NOT NULL,
+    last_grant INTEGER NOT NULL
+);
+
+-- =====================================================
+-- INDICES FOR PERFORMANCE
+-- =====================================================
+
+-- Reservations use the primary key index (bucket_key)
+
+-- Index for cleanup of expired windows
+CREATE INDEX IF NOT EXISTS idx_rate_limit_window ON rate_limit_buckets(window_start);
+
+-- =====================================================
+-- COMMENTS FOR DOCUMENTATION
+-- =====================================================
+
+COMMENT ON TABLE rate_limit_buckets IS 'Shared rate-limit windows per tier and client IP (distributed mode)';
+COMMENT ON COLUMN rate_limit_buckets.bucket_key IS 'Tier and client key, e.g. auth:203.0.113.7';
+COMMENT ON COLUMN rate_limit_buckets.window_start IS 'Start of the current one-minute window (epoch millis, database clock)';
+COMMENT ON COLUMN rate_limit_buckets.consumed IS 'Tokens handed out to instances in the current window';
+COMMENT ON COLUMN rate_limit_buckets.last_grant IS 'Tokens granted by the latest reservation (returned to the caller)';
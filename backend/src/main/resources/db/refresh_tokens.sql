@@ -8,7 +8,7 @@
 
 CREATE TABLE IF NOT EXISTS refresh_tokens (
     id BIGSERIAL PRIMARY KEY,
-    token VARCHAR(512) NOT NULL UNIQUE,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
     user_id BIGINT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
     revoked BOOLEAN NOT NULL DEFAULT FALSE,
@@ -24,8 +24,7 @@ CREATE TABLE IF NOT EXISTS refresh_tokens (
 -- INDICES FOR PERFORMANCE
 -- =====================================================
 
--- Index for token lookup (most frequent operation)
-CREATE INDEX IF NOT EXISTS idx_refresh_token ON refresh_tokens(token);
+-- Token lookup uses the unique constraint index (token_hash)
 
 -- Index for user token queries
 CREATE INDEX IF NOT EXISTS idx_refresh_user ON refresh_tokens(user_id);
@@ -36,12 +35,15 @@ CREATE INDEX IF NOT EXISTS idx_refresh_expiry ON refresh_tokens(expiry_date);
 -- Composite index for active tokens queries
 CREATE INDEX IF NOT EXISTS idx_refresh_active ON refresh_tokens(user_id, revoked, expiry_date);
 
+-- Active tokens per user, newest first (per-user cap enforced with ROW_NUMBER)
+CREATE INDEX IF NOT EXISTS idx_refresh_user_active ON refresh_tokens(user_id, created_at DESC) WHERE revoked = FALSE;
+
 -- =====================================================
 -- COMMENTS FOR DOCUMENTATION
 -- =====================================================
 
 COMMENT ON TABLE refresh_tokens IS 'Stores refresh tokens with automatic rotation for secure JWT authentication';
-COMMENT ON COLUMN refresh_tokens.token IS 'UUID refresh token string (512 chars for future-proofing)';
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'SHA-256 (hex) of the refresh token; the raw token is never stored';
 COMMENT ON COLUMN refresh_tokens.user_id IS 'Foreign key to users table';
 COMMENT ON COLUMN refresh_tokens.expiry_date IS 'Token expiration timestamp (default 7 days)';
 COMMENT ON COLUMN refresh_tokens.revoked IS 'Token revocation status (for logout and rotation)';
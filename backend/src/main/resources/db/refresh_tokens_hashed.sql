@@ -0,0 +1,28 @@
+-- =============================================================================
+-- MIGRACIÓN: refresh_tokens.token -> refresh_tokens.token_hash
+-- =============================================================================
+-- Para instalaciones creadas con la versión anterior de refresh_tokens.sql.
+-- Guarda solo el SHA-256 de cada token: los tokens ya emitidos siguen siendo
+-- válidos porque el backend busca por el hash del valor que envía el cliente.
+-- Requiere PostgreSQL 11+ (función sha256)
+-- =============================================================================
+
+BEGIN;
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64);
+
+UPDATE refresh_tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+CREATE INDEX IF NOT EXISTS idx_refresh_user_active ON refresh_tokens(user_id, created_at DESC) WHERE revoked = FALSE;
+
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'SHA-256 (hex) of the refresh token; the raw token is never stored';
+
+COMMIT;
@@ -0,0 +1,12 @@
+-- =====================================================
+-- USERS.AUTH_VERSION - Stateless JWT revocation
+-- =====================================================
+-- Purpose: Version stamp copied into every access token ("ver" claim).
+--          AuthService.resetPassword bumps it, which invalidates all access
+--          tokens issued before the reset. Any future flow that changes a
+--          user's role or enabled flag should bump it the same way.
+-- =====================================================
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS auth_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.auth_version IS 'Incremented to revoke previously issued access tokens (compared against the ver claim)';
@@ -0,0 +1,139 @@
+package com.babycash.backend.config.security;
+
+import com.babycash.backend.exception.custom.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PooledPasswordEncoder
+ */
+@DisplayName("PooledPasswordEncoder Unit Tests")
+class PooledPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+    private final List<PooledPasswordEncoder> encoders = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoders.forEach(PooledPasswordEncoder::destroy);
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the pool and record hash latency")
+    void shouldEncodeAndMatch() {
+        // Given
+        PooledPasswordEncoder encoder = encoder(new BCryptPasswordEncoder(4), 1, 4, 5_000);
+
+        // When
+        String hash = encoder.encode("Secreto123!");
+
+        // Then
+        assertThat(encoder.matches("Secreto123!", hash)).isTrue();
+        assertThat(encoder.matches("otra", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast with 503 when the admission queue is full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given - un hilo ocupado y la cola (1) llena
+        CountDownLatch release = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = encoder(new BlockingEncoder(release), 1, 1, 5_000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        awaitGauge("password.hash.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitGauge("password.hash.queue", 1);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum wait instead of holding the request thread")
+    void shouldTimeOutWaitingForWorker() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = encoder(new BlockingEncoder(release), 1, 4, 50);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.encode("a")).isInstanceOf(ServiceUnavailableException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should request a re-hash only for weaker hashes")
+    void shouldUpgradeWeakerHashes() {
+        // Given
+        String weak = new BCryptPasswordEncoder(4).encode("Secreto123!");
+        String current = new BCryptPasswordEncoder(5).encode("Secreto123!");
+        PooledPasswordEncoder encoder = encoder(new BCryptPasswordEncoder(5), 1, 4, 5_000);
+
+        // When / Then
+        assertThat(encoder.upgradeEncoding(weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+    }
+
+    private PooledPasswordEncoder encoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs) {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(delegate, threads, queueCapacity, maxWaitMs, meterRegistry);
+        encoders.add(encoder);
+        return encoder;
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(expected);
+    }
+
+    /**
+     * Encoder que no termina hasta que el test lo libera
+     */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
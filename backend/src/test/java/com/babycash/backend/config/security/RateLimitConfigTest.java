@@ -0,0 +1,79 @@
+package com.babycash.backend.config.security;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RateLimitConfig
+ */
+@DisplayName("RateLimitConfig Unit Tests")
+class RateLimitConfigTest {
+
+    private MeterRegistry meterRegistry;
+    private RateLimitConfig rateLimitConfig;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitConfig = new RateLimitConfig(meterRegistry, 1_000, 600_000);
+    }
+
+    @Test
+    @DisplayName("Should keep one bucket per client and tier")
+    void shouldKeepOneBucketPerClientAndTier() {
+        // When
+        Bucket auth = rateLimitConfig.resolveAuthBucket("10.0.0.1");
+
+        // Then
+        assertThat(rateLimitConfig.resolveAuthBucket("10.0.0.1")).isSameAs(auth);
+        assertThat(rateLimitConfig.resolveApiBucket("10.0.0.1")).isNotSameAs(auth);
+        assertThat(auth.getAvailableTokens()).isEqualTo(10);
+        assertThat(rateLimitConfig.resolveAdminBucket("10.0.0.1").getAvailableTokens()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should keep an active client's consumed quota across maintenance runs")
+    void shouldNotResetQuotaOnCleanup() {
+        // Given
+        Bucket bucket = rateLimitConfig.resolveAuthBucket("10.0.0.2");
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(1);
+        }
+        for (int i = 0; i < 500; i++) {
+            rateLimitConfig.resolveAuthBucket("192.168.0." + i);
+        }
+
+        // When
+        rateLimitConfig.cleanupOldBuckets();
+
+        // Then
+        assertThat(rateLimitConfig.resolveAuthBucket("10.0.0.2").tryConsume(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should publish live bucket gauges and per-tier decision counters")
+    void shouldPublishMetrics() {
+        // Given
+        rateLimitConfig.resolveApiBucket("10.0.0.3");
+        rateLimitConfig.resolveApiBucket("10.0.0.4");
+
+        // When
+        rateLimitConfig.recordDecision(RateLimitConfig.Tier.API, true);
+        rateLimitConfig.recordDecision(RateLimitConfig.Tier.API, false);
+        rateLimitConfig.recordDecision(RateLimitConfig.Tier.API, false);
+
+        // Then
+        assertThat(meterRegistry.get("ratelimit.buckets").tag("tier", "api").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("ratelimit.buckets").tag("tier", "auth").gauge().value()).isZero();
+        assertThat(meterRegistry.get("ratelimit.requests").tags("tier", "api", "result", "rejected")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("ratelimit.requests").tags("tier", "api", "result", "allowed")
+                .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,150 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.dto.response.BlogPostResponse;
+import com.babycash.backend.model.entity.BlogPost;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.BlogPostRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.BlogPostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text blog search against a real PostgreSQL instance (tsvector, GIN index and ts_headline
+ * are not available on H2); the schema comes from Hibernate plus db/blog_posts_search.sql
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Blog Search Integration Tests")
+class BlogSearchIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // pgjdbc acepta el script completo (respeta el cuerpo $$ ... $$ de la función)
+        jdbcTemplate.execute(StreamUtils.copyToString(
+                new ClassPathResource("db/blog_posts_search.sql").getInputStream(), StandardCharsets.UTF_8));
+        jdbcTemplate.execute("DELETE FROM blog_comments");
+        jdbcTemplate.execute("DELETE FROM blog_post_tags");
+        jdbcTemplate.execute("DELETE FROM blog_posts");
+        author = userRepository.findByEmail("search@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .email("search@example.com")
+                        .password("not-used")
+                        .firstName("Search")
+                        .lastName("Test")
+                        .role(UserRole.ADMIN)
+                        .enabled(true)
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above content matches and skip unpublished posts")
+    void shouldRankByWeightedFields() {
+        // Given
+        save("Cuidados del bebé", "Rutinas diarias", "La lactancia ayuda al sueño del recién nacido.", true);
+        save("Lactancia materna", "Guía práctica", "Consejos para los primeros meses.", true);
+        save("Lactancia nocturna", "Borrador", "Aún no publicado.", false);
+        save("Pañales ecológicos", "Comparativa", "Materiales y precios.", true);
+
+        // When
+        Page<BlogPostResponse> page = blogPostService.searchPosts("lactancias", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(BlogPostResponse::getTitle)
+                .containsExactly("Lactancia materna", "Cuidados del bebé");
+        assertThat(page.getContent().get(1).getHighlight()).contains("<mark>lactancia</mark>");
+    }
+
+    @Test
+    @DisplayName("Should reindex a post when its content is edited")
+    void shouldReindexOnUpdate() {
+        // Given
+        BlogPost post = save("Baño del bebé", "Paso a paso", "Temperatura del agua.", true);
+
+        // When
+        post.setContent("Temperatura del agua y elección del jabón neutro.");
+        blogPostRepository.saveAndFlush(post);
+
+        // Then
+        assertThat(blogPostService.searchPosts("jabón", PageRequest.of(0, 10)).getContent())
+                .extracting(BlogPostResponse::getId)
+                .containsExactly(post.getId());
+    }
+
+    @Test
+    @DisplayName("Should count every match when results span several pages")
+    void shouldPaginate() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            save("Vacunas " + i, "Calendario", "Calendario de vacunación infantil.", true);
+        }
+
+        // When
+        Page<BlogPostResponse> page = blogPostService.searchPosts("vacunas", PageRequest.of(1, 2));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    private BlogPost save(String title, String excerpt, String content, boolean published) {
+        return blogPostRepository.saveAndFlush(BlogPost.builder()
+                .title(title)
+                .slug(BlogPost.generateSlug(title) + "-" + System.nanoTime())
+                .excerpt(excerpt)
+                .content(content)
+                .author(author)
+                .published(published)
+                .publishedAt(published ? LocalDateTime.now() : null)
+                .build());
+    }
+}
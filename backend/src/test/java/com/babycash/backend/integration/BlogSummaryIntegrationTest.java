@@ -0,0 +1,107 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.dto.response.BlogPostSummaryResponse;
+import com.babycash.backend.model.entity.BlogPost;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.BlogPostRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.BlogPostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests asserting that blog summary listings read neither the content column
+ * nor one tag collection per post
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:blogsummaries",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.babycash.backend.integration.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+@DisplayName("Blog Summary Integration Tests")
+class BlogSummaryIntegrationTest {
+
+    private static final int POSTS = 12;
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        blogPostRepository.deleteAll();
+        User author = userRepository.findByEmail("summary@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .email("summary@example.com")
+                        .password("not-used")
+                        .firstName("Summary")
+                        .lastName("Test")
+                        .role(UserRole.ADMIN)
+                        .enabled(true)
+                        .build()));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < POSTS; i++) {
+            blogPostRepository.save(BlogPost.builder()
+                    .title("Post " + i)
+                    .slug("summary-post-" + i)
+                    .excerpt("Excerpt " + i)
+                    .content("Long body " + i)
+                    .author(author)
+                    .published(true)
+                    .featured(i < 3)
+                    .publishedAt(now.minusHours(i))
+                    .tags(new ArrayList<>(List.of("tag-" + i, "bebés")))
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a page of summaries with page, count and one tag query")
+    void publishedSummariesShouldIssueConstantStatements() {
+        // When
+        SqlStatementCounter.start();
+        Page<BlogPostSummaryResponse> page = blogPostService.getPublishedPostSummaries(PageRequest.of(0, 10));
+        List<String> statements = SqlStatementCounter.stop();
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(POSTS);
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent().get(0).getTitle()).isEqualTo("Post 0");
+        assertThat(page.getContent().get(0).getTags()).containsExactlyInAnyOrder("tag-0", "bebés");
+        assertThat(page.getContent().get(0).getAuthorName()).isEqualTo("Summary Test");
+        assertThat(statements).hasSize(3);
+        assertThat(statements).noneMatch(sql -> sql.toLowerCase().contains("content"));
+    }
+
+    @Test
+    @DisplayName("Should load featured summaries with two statements")
+    void featuredSummariesShouldIssueTwoStatements() {
+        // When
+        SqlStatementCounter.start();
+        List<BlogPostSummaryResponse> featured = blogPostService.getFeaturedPostSummaries();
+        List<String> statements = SqlStatementCounter.stop();
+
+        // Then
+        assertThat(featured).extracting(BlogPostSummaryResponse::getTitle).containsExactly("Post 0", "Post 1", "Post 2");
+        assertThat(statements).hasSize(2);
+    }
+}
@@ -0,0 +1,154 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.config.security.PostgresRateLimiter;
+import com.babycash.backend.config.security.RateLimitConfig;
+import com.babycash.backend.config.security.RateLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-instance tests for the PostgreSQL-backed rate limiter
+ * Several limiter instances (one per simulated backend node) share one PostgreSQL database
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Distributed Rate Limit Integration Tests")
+class DistributedRateLimitIntegrationTest {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 4;
+    private static final int ATTEMPTS_PER_THREAD = 60;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HikariDataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(INSTANCES * THREADS_PER_INSTANCE);
+        new ResourceDatabasePopulator(new ClassPathResource("db/rate_limit_buckets.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void closeDataSource() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().execute("TRUNCATE rate_limit_buckets");
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the tier limit across all instances for one client")
+    void shouldEnforceLimitAcrossInstances() throws Exception {
+        // Given
+        List<RateLimiter> nodes = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            nodes.add(node(new SimpleMeterRegistry()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (RateLimiter node : nodes) {
+            for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (node.tryConsume(RateLimitConfig.Tier.API, "203.0.113.7").consumed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(allowed.get()).isEqualTo(RateLimitConfig.Tier.API.requestsPerMinute());
+        Integer consumed = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT consumed FROM rate_limit_buckets WHERE bucket_key = 'api:203.0.113.7'", Integer.class);
+        assertThat(consumed).isEqualTo(RateLimitConfig.Tier.API.requestsPerMinute());
+    }
+
+    @Test
+    @DisplayName("Should serve most requests from the local reservation and reject without querying once exhausted")
+    void shouldReserveTokensInBatches() {
+        // Given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiter node = node(meterRegistry);
+        int limit = RateLimitConfig.Tier.API.requestsPerMinute();
+
+        // When
+        int allowed = 0;
+        for (int i = 0; i < limit + 50; i++) {
+            if (node.tryConsume(RateLimitConfig.Tier.API, "198.51.100.20").consumed()) {
+                allowed++;
+            }
+        }
+
+        // Then - 10 lotes de 10 tokens; el último deja la ventana agotada y el resto se rechaza en memoria
+        assertThat(allowed).isEqualTo(limit);
+        assertThat(meterRegistry.get("ratelimit.store.reservations").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("ratelimit.store.failures").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep separate quotas per tier and client")
+    void shouldIsolateTiersAndClients() {
+        // Given
+        RateLimiter first = node(new SimpleMeterRegistry());
+        RateLimiter second = node(new SimpleMeterRegistry());
+        for (int i = 0; i < RateLimitConfig.Tier.AUTH.requestsPerMinute(); i++) {
+            first.tryConsume(RateLimitConfig.Tier.AUTH, "192.0.2.1");
+        }
+
+        // When / Then
+        assertThat(second.tryConsume(RateLimitConfig.Tier.AUTH, "192.0.2.1").consumed()).isFalse();
+        assertThat(second.tryConsume(RateLimitConfig.Tier.AUTH, "192.0.2.2").consumed()).isTrue();
+        assertThat(second.tryConsume(RateLimitConfig.Tier.API, "192.0.2.1").consumed()).isTrue();
+    }
+
+    private RateLimiter node(MeterRegistry meterRegistry) {
+        RateLimitConfig localBuckets = new RateLimitConfig(meterRegistry, 1_000, 600_000);
+        return new PostgresRateLimiter(jdbcTemplate, localBuckets, meterRegistry, 10, 1_000, 600_000);
+    }
+}
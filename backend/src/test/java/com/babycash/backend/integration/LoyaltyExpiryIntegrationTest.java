@@ -0,0 +1,177 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.model.entity.LoyaltyBalance;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.LoyaltyBalanceRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.LoyaltyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Set-based loyalty point expiry and balance summary upkeep against a real PostgreSQL instance
+ * (the statements use a data-modifying CTE and ON CONFLICT DO UPDATE, not available on H2)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Loyalty Expiry Integration Tests")
+class LoyaltyExpiryIntegrationTest {
+
+    private static final int EXPIRED_POINTS = 2_500;
+    private static final int ACTIVE_POINTS = 3;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("app.maintenance.chunk-size", () -> 1_000);
+        registry.add("app.maintenance.min-pause-ms", () -> 0);
+    }
+
+    @Autowired
+    private LoyaltyService loyaltyService;
+
+    @Autowired
+    private LoyaltyBalanceRepository loyaltyBalanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM loyalty_points");
+        jdbcTemplate.execute("DELETE FROM maintenance_job_progress");
+        jdbcTemplate.execute("DELETE FROM loyalty_balances");
+        user = userRepository.findByEmail("expiry@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .email("expiry@example.com")
+                        .password("not-used")
+                        .firstName("Expiry")
+                        .lastName("Test")
+                        .role(UserRole.USER)
+                        .enabled(true)
+                        .build()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < EXPIRED_POINTS; i++) {
+            rows.add(new Object[]{user.getId(), 2, Timestamp.valueOf(now.minusDays(1)), Timestamp.valueOf(now.minusYears(1))});
+        }
+        for (int i = 0; i < ACTIVE_POINTS; i++) {
+            rows.add(new Object[]{user.getId(), 7, Timestamp.valueOf(now.plusMonths(6)), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO loyalty_points (user_id, transaction_type, points, expires_at, active, created_at) "
+                + "VALUES (?, 'EARNED', ?, ?, TRUE, ?)", rows);
+        jdbcTemplate.update("INSERT INTO loyalty_balances (user_id, balance, lifetime_earned, lifetime_redeemed, "
+                + "lifetime_expired, earned_month, tier) VALUES (?, ?, ?, 0, 0, 0, 'GOLD')",
+                user.getId(), EXPIRED_POINTS * 2 + ACTIVE_POINTS * 7, EXPIRED_POINTS * 2 + ACTIVE_POINTS * 7);
+    }
+
+    @Test
+    @DisplayName("Should deactivate every expired point and write one EXPIRED record per point")
+    void shouldExpireAllPointsInChunks() {
+        // When
+        loyaltyService.processExpiredPoints();
+
+        // Then
+        assertThat(count("transaction_type = 'EARNED' AND active = FALSE")).isEqualTo(EXPIRED_POINTS);
+        assertThat(count("transaction_type = 'EXPIRED'")).isEqualTo(EXPIRED_POINTS);
+        assertThat(count("transaction_type = 'EARNED' AND active = TRUE")).isEqualTo(ACTIVE_POINTS);
+        Integer expiredTotal = jdbcTemplate.queryForObject(
+                "SELECT SUM(points) FROM loyalty_points WHERE transaction_type = 'EXPIRED'", Integer.class);
+        assertThat(expiredTotal).isEqualTo(-EXPIRED_POINTS * 2);
+        assertThat(jdbcTemplate.queryForMap("SELECT balance, lifetime_expired FROM loyalty_balances WHERE user_id = ?",
+                user.getId()))
+                .containsEntry("balance", ACTIVE_POINTS * 7)
+                .containsEntry("lifetime_expired", EXPIRED_POINTS * 2);
+        String description = jdbcTemplate.queryForObject(
+                "SELECT description FROM loyalty_points WHERE transaction_type = 'EXPIRED' ORDER BY id LIMIT 1",
+                String.class);
+        assertThat(description).startsWith("Puntos expirados de transacción #");
+    }
+
+    @Test
+    @DisplayName("Should not write EXPIRED records twice when run again")
+    void shouldBeIdempotent() {
+        // Given
+        loyaltyService.processExpiredPoints();
+
+        // When
+        loyaltyService.processExpiredPoints();
+
+        // Then
+        assertThat(count("transaction_type = 'EXPIRED'")).isEqualTo(EXPIRED_POINTS);
+        Integer balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM loyalty_balances WHERE user_id = ?", Integer.class, user.getId());
+        assertThat(balance).isEqualTo(ACTIVE_POINTS * 7);
+    }
+
+    @Test
+    @DisplayName("Should not let points past their expiry be shown or redeemed before the job runs")
+    void shouldExcludeDuePointsBeforeExpiryJob() {
+        // When / Then: los puntos vencidos siguen activos y en el saldo, pero no están disponibles
+        assertThat(loyaltyService.getUserLoyaltyPoints(user).getTotalPoints()).isEqualTo(ACTIVE_POINTS * 7);
+        assertThat(loyaltyService.redeemPoints(user, ACTIVE_POINTS * 7 + 1)).isFalse();
+        assertThat(loyaltyService.redeemPoints(user, ACTIVE_POINTS * 7)).isTrue();
+
+        // Y el job posterior deja el saldo en cero sin descuadrarlo
+        loyaltyService.processExpiredPoints();
+        Integer balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM loyalty_balances WHERE user_id = ?", Integer.class, user.getId());
+        assertThat(balance).isZero();
+    }
+
+    @Test
+    @DisplayName("Should create the balance summary on the first award and accumulate later ones")
+    void shouldUpsertBalanceOnAward() {
+        // Given
+        jdbcTemplate.execute("DELETE FROM loyalty_balances");
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        loyaltyBalanceRepository.recordEarned(user.getId(), 800, now);
+        loyaltyBalanceRepository.recordEarned(user.getId(), 300, now);
+
+        // Then
+        LoyaltyBalance balance = loyaltyBalanceRepository.findById(user.getId()).orElseThrow();
+        assertThat(balance.getBalance()).isEqualTo(1_100);
+        assertThat(balance.getLifetimeEarned()).isEqualTo(1_100);
+        assertThat(balance.earnedIn(YearMonth.from(now))).isEqualTo(1_100);
+        assertThat(balance.getTier()).isEqualTo("SILVER");
+    }
+
+    private int count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loyalty_points WHERE " + condition, Integer.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.LoyaltyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention tests for LoyaltyService.redeemPoints
+ * Runs many concurrent redemptions against a real PostgreSQL instance
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Loyalty Redemption Contention Integration Tests")
+class LoyaltyRedemptionContentionIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int REDEMPTIONS_PER_THREAD = 25;
+    private static final int POINTS_PER_REDEMPTION = 10;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @Autowired
+    private LoyaltyService loyaltyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM loyalty_points");
+        jdbcTemplate.execute("DELETE FROM loyalty_balances");
+        users.clear();
+        for (int t = 0; t < THREADS; t++) {
+            String email = "redeemer" + t + "@example.com";
+            users.add(userRepository.findByEmail(email)
+                    .orElseGet(() -> userRepository.save(User.builder()
+                            .email(email)
+                            .password("not-used")
+                            .firstName("Redeemer")
+                            .lastName("Test")
+                            .role(UserRole.USER)
+                            .enabled(true)
+                            .build())));
+        }
+    }
+
+    @Test
+    @DisplayName("Should never overdraw one user's balance under concurrent redemptions")
+    void shouldNeverOverdrawHotBalance() throws Exception {
+        // Given
+        User hot = users.get(0);
+        int initialBalance = 1_000;
+        withBalance(hot, initialBalance);
+
+        // When
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(thread -> {
+            if (loyaltyService.redeemPoints(hot, POINTS_PER_REDEMPTION)) {
+                accepted.incrementAndGet();
+            }
+        });
+
+        // Then
+        int expected = initialBalance / POINTS_PER_REDEMPTION;
+        assertThat(accepted.get()).isEqualTo(expected);
+        assertThat(balanceOf(hot)).isZero();
+        assertThat(redeemedRows(hot)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should accept every redemption when each thread redeems for its own user")
+    void shouldRedeemInParallelAcrossUsers() throws Exception {
+        // Given
+        int initialBalance = REDEMPTIONS_PER_THREAD * POINTS_PER_REDEMPTION;
+        users.forEach(user -> withBalance(user, initialBalance));
+        int attempts = THREADS * REDEMPTIONS_PER_THREAD;
+
+        // When
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(thread -> {
+            if (loyaltyService.redeemPoints(users.get(thread), POINTS_PER_REDEMPTION)) {
+                accepted.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(attempts);
+        for (User user : users) {
+            assertThat(balanceOf(user)).isZero();
+            assertThat(redeemedRows(user)).isEqualTo(REDEMPTIONS_PER_THREAD);
+        }
+    }
+
+    /**
+     * Runs REDEMPTIONS_PER_THREAD redemptions on each of THREADS threads.
+     * The consumer receives the thread index. Any exception fails the test.
+     */
+    private void runConcurrently(IntConsumer redemption) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REDEMPTIONS_PER_THREAD; i++) {
+                        redemption.accept(thread);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void withBalance(User user, int points) {
+        jdbcTemplate.update("INSERT INTO loyalty_balances (user_id, balance, lifetime_earned, lifetime_redeemed, "
+                + "lifetime_expired, earned_month, tier) VALUES (?, ?, ?, 0, 0, 0, 'BRONZE')",
+                user.getId(), points, points);
+    }
+
+    private int balanceOf(User user) {
+        return jdbcTemplate.queryForObject(
+                "SELECT balance FROM loyalty_balances WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private int redeemedRows(User user) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM loyalty_points WHERE user_id = ? AND transaction_type = 'REDEEMED'",
+                Integer.class, user.getId());
+    }
+}
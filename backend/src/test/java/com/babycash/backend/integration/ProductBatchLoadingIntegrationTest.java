@@ -0,0 +1,251 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.dto.request.AddToCartRequest;
+import com.babycash.backend.dto.request.CreateOrderRequest;
+import com.babycash.backend.model.entity.Cart;
+import com.babycash.backend.model.entity.CartItem;
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.ProductCategory;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.CartRepository;
+import com.babycash.backend.repository.ProductRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.CartService;
+import com.babycash.backend.service.OrderService;
+import com.babycash.backend.service.ProductService;
+import com.babycash.backend.service.catalog.CatalogSnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests asserting that cart and order operations issue a constant number of
+ * SQL statements regardless of how many products they reference
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchloading",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.babycash.backend.integration.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+@DisplayName("Product Batch Loading Integration Tests")
+class ProductBatchLoadingIntegrationTest {
+
+    private static final int SMALL = 2;
+    private static final int LARGE = 20;
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should load a cart with the same number of statements for 2 or 20 items")
+    void getCartShouldIssueConstantStatements() {
+        List<String> small = measure(cartWith(SMALL), () -> cartService.getCart());
+        List<String> large = measure(cartWith(LARGE), () -> cartService.getCart());
+
+        assertThat(large).hasSameSizeAs(small);
+        assertThat(productQueries(large)).isEqualTo(1); // products WHERE id IN (...)
+    }
+
+    @Test
+    @DisplayName("Should add to a cart with the same number of statements for 2 or 20 items")
+    void addToCartShouldIssueConstantStatements() {
+        Long extraProduct = productRepository.save(product("Extra")).getId();
+        AddToCartRequest request = new AddToCartRequest();
+        request.setProductId(extraProduct);
+        request.setQuantity(1);
+
+        List<String> small = measure(cartWith(SMALL), () -> cartService.addToCart(request));
+        List<String> large = measure(cartWith(LARGE), () -> cartService.addToCart(request));
+
+        assertThat(large).hasSameSizeAs(small);
+    }
+
+    @Test
+    @DisplayName("Should update a cart item with the same number of statements for 2 or 20 items")
+    void updateCartItemShouldIssueConstantStatements() {
+        User smallCart = cartWith(SMALL);
+        User largeCart = cartWith(LARGE);
+        Long smallItem = firstItemId(smallCart);
+        Long largeItem = firstItemId(largeCart);
+
+        List<String> small = measure(smallCart, () -> cartService.updateCartItem(smallItem, 3));
+        List<String> large = measure(largeCart, () -> cartService.updateCartItem(largeItem, 3));
+
+        assertThat(large).hasSameSizeAs(small);
+    }
+
+    @Test
+    @DisplayName("Should resolve order products with the same number of queries for 2 or 20 lines")
+    void createOrderShouldIssueConstantQueries() {
+        User buyer = user();
+        CreateOrderRequest smallOrder = orderOf(SMALL);
+        CreateOrderRequest largeOrder = orderOf(LARGE);
+
+        List<String> small = measure(buyer, () -> orderService.createOrder(smallOrder));
+        List<String> large = measure(buyer, () -> orderService.createOrder(largeOrder));
+
+        // Order item INSERTs grow with the order; product lookups must not:
+        // one to resolve the lines, one to refresh the catalog snapshot after commit
+        assertThat(selects(large)).isEqualTo(selects(small));
+        assertThat(productQueries(large)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should publish the reserved stock in the catalog snapshot once the order commits")
+    void createOrderShouldRefreshCatalogSnapshot() {
+        User buyer = user();
+        CreateOrderRequest order = orderOf(SMALL);
+        List<Long> productIds = order.getItems().stream()
+                .map(CreateOrderRequest.OrderItemRequest::getProductId)
+                .toList();
+
+        measure(buyer, () -> orderService.createOrder(order));
+
+        List<Product> listed = catalogSnapshotService.findEnabled(ProductCategory.OTHER,
+                        PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "id")))
+                .orElseThrow()
+                .getContent().stream()
+                .filter(product -> productIds.contains(product.getId()))
+                .toList();
+        assertThat(listed).extracting(Product::getStock).containsExactly(49, 49);
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached product with the stock it had before the order")
+    void createOrderShouldEvictCachedProducts() {
+        User buyer = user();
+        CreateOrderRequest order = orderOf(SMALL);
+        Long productId = order.getItems().get(0).getProductId();
+        assertThat(productService.getProductById(productId).getStock()).isEqualTo(50);
+
+        measure(buyer, () -> orderService.createOrder(order));
+
+        assertThat(productService.getProductById(productId).getStock()).isEqualTo(49);
+    }
+
+    private List<String> measure(User user, Runnable call) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        SqlStatementCounter.start();
+        try {
+            call.run();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return SqlStatementCounter.stop();
+    }
+
+    private long selects(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .count();
+    }
+
+    private long productQueries(List<String> statements) {
+        return statements.stream()
+                .map(sql -> sql.trim().toLowerCase())
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from products "))
+                .count();
+    }
+
+    private User cartWith(int items) {
+        User user = user();
+        Cart cart = Cart.builder().user(user).build();
+        for (int i = 0; i < items; i++) {
+            cart.getItems().add(CartItem.builder()
+                    .cart(cart)
+                    .product(productRepository.save(product("Cart product " + i)))
+                    .quantity(1)
+                    .build());
+        }
+        cartRepository.save(cart);
+        return user;
+    }
+
+    private Long firstItemId(User user) {
+        // Cart.items es LAZY: se lee dentro de una transacción
+        return transactionTemplate.execute(status ->
+                cartRepository.findByUser(user).orElseThrow().getItems().get(0).getId());
+    }
+
+    private CreateOrderRequest orderOf(int lines) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setProductId(productRepository.save(product("Order product " + i)).getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setShippingAddress("Calle 123 #45-67, Bogotá");
+        request.setItems(items);
+        return request;
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("batch-" + USER_SEQUENCE.incrementAndGet() + "@example.com")
+                .password("not-used")
+                .firstName("Batch")
+                .lastName("Test")
+                .role(UserRole.USER)
+                .enabled(true)
+                .build());
+    }
+
+    private Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .description("Batch loading test product")
+                .price(new BigDecimal("25000"))
+                .category(ProductCategory.OTHER)
+                .stock(50)
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.exception.custom.BusinessException;
+import com.babycash.backend.model.entity.RefreshToken;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Refresh token rotation against a real PostgreSQL instance
+ * (the rotation statement uses a data-modifying CTE, not available on H2)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Refresh Token Rotation Integration Tests")
+class RefreshTokenRotationIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM refresh_tokens");
+        user = userRepository.findByEmail("rotation@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .email("rotation@example.com")
+                        .password("not-used")
+                        .firstName("Rotation")
+                        .lastName("Test")
+                        .role(UserRole.USER)
+                        .enabled(true)
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should keep at most the configured number of active tokens, revoking the oldest")
+    void shouldEnforcePerUserCap() {
+        // Given
+        RefreshToken first = refreshTokenService.createRefreshToken(user);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            refreshTokenService.createRefreshToken(user);
+        }
+
+        // Then
+        assertThat(activeTokens()).isEqualTo(5);
+        assertThat(isRevoked(first)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should replace the token on rotation and store only hashes")
+    void shouldRotateToken() {
+        // Given
+        RefreshToken original = refreshTokenService.createRefreshToken(user);
+
+        // When
+        RefreshToken rotated = refreshTokenService.rotateRefreshToken(original.getToken());
+
+        // Then
+        assertThat(rotated.getToken()).isNotEqualTo(original.getToken());
+        assertThat(rotated.getUser().getEmail()).isEqualTo("rotation@example.com");
+        assertThat(isRevoked(original)).isTrue();
+        assertThat(isRevoked(rotated)).isFalse();
+        Integer rawStored = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE token_hash IN (?, ?)",
+                Integer.class, original.getToken(), rotated.getToken());
+        assertThat(rawStored).isZero();
+    }
+
+    @Test
+    @DisplayName("Should revoke every session when an already rotated token is presented again")
+    void shouldDetectReuse() {
+        // Given
+        RefreshToken original = refreshTokenService.createRefreshToken(user);
+        refreshTokenService.createRefreshToken(user);
+        refreshTokenService.rotateRefreshToken(original.getToken());
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(original.getToken()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("all sessions revoked");
+        assertThat(activeTokens()).isZero();
+    }
+
+    private int activeTokens() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND revoked = FALSE AND expiry_date > NOW()",
+                Integer.class, user.getId());
+    }
+
+    private boolean isRevoked(RefreshToken token) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT revoked FROM refresh_tokens WHERE id = ?", Boolean.class, token.getId()));
+    }
+}
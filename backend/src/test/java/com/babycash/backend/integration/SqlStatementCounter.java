@@ -0,0 +1,46 @@
+package com.babycash.backend.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate StatementInspector that records the SQL issued by the thread being measured
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+    private static volatile Thread target;
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == target) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Starts recording statements issued by the current thread
+     */
+    public static void start() {
+        synchronized (statements) {
+            statements.clear();
+        }
+        target = Thread.currentThread();
+    }
+
+    /**
+     * Stops recording and returns the captured statements
+     */
+    public static List<String> stop() {
+        target = null;
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.babycash.backend.integration;
+
+import com.babycash.backend.dto.request.CreateOrderRequest;
+import com.babycash.backend.exception.custom.BusinessException;
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.ProductCategory;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.ProductRepository;
+import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention tests for the atomic stock reservation used by OrderService.createOrder
+ * Runs many concurrent checkouts of the same SKU against a real PostgreSQL instance
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Stock Reservation Contention Integration Tests")
+class StockReservationContentionIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int CHECKOUTS_PER_THREAD = 25;
+    private static final int INITIAL_STOCK = 100;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        buyer = userRepository.findByEmail("contention@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .email("contention@example.com")
+                        .password("not-used")
+                        .firstName("Load")
+                        .lastName("Test")
+                        .role(UserRole.USER)
+                        .enabled(true)
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot SKU under concurrent checkouts")
+    void shouldNeverOversellHotSku() throws Exception {
+        // Given
+        Product hot = productRepository.save(product("Hot SKU", INITIAL_STOCK));
+        int attempts = THREADS * CHECKOUTS_PER_THREAD;
+
+        // When
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(() -> {
+            try {
+                orderService.createOrder(orderOf(hot.getId()));
+                accepted.incrementAndGet();
+            } catch (BusinessException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Then
+        int remaining = productRepository.findById(hot.getId()).orElseThrow().getStock();
+        Integer sold = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM order_items WHERE product_id = ?", Integer.class, hot.getId());
+
+        assertThat(accepted.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(attempts - INITIAL_STOCK);
+        assertThat(remaining).isZero();
+        assertThat(sold).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    @DisplayName("Should not deadlock when concurrent orders list the same products in opposite order")
+    void shouldNotDeadlockOnCrossedOrders() throws Exception {
+        // Given
+        Product first = productRepository.save(product("Crossed A", INITIAL_STOCK));
+        Product second = productRepository.save(product("Crossed B", INITIAL_STOCK));
+        AtomicInteger sequence = new AtomicInteger();
+
+        // When
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(() -> {
+            boolean forward = sequence.incrementAndGet() % 2 == 0;
+            try {
+                orderService.createOrder(forward
+                        ? orderOf(first.getId(), second.getId())
+                        : orderOf(second.getId(), first.getId()));
+                accepted.incrementAndGet();
+            } catch (BusinessException e) {
+                // Out of stock is expected once both SKUs are sold out
+            }
+        });
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStock()).isZero();
+        assertThat(productRepository.findById(second.getId()).orElseThrow().getStock()).isZero();
+    }
+
+    /**
+     * Runs THREADS * CHECKOUTS_PER_THREAD checkouts as the buyer.
+     * Any exception other than BusinessException fails the test.
+     */
+    private void runConcurrently(Runnable checkout) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(buyer.getEmail(), null, List.of()));
+                    try {
+                        start.await();
+                        for (int i = 0; i < CHECKOUTS_PER_THREAD; i++) {
+                            checkout.run();
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CreateOrderRequest orderOf(Long... productIds) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setShippingAddress("Calle 123 #45-67, Bogotá");
+        request.setItems(items);
+        return request;
+    }
+
+    private Product product(String name, int stock) {
+        return Product.builder()
+                .name(name)
+                .description("Contention test product")
+                .price(new BigDecimal("50000"))
+                .category(ProductCategory.OTHER)
+                .stock(stock)
+                .enabled(true)
+                .build();
+    }
+}
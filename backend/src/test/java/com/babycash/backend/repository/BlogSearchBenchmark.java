@@ -0,0 +1,151 @@
+package com.babycash.backend.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: blog search over a 50k-post synthetic Spanish corpus on PostgreSQL (Testcontainers)
+ *
+ * - legacyLike: previous searchPublishedPosts (three LOWER(...) LIKE '%q%' predicates) plus the
+ *   count query Spring Data runs for the Page
+ * - fullText: BlogPostSearchOperations.searchPublished (GIN index, ts_rank, ts_headline for the page)
+ *
+ * Posts are ~200 words drawn from a fixed vocabulary, so common terms match many rows and rare
+ * terms match few. Requires Docker. Not part of the test suite. Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.babycash.backend.repository.BlogSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BlogSearchBenchmark {
+
+    private static final int POSTS = 50_000;
+    private static final int WORDS_PER_POST = 200;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private static final List<String> COMMON = List.of(
+            "bebé", "cuidado", "familia", "salud", "sueño", "madre", "padre", "hogar", "juego", "rutina");
+    private static final List<String> RARE = List.of(
+            "lactancia", "vacunación", "cólicos", "dentición", "pañales", "estimulación", "gateo", "fiebre");
+    private static final List<String> FILLER = List.of(
+            "el", "la", "de", "para", "con", "los", "las", "una", "primeros", "meses", "consejos", "guía",
+            "práctica", "día", "noche", "tiempo", "niño", "niña", "pequeño", "mejor", "casa", "agua",
+            "comida", "ropa", "paseo", "médico", "pediatra", "crecimiento", "desarrollo", "alimentación");
+
+    private static final String LEGACY_SEARCH_SQL =
+            "SELECT id FROM blog_posts WHERE published = TRUE AND ("
+                    + "LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+                    + "LOWER(content) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+                    + "LOWER(excerpt) LIKE LOWER(CONCAT('%', ?, '%'))) LIMIT ? OFFSET ?";
+
+    private static final String LEGACY_COUNT_SQL =
+            "SELECT COUNT(*) FROM blog_posts WHERE published = TRUE AND ("
+                    + "LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+                    + "LOWER(content) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+                    + "LOWER(excerpt) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    @Param({"lactancia", "sueño", "consejos para dormir"})
+    private String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private BlogPostSearchOperationsImpl operations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        operations = new BlogPostSearchOperationsImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE blog_posts (id BIGSERIAL PRIMARY KEY, title VARCHAR(200) NOT NULL, "
+                + "excerpt TEXT, content TEXT NOT NULL, published BOOLEAN NOT NULL, published_at TIMESTAMP)");
+        jdbcTemplate.execute(StreamUtils.copyToString(
+                new ClassPathResource("db/blog_posts_search.sql").getInputStream(), StandardCharsets.UTF_8));
+
+        // Vocabulario: comunes 10 veces y relleno 20 veces más frecuentes que las raras;
+        // el trigger indexa cada fila al insertarla
+        List<String> vocabulary = new ArrayList<>(RARE);
+        for (int i = 0; i < 10; i++) {
+            vocabulary.addAll(COMMON);
+        }
+        for (int i = 0; i < 20; i++) {
+            vocabulary.addAll(FILLER);
+        }
+        jdbcTemplate.execute("CREATE FUNCTION words(vocab TEXT[], n INT) RETURNS TEXT AS $$"
+                + " SELECT string_agg(vocab[1 + floor(random() * array_length(vocab, 1))::int], ' ')"
+                + " FROM generate_series(1, n) $$ LANGUAGE sql VOLATILE");
+        String[] words = vocabulary.toArray(String[]::new);
+        jdbcTemplate.update("INSERT INTO blog_posts (title, excerpt, content, published, published_at)"
+                + " SELECT initcap(words(?::text[], 6)), words(?::text[], 20), words(?::text[], " + WORDS_PER_POST + "),"
+                + " g % 10 <> 0, now() - g * interval '1 hour'"
+                + " FROM generate_series(1, " + POSTS + ") g", words, words, words);
+        jdbcTemplate.execute("VACUUM ANALYZE blog_posts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long legacyLike() {
+        List<Long> ids = jdbcTemplate.queryForList(LEGACY_SEARCH_SQL, Long.class,
+                query, query, query, FIRST_PAGE.getPageSize(), FIRST_PAGE.getOffset());
+        Long total = jdbcTemplate.queryForObject(LEGACY_COUNT_SQL, Long.class, query, query, query);
+        return ids.size() + total;
+    }
+
+    @Benchmark
+    public long fullText() {
+        Page<BlogPostSearchOperations.SearchHit> page = operations.searchPublished(query, FIRST_PAGE);
+        return page.getContent().size() + page.getTotalElements();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlogSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.babycash.backend.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: redemption throughput on PostgreSQL (Testcontainers) as threads grow
+ *
+ * - manyUsers: each redemption picks one of 10k users; redemptions only wait on each other
+ *   when they hit the same user, so throughput should grow with threads up to the core count
+ * - hotUser: every redemption targets the same user; they serialize on that user's row
+ *
+ * Each redemption is the production transaction: LoyaltyBalanceOperations.tryRedeem plus the
+ * REDEEMED ledger row. main runs both benchmarks with 1, 2, 4, 8 and 16 threads.
+ * Requires Docker. Not part of the test suite. Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.babycash.backend.repository.LoyaltyRedemptionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoyaltyRedemptionBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int MAX_THREADS = 16;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private LoyaltyBalanceOperationsImpl operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(MAX_THREADS);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        operations = new LoyaltyBalanceOperationsImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE users (id BIGSERIAL PRIMARY KEY)");
+        jdbcTemplate.execute("INSERT INTO users SELECT FROM generate_series(1, " + USERS + ")");
+        jdbcTemplate.execute("CREATE TABLE loyalty_points (id BIGSERIAL PRIMARY KEY,"
+                + " user_id BIGINT NOT NULL REFERENCES users(id), transaction_type VARCHAR(20) NOT NULL,"
+                + " points INTEGER NOT NULL, description VARCHAR(500), active BOOLEAN NOT NULL,"
+                + " expires_at TIMESTAMP, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_loyalty_points_user_expiry ON loyalty_points(user_id, expires_at)"
+                + " WHERE active = true AND expires_at IS NOT NULL");
+        jdbcTemplate.execute("CREATE TABLE loyalty_balances (user_id BIGINT PRIMARY KEY REFERENCES users(id),"
+                + " balance INTEGER NOT NULL, lifetime_earned INTEGER NOT NULL, lifetime_redeemed INTEGER NOT NULL,"
+                + " lifetime_expired INTEGER NOT NULL, month_start DATE, earned_month INTEGER NOT NULL,"
+                + " tier VARCHAR(10) NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("INSERT INTO loyalty_balances (user_id, balance, lifetime_earned, lifetime_redeemed,"
+                + " lifetime_expired, earned_month, tier) SELECT id, 2000000000, 2000000000, 0, 0, 0, 'GOLD' FROM users");
+        jdbcTemplate.execute("ANALYZE loyalty_balances");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public boolean manyUsers() {
+        return redeem(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+
+    @Benchmark
+    public boolean hotUser() {
+        return redeem(1L);
+    }
+
+    private boolean redeem(long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!operations.tryRedeem(userId, 1, now)) {
+                return false;
+            }
+            jdbcTemplate.update("INSERT INTO loyalty_points (user_id, transaction_type, points, description, active, created_at)"
+                    + " VALUES (?, 'REDEEMED', -1, 'Puntos canjeados por recompensa', TRUE, ?)", userId, Timestamp.valueOf(now));
+            return true;
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            new Runner(new OptionsBuilder()
+                    .include(LoyaltyRedemptionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.babycash.backend.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark: refresh throughput with 10k concurrent sessions on PostgreSQL (Testcontainers)
+ *
+ * - legacyRoundTrips: previous RefreshTokenService flow (find, save revoked, count active,
+ *   insert), one statement per step
+ * - setBasedRotation: RefreshTokenOperations.rotate, revoke and insert in one statement
+ *
+ * Each JMH thread owns a disjoint slice of the sessions, as each client refreshes its own token.
+ * Requires Docker. Not part of the test suite. Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.babycash.backend.repository.RefreshTokenRotationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(RefreshTokenRotationBenchmark.THREADS)
+public class RefreshTokenRotationBenchmark {
+
+    static final int THREADS = 16;
+    private static final int SESSIONS = 10_000;
+    private static final int MAX_ACTIVE_TOKENS = 5;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private RefreshTokenOperationsImpl operations;
+
+    private final String[] currentHashes = new String[SESSIONS];
+    private final AtomicInteger nextSlice = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(THREADS);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        operations = new RefreshTokenOperationsImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE users (id BIGSERIAL PRIMARY KEY)");
+        jdbcTemplate.execute("INSERT INTO users SELECT FROM generate_series(1, " + SESSIONS + ")");
+        new ResourceDatabasePopulator(new ClassPathResource("db/refresh_tokens.sql")).execute(dataSource);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            currentHashes[i] = randomHash();
+            rows.add(new Object[]{currentHashes[i], (long) i + 1, Timestamp.valueOf(now.plusDays(7)), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO refresh_tokens (token_hash, user_id, expiry_date, created_at) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE refresh_tokens");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    /**
+     * Sesiones asignadas a un hilo de JMH
+     */
+    @State(Scope.Thread)
+    public static class Sessions {
+
+        private int from;
+        private int size;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(RefreshTokenRotationBenchmark benchmark) {
+            size = SESSIONS / THREADS;
+            from = benchmark.nextSlice.getAndIncrement() % THREADS * size;
+        }
+
+        int next() {
+            cursor = (cursor + 1) % size;
+            return from + cursor;
+        }
+    }
+
+    @Benchmark
+    public Long setBasedRotation(Sessions sessions) {
+        int session = sessions.next();
+        String newHash = randomHash();
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenOperations.Rotation rotation = transactionTemplate.execute(status -> operations
+                .rotate(currentHashes[session], newHash, now, now.plusDays(7), "127.0.0.1", "jmh")
+                .orElseThrow());
+        currentHashes[session] = newHash;
+        return rotation.id();
+    }
+
+    @Benchmark
+    public Long legacyRoundTrips(Sessions sessions) {
+        int session = sessions.next();
+        String newHash = randomHash();
+        LocalDateTime now = LocalDateTime.now();
+        Long id = transactionTemplate.execute(status -> {
+            Map<String, Object> old = jdbcTemplate.queryForMap(
+                    "SELECT id, user_id, revoked, expiry_date FROM refresh_tokens WHERE token_hash = ?",
+                    currentHashes[session]);
+            Long userId = ((Number) old.get("user_id")).longValue();
+            jdbcTemplate.update("UPDATE refresh_tokens SET revoked = TRUE, revoked_at = ? WHERE id = ?",
+                    Timestamp.valueOf(now), old.get("id"));
+
+            Long active = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND revoked = FALSE AND expiry_date > ?",
+                    Long.class, userId, Timestamp.valueOf(now));
+            if (active != null && active >= MAX_ACTIVE_TOKENS) {
+                List<Map<String, Object>> tokens = jdbcTemplate.queryForList(
+                        "SELECT id, created_at FROM refresh_tokens WHERE user_id = ? AND revoked = FALSE AND expiry_date > ?",
+                        userId, Timestamp.valueOf(now));
+                Object oldest = tokens.stream()
+                        .min(Comparator.comparing(t -> (Timestamp) t.get("created_at")))
+                        .orElseThrow()
+                        .get("id");
+                jdbcTemplate.update("UPDATE refresh_tokens SET revoked = TRUE, revoked_at = ? WHERE id = ?",
+                        Timestamp.valueOf(now), oldest);
+            }
+            return operations.insertToken(userId, newHash, now, now.plusDays(7), "127.0.0.1", "jmh");
+        });
+        currentHashes[session] = newHash;
+        return id;
+    }
+
+    private static String randomHash() {
+        byte[] bytes = new byte[32];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RefreshTokenRotationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,160 @@
+package com.babycash.backend.security;
+
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for JwtAuthenticationFilter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-filter-unit-tests-0123456789";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private UserAuthStateCache userAuthStateCache;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, userAuthStateCache);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+
+        user = User.builder()
+                .id(7L)
+                .email("ana@example.com")
+                .role(UserRole.USER)
+                .enabled(true)
+                .authVersion(2L)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from signed claims without loading the user")
+    void shouldAuthenticateFromClaims() throws Exception {
+        // Given
+        when(userAuthStateCache.get(7L)).thenReturn(new UserAuthStateCache.UserAuthState(UserRole.USER, true, 2L));
+
+        // When
+        filter.doFilter(requestWith(jwtUtil.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getName()).isEqualTo("ana@example.com");
+        assertThat(auth.getPrincipal()).isEqualTo(new AuthenticatedUser(7L, "ana@example.com", UserRole.USER));
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued before the user's auth version was bumped")
+    void shouldRejectStaleVersion() throws Exception {
+        // Given
+        when(userAuthStateCache.get(7L)).thenReturn(new UserAuthStateCache.UserAuthState(UserRole.USER, true, 3L));
+
+        // When
+        filter.doFilter(requestWith(jwtUtil.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a token when the user was disabled or changed role")
+    void shouldRejectDisabledOrRoleChangedUser() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(user);
+        when(userAuthStateCache.get(7L))
+                .thenReturn(new UserAuthStateCache.UserAuthState(UserRole.USER, false, 2L))
+                .thenReturn(new UserAuthStateCache.UserAuthState(UserRole.ADMIN, true, 2L));
+
+        // When
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication afterDisable = SecurityContextHolder.getContext().getAuthentication();
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(afterDisable).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back to loading the user for tokens without claims")
+    void shouldFallBackForLegacyToken() throws Exception {
+        // Given
+        String legacyToken = Jwts.builder()
+                .subject("ana@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+        when(userDetailsService.loadUserByUsername("ana@example.com")).thenReturn(
+                org.springframework.security.core.userdetails.User.withUsername("ana@example.com")
+                        .password("n/a")
+                        .authorities("ROLE_USER")
+                        .build());
+
+        // When
+        filter.doFilter(requestWith(legacyToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("ana@example.com");
+        verify(userAuthStateCache, never()).get(7L);
+    }
+
+    @Test
+    @DisplayName("Should ignore an invalid token")
+    void shouldIgnoreInvalidToken() throws Exception {
+        // When
+        filter.doFilter(requestWith("not.a.jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockHttpServletRequest requestWith(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,86 @@
+package com.babycash.backend.security;
+
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JwtUtil
+ */
+@DisplayName("JwtUtil Unit Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-util-unit-tests-0123456789";
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100);
+        user = User.builder()
+                .id(3L)
+                .email("luis@example.com")
+                .role(UserRole.ADMIN)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should issue tokens carrying the authentication claims")
+    void shouldIssueTokenWithClaims() {
+        // When
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(user));
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("luis@example.com");
+        assertThat(((Number) claims.get(JwtUtil.CLAIM_USER_ID)).longValue()).isEqualTo(3L);
+        assertThat(claims.get(JwtUtil.CLAIM_ROLE, String.class)).isEqualTo("ADMIN");
+        assertThat(claims.get(JwtUtil.CLAIM_ENABLED, Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the verified-token cache")
+    void shouldReuseVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(user);
+
+        // When
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("luis@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void shouldRejectForeignSignature() {
+        // Given
+        String foreign = new JwtUtil("another-secret-key-for-jwt-util-unit-tests-9876543210", 3_600_000L, 100)
+                .generateToken(user);
+
+        // When / Then
+        assertThatThrownBy(() -> jwtUtil.parseClaims(foreign)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void shouldRejectExpiredToken() {
+        // Given
+        JwtUtil expiredIssuer = new JwtUtil(SECRET, -1_000L, 100);
+        String expired = expiredIssuer.generateToken(user);
+
+        // When / Then
+        assertThatThrownBy(() -> jwtUtil.parseClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.babycash.backend.security;
+
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: cost of verifying the bearer token of one request, under concurrent load
+ *
+ * - legacyPerRequest: previous JwtUtil behaviour, key and parser rebuilt on every call and the
+ *   token parsed three times per request (extractUsername + validateToken)
+ * - sharedParser: one verification with the pre-built key and parser
+ * - verifiedCache: JwtUtil.parseClaims, served from the verified-token cache after the first hit
+ *
+ * Not part of the test suite. Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.babycash.backend.security.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-verification-0123456789";
+    private static final int ACTIVE_USERS = 512;
+
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+        tokens = new String[ACTIVE_USERS];
+        for (int i = 0; i < ACTIVE_USERS; i++) {
+            tokens[i] = jwtUtil.generateToken(User.builder()
+                    .id((long) i)
+                    .email("user" + i + "@example.com")
+                    .role(UserRole.USER)
+                    .enabled(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String token = nextToken();
+        String username = legacyParse(token).getSubject();
+        String validated = legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        return username.equals(validated) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtUtil.verify(nextToken());
+    }
+
+    @Benchmark
+    public Claims verifiedCache() {
+        return jwtUtil.parseClaims(nextToken());
+    }
+
+    private Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(ACTIVE_USERS)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
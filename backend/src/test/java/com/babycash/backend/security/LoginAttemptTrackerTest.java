@@ -0,0 +1,126 @@
+package com.babycash.backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LoginAttemptTracker
+ */
+@DisplayName("LoginAttemptTracker Unit Tests")
+class LoginAttemptTrackerTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+    private static final long T0 = 1_700_000_000_000L;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should count failures per IP and per account inside the window")
+    void shouldCountPerIpAndAccount() {
+        // Given
+        LoginAttemptTracker tracker = tracker(true);
+
+        // When
+        tracker.recordFailure("203.0.113.7", "ana@example.com", T0);
+        tracker.recordFailure("203.0.113.7", "luis@example.com", T0 + MINUTE);
+        LoginAttemptTracker.Failures failures = tracker.recordFailure("198.51.100.2", "ana@example.com", T0 + 2 * MINUTE);
+
+        // Then
+        assertThat(failures.byIp()).isEqualTo(1);
+        assertThat(failures.byAccount()).isEqualTo(2);
+        assertThat(tracker.recordFailure("203.0.113.7", null, T0 + 3 * MINUTE).byIp()).isEqualTo(3);
+        assertThat(meterRegistry.get("security.login.failures").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should forget failures once they slide out of the window")
+    void shouldSlideWindow() {
+        // Given
+        LoginAttemptTracker tracker = tracker(true);
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("203.0.113.7", "ana@example.com", T0);
+        }
+
+        // When
+        LoginAttemptTracker.Failures insideWindow = tracker.recordFailure("203.0.113.7", "ana@example.com", T0 + 14 * MINUTE);
+        LoginAttemptTracker.Failures afterWindow = tracker.recordFailure("203.0.113.7", "ana@example.com", T0 + 15 * MINUTE);
+
+        // Then
+        assertThat(insideWindow.byIp()).isEqualTo(4);
+        assertThat(afterWindow.byIp()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should lock out an account after the threshold and release it when failures expire")
+    void shouldLockOutTemporarily() {
+        // Given
+        LoginAttemptTracker tracker = tracker(true);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("10.0.0." + i, "ana@example.com", T0);
+        }
+
+        // When / Then
+        assertThat(tracker.isLockedOut("10.0.0.99", "ana@example.com", T0 + MINUTE)).isTrue();
+        assertThat(tracker.isLockedOut("10.0.0.99", "luis@example.com", T0 + MINUTE)).isFalse();
+        assertThat(tracker.isLockedOut("10.0.0.99", "ana@example.com", T0 + 15 * MINUTE)).isFalse();
+        assertThat(meterRegistry.get("security.login.lockouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should clear the account counter after a successful login")
+    void shouldResetAccountOnSuccess() {
+        // Given
+        LoginAttemptTracker tracker = tracker(true);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("203.0.113.7", "ana@example.com", T0);
+        }
+
+        // When
+        tracker.recordSuccess("ana@example.com");
+
+        // Then
+        assertThat(tracker.isLockedOut("198.51.100.2", "ana@example.com", T0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never lock out when the lockout is disabled")
+    void shouldNotLockOutWhenDisabled() {
+        // Given
+        LoginAttemptTracker tracker = tracker(false);
+        for (int i = 0; i < 100; i++) {
+            tracker.recordFailure("203.0.113.7", "ana@example.com", T0);
+        }
+
+        // When / Then
+        assertThat(tracker.isLockedOut("203.0.113.7", "ana@example.com", T0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should alert at the threshold and at each multiple, not on every failure")
+    void shouldAlertOnThresholdMultiples() {
+        // Given
+        LoginAttemptTracker tracker = tracker(true);
+
+        // When / Then
+        assertThat(tracker.shouldAlert(4)).isFalse();
+        assertThat(tracker.shouldAlert(5)).isTrue();
+        assertThat(tracker.shouldAlert(6)).isFalse();
+        assertThat(tracker.shouldAlert(10)).isTrue();
+    }
+
+    private LoginAttemptTracker tracker(boolean lockoutEnabled) {
+        return new LoginAttemptTracker(meterRegistry, 15, 5, lockoutEnabled, 50, 10, 1_000);
+    }
+}
@@ -9,6 +9,8 @@ import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.UserRepository;
 import com.babycash.backend.security.JwtUtil;
+import com.babycash.backend.security.LoginAttemptTracker;
+import com.babycash.backend.security.UserAuthStateCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +22,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -52,7 +52,10 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private UserAuthStateCache userAuthStateCache;
+
+    @Mock
+    private EmailService emailService;
 
     @Mock
     private AuditService auditService;
@@ -60,13 +63,15 @@ class AuthServiceTest {
     @Mock
     private RefreshTokenService refreshTokenService;
 
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
     @InjectMocks
     private AuthService authService;
 
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
     private User mockUser;
-    private UserDetails mockUserDetails;
 
     @BeforeEach
     void setUp() {
@@ -97,13 +102,6 @@ class AuthServiceTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
-
-        // Setup mock UserDetails
-        mockUserDetails = org.springframework.security.core.userdetails.User
-                .withUsername("test@example.com")
-                .password("$2a$10$encodedPassword")
-                .authorities("ROLE_USER")
-                .build();
     }
 
     @Test
@@ -113,8 +111,7 @@ class AuthServiceTest {
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn("mock.jwt.token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("mock.jwt.token");
         when(refreshTokenService.createRefreshToken(any(User.class)))
                 .thenReturn(com.babycash.backend.model.entity.RefreshToken.builder()
                         .token("refresh-token-123")
@@ -134,7 +131,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail("test@example.com");
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
-        verify(jwtUtil).generateToken(any(UserDetails.class));
+        verify(jwtUtil).generateToken(any(User.class));
     }
 
     @Test
@@ -150,7 +147,7 @@ class AuthServiceTest {
 
         verify(userRepository).existsByEmail("test@example.com");
         verify(userRepository, never()).save(any(User.class));
-        verify(jwtUtil, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtil, never()).generateToken(any(User.class));
     }
 
     @Test
@@ -161,8 +158,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(mockAuthentication);
         when(userRepository.findByEmail(anyString())).thenReturn(java.util.Optional.of(mockUser));
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn("mock.jwt.token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("mock.jwt.token");
         when(refreshTokenService.createRefreshToken(any(User.class)))
                 .thenReturn(com.babycash.backend.model.entity.RefreshToken.builder()
                         .token("refresh-token-123")
@@ -178,8 +174,8 @@ class AuthServiceTest {
         
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository).findByEmail("test@example.com");
-        verify(userDetailsService).loadUserByUsername("test@example.com");
-        verify(jwtUtil).generateToken(any(UserDetails.class));
+        verify(jwtUtil).generateToken(any(User.class));
+        verify(loginAttemptTracker).recordSuccess("test@example.com");
     }
 
     @Test
@@ -195,7 +191,23 @@ class AuthServiceTest {
                 .hasMessageContaining("Credenciales inválidas");
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtil, never()).generateToken(any(User.class));
+        verify(auditService).logFailedLogin("test@example.com", "Credenciales inválidas");
+    }
+
+    @Test
+    @DisplayName("Should reject login without checking the password while locked out")
+    void testLogin_LockedOut() {
+        // Given
+        when(loginAttemptTracker.isLockedOut("test@example.com")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest))
+                .isInstanceOf(AuthenticationException.class)
+                .hasMessageContaining("Demasiados intentos fallidos");
+
+        verify(authenticationManager, never()).authenticate(any());
+        verify(auditService, never()).logFailedLogin(anyString(), anyString());
     }
 
     @Test
@@ -226,8 +238,7 @@ class AuthServiceTest {
             assertThat(savedUser.getRole()).isEqualTo(UserRole.USER);
             return mockUser;
         });
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn("mock.jwt.token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("mock.jwt.token");
         when(refreshTokenService.createRefreshToken(any(User.class)))
                 .thenReturn(com.babycash.backend.model.entity.RefreshToken.builder()
                         .token("refresh-token-123")
@@ -251,8 +262,7 @@ class AuthServiceTest {
             assertThat(savedUser.getEnabled()).isTrue();
             return mockUser;
         });
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn("mock.jwt.token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("mock.jwt.token");
         when(refreshTokenService.createRefreshToken(any(User.class)))
                 .thenReturn(com.babycash.backend.model.entity.RefreshToken.builder()
                         .token("refresh-token-123")
@@ -264,4 +274,22 @@ class AuthServiceTest {
         // Then
         verify(userRepository).save(any(User.class));
     }
+
+    @Test
+    @DisplayName("Should revoke issued access tokens when the password is reset")
+    void testResetPassword_BumpsAuthVersion() {
+        // Given
+        mockUser.setResetPasswordToken("123456");
+        mockUser.setResetPasswordExpiry(LocalDateTime.now().plusMinutes(5));
+        when(userRepository.findByResetPasswordToken("123456")).thenReturn(java.util.Optional.of(mockUser));
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$newEncodedPassword");
+
+        // When
+        authService.resetPassword("123456", "newPassword123");
+
+        // Then
+        assertThat(mockUser.getAuthVersion()).isEqualTo(1L);
+        verify(userRepository).save(mockUser);
+        verify(userAuthStateCache).evict(1L);
+    }
 }
@@ -0,0 +1,171 @@
+package com.babycash.backend.service;
+
+import com.babycash.backend.config.CacheConfig;
+import com.babycash.backend.dto.comment.CommentResponse;
+import com.babycash.backend.model.entity.BlogComment;
+import com.babycash.backend.model.entity.BlogPost;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.repository.BlogCommentRepository;
+import com.babycash.backend.repository.BlogPostRepository;
+import com.babycash.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlogCommentService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogCommentService Unit Tests")
+class BlogCommentServiceTest {
+
+    @Mock
+    private BlogCommentRepository commentRepository;
+
+    @Mock
+    private BlogPostRepository blogPostRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache commentTrees;
+
+    @InjectMocks
+    private BlogCommentService commentService;
+
+    private BlogPost post;
+    private User author;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        post = BlogPost.builder().id(10L).title("Post").build();
+        author = User.builder().id(1L).email("reader@test.com").firstName("Ana").lastName("Reader").build();
+        base = LocalDateTime.of(2025, 1, 1, 12, 0);
+    }
+
+    @Test
+    @DisplayName("Should assemble the comment tree from a single query")
+    void shouldBuildTreeFromSingleQuery() {
+        // Given
+        BlogComment first = comment(1L, null, 0);
+        BlogComment second = comment(2L, null, 1);
+        BlogComment reply = comment(3L, first, 2);
+        BlogComment nested = comment(4L, reply, 3);
+        BlogComment laterReply = comment(5L, first, 4);
+        when(commentRepository.findApprovedWithUserByPostId(10L))
+                .thenReturn(List.of(first, second, reply, nested, laterReply));
+
+        // When
+        List<CommentResponse> tree = commentService.getApprovedCommentsByPost(10L);
+
+        // Then
+        assertThat(tree).extracting(CommentResponse::getId).containsExactly(2L, 1L);
+        CommentResponse firstResponse = tree.get(1);
+        assertThat(firstResponse.getReplies()).extracting(CommentResponse::getId).containsExactly(3L, 5L);
+        assertThat(firstResponse.getReplies().get(0).getReplies()).extracting(CommentResponse::getId)
+                .containsExactly(4L);
+        assertThat(firstResponse.getUser().getEmail()).isEqualTo("reader@test.com");
+        verify(commentRepository, times(1)).findApprovedWithUserByPostId(10L);
+        verifyNoMoreInteractions(commentRepository);
+    }
+
+    @Test
+    @DisplayName("Should leave out replies whose parent is not approved")
+    void shouldSkipRepliesOfUnapprovedParents() {
+        // Given
+        BlogComment pendingParent = comment(1L, null, 0);
+        BlogComment orphan = comment(2L, pendingParent, 1);
+        when(commentRepository.findApprovedWithUserByPostId(10L)).thenReturn(List.of(orphan));
+
+        // When
+        List<CommentResponse> tree = commentService.getApprovedCommentsByPost(10L);
+
+        // Then
+        assertThat(tree).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return an unmodifiable tree since it is shared through the cache")
+    void shouldReturnUnmodifiableTree() {
+        // Given
+        BlogComment root = comment(1L, null, 0);
+        BlogComment reply = comment(2L, root, 1);
+        when(commentRepository.findApprovedWithUserByPostId(10L)).thenReturn(List.of(root, reply));
+
+        // When
+        List<CommentResponse> tree = commentService.getApprovedCommentsByPost(10L);
+
+        // Then
+        CommentResponse extra = CommentResponse.builder().id(99L).build();
+        assertThatThrownBy(() -> tree.add(extra)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tree.get(0).getReplies().add(extra))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tree.get(0).getReplies().get(0).getReplies().add(extra))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should evict the post's comment tree when a comment is approved")
+    void shouldEvictTreeOnApprove() {
+        // Given
+        BlogComment pending = comment(1L, null, 0);
+        pending.setApproved(false);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(pending));
+        when(commentRepository.save(any(BlogComment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.COMMENT_TREES)).thenReturn(commentTrees);
+
+        // When
+        commentService.approveComment(1L);
+
+        // Then
+        verify(commentTrees).evict(10L);
+    }
+
+    @Test
+    @DisplayName("Should evict the post's comment tree when a comment is deleted")
+    void shouldEvictTreeOnDelete() {
+        // Given
+        BlogComment existing = comment(1L, null, 0);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(cacheManager.getCache(CacheConfig.COMMENT_TREES)).thenReturn(commentTrees);
+
+        // When
+        commentService.deleteComment(1L);
+
+        // Then
+        verify(commentRepository).delete(existing);
+        verify(commentTrees).evict(10L);
+    }
+
+    private BlogComment comment(Long id, BlogComment parent, int minutesAfterBase) {
+        return BlogComment.builder()
+                .id(id)
+                .blogPost(post)
+                .user(author)
+                .content("Comment " + id)
+                .parentComment(parent)
+                .approved(true)
+                .createdAt(base.plusMinutes(minutesAfterBase))
+                .build();
+    }
+}
@@ -2,13 +2,18 @@ package com.babycash.backend.service;
 
 import com.babycash.backend.dto.request.BlogPostRequest;
 import com.babycash.backend.dto.response.BlogPostResponse;
+import com.babycash.backend.dto.response.BlogPostSummaryResponse;
 import com.babycash.backend.exception.custom.BusinessException;
 import com.babycash.backend.exception.custom.ResourceNotFoundException;
 import com.babycash.backend.model.entity.BlogPost;
 import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.BlogPostRepository;
+import com.babycash.backend.repository.BlogPostSearchOperations.SearchHit;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.repository.projection.BlogPostSummary;
+import com.babycash.backend.repository.projection.BlogPostTag;
+import com.babycash.backend.service.blog.BlogViewCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,6 +51,9 @@ class BlogPostServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BlogViewCounter blogViewCounter;
+
     @InjectMocks
     private BlogPostService blogPostService;
 
@@ -271,11 +279,11 @@ class BlogPostServiceTest {
     }
 
     @Test
-    @DisplayName("Should get post by slug and increment view count")
+    @DisplayName("Should get post by slug and record the view without saving the post")
     void shouldGetPostBySlugAndIncrementViews() {
         // Given
         when(blogPostRepository.findBySlug("test-post")).thenReturn(Optional.of(testPost));
-        when(blogPostRepository.save(any(BlogPost.class))).thenReturn(testPost);
+        when(blogViewCounter.pending(1L)).thenReturn(3L);
 
         // When
         BlogPostResponse response = blogPostService.getPostBySlug("test-post");
@@ -283,7 +291,9 @@ class BlogPostServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getSlug()).isEqualTo("test-post");
-        verify(blogPostRepository, times(1)).save(any(BlogPost.class)); // Save for view count
+        assertThat(response.getViewCount()).isEqualTo(3L); // Views not flushed yet
+        verify(blogViewCounter, times(1)).record(1L);
+        verify(blogPostRepository, never()).save(any(BlogPost.class));
     }
 
     @Test
@@ -414,6 +424,49 @@ class BlogPostServiceTest {
         assertThat(response.getContent()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Should return full-text hits in rank order with an escaped highlight")
+    void shouldSearchPostsWithFullTextInRankOrder() {
+        // Given
+        testPost.setPublished(true);
+        BlogPost secondPost = BlogPost.builder()
+                .id(2L)
+                .title("Second Post")
+                .slug("second-post")
+                .content("Lactancia <b>materna</b>")
+                .author(testAuthor)
+                .published(true)
+                .viewCount(0L)
+                .build();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(blogPostRepository.isFullTextSearchAvailable()).thenReturn(true);
+        when(blogPostRepository.searchPublished("lactancia", pageable)).thenReturn(new PageImpl<>(List.of(
+                new SearchHit(2L, 0.9f, "\u0002Lactancia\u0003 <b>materna</b>"),
+                new SearchHit(1L, 0.1f, "Test content")), pageable, 2));
+        when(blogPostRepository.findWithAuthorByIdIn(List.of(2L, 1L))).thenReturn(List.of(testPost, secondPost));
+
+        // When
+        Page<BlogPostResponse> response = blogPostService.searchPosts("lactancia", pageable);
+
+        // Then
+        assertThat(response.getTotalElements()).isEqualTo(2);
+        assertThat(response.getContent()).extracting(BlogPostResponse::getId).containsExactly(2L, 1L);
+        assertThat(response.getContent().get(0).getHighlight())
+                .isEqualTo("<mark>Lactancia</mark> &lt;b&gt;materna&lt;/b&gt;");
+        verify(blogPostRepository, never()).searchPublishedPosts(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for a blank search query")
+    void shouldReturnEmptyPageForBlankQuery() {
+        // When
+        Page<BlogPostResponse> response = blogPostService.searchPosts("  ", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(response.getContent()).isEmpty();
+        verifyNoInteractions(blogPostRepository);
+    }
+
     @Test
     @DisplayName("Should get posts by tag successfully")
     void shouldGetPostsByTagSuccessfully() {
@@ -452,4 +505,49 @@ class BlogPostServiceTest {
         assertThat(response).hasSize(1);
         assertThat(response.get(0).getViewCount()).isEqualTo(100L);
     }
+
+    @Test
+    @DisplayName("Should map published summaries with tags loaded in one query and pending views")
+    void shouldGetPublishedPostSummaries() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        BlogPostSummary first = summary(1L, 40L);
+        BlogPostSummary second = summary(2L, 7L);
+        when(blogPostRepository.findPublishedSummaries(pageable))
+                .thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        when(blogPostRepository.findTagsByPostIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new BlogPostTag(1L, "bebés"), new BlogPostTag(1L, "salud")));
+        when(blogViewCounter.pending(1L)).thenReturn(2L);
+
+        // When
+        Page<BlogPostSummaryResponse> response = blogPostService.getPublishedPostSummaries(pageable);
+
+        // Then
+        assertThat(response.getContent()).hasSize(2);
+        BlogPostSummaryResponse firstResponse = response.getContent().get(0);
+        assertThat(firstResponse.getTags()).containsExactly("bebés", "salud");
+        assertThat(firstResponse.getViewCount()).isEqualTo(42L);
+        assertThat(firstResponse.getAuthorName()).isEqualTo("Test Author");
+        assertThat(response.getContent().get(1).getTags()).isEmpty();
+        verify(blogPostRepository, never()).findByPublishedTrueOrderByPublishedAtDesc(any());
+    }
+
+    @Test
+    @DisplayName("Should not query tags when there are no most viewed summaries")
+    void shouldSkipTagQueryForEmptySummaries() {
+        // Given
+        when(blogPostRepository.findMostViewedSummaries(PageRequest.of(0, 10))).thenReturn(List.of());
+
+        // When
+        List<BlogPostSummaryResponse> response = blogPostService.getMostViewedPostSummaries();
+
+        // Then
+        assertThat(response).isEmpty();
+        verify(blogPostRepository, never()).findTagsByPostIdIn(any());
+    }
+
+    private BlogPostSummary summary(Long id, Long viewCount) {
+        return new BlogPostSummary(id, "Post " + id, "post-" + id, "Excerpt", null, false, viewCount,
+                LocalDateTime.now(), testAuthor.getId(), testAuthor.getFirstName(), testAuthor.getLastName());
+    }
 }
@@ -11,8 +11,9 @@ import com.babycash.backend.model.entity.User;
 import com.babycash.backend.model.enums.ProductCategory;
 import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.CartRepository;
-import com.babycash.backend.repository.ProductRepository;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.catalog.ProductBatchResolver;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,11 +27,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,7 +48,7 @@ class CartServiceTest {
     private CartRepository cartRepository;
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductBatchResolver productBatchResolver;
 
     @Mock
     private UserRepository userRepository;
@@ -105,11 +109,16 @@ class CartServiceTest {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @DisplayName("Should add product to empty cart successfully")
     void shouldAddProductToEmptyCartSuccessfully() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct));
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.empty());
         when(cartRepository.save(any(Cart.class))).thenAnswer(invocation -> {
             Cart cart = invocation.getArgument(0);
@@ -128,7 +137,7 @@ class CartServiceTest {
         assertThat(response.getTotalItems()).isEqualTo(2);
         assertThat(response.getTotalAmount()).isEqualByComparingTo(new BigDecimal("599.98"));
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L));
         verify(cartRepository, times(2)).save(any(Cart.class));
     }
 
@@ -136,7 +145,7 @@ class CartServiceTest {
     @DisplayName("Should add product to existing cart successfully")
     void shouldAddProductToExistingCartSuccessfully() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct));
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
         when(cartRepository.save(any(Cart.class))).thenReturn(mockCart);
 
@@ -161,7 +170,7 @@ class CartServiceTest {
                 .build();
         mockCart.getItems().add(existingItem);
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct));
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
         when(cartRepository.save(any(Cart.class))).thenReturn(mockCart);
 
@@ -179,14 +188,14 @@ class CartServiceTest {
     @DisplayName("Should throw exception when product not found")
     void shouldThrowExceptionWhenProductNotFound() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of());
 
         // When & Then
         assertThatThrownBy(() -> cartService.addToCart(addToCartRequest))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Product not found");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L));
         verify(cartRepository, never()).save(any(Cart.class));
     }
 
@@ -195,14 +204,14 @@ class CartServiceTest {
     void shouldThrowExceptionWhenProductIsDisabled() {
         // Given
         mockProduct.setEnabled(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct));
 
         // When & Then
         assertThatThrownBy(() -> cartService.addToCart(addToCartRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Product is not available");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L));
         verify(cartRepository, never()).save(any(Cart.class));
     }
 
@@ -212,14 +221,14 @@ class CartServiceTest {
         // Given
         mockProduct.setStock(1);
         addToCartRequest.setQuantity(5);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct));
 
         // When & Then
         assertThatThrownBy(() -> cartService.addToCart(addToCartRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Insufficient stock");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L));
         verify(cartRepository, never()).save(any(Cart.class));
     }
 
@@ -254,6 +263,7 @@ class CartServiceTest {
         mockCart.getItems().add(item);
 
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
+        when(productBatchResolver.resolve(List.of(1L))).thenReturn(Map.of(1L, mockProduct));
 
         // When
         CartResponse response = cartService.getCart();
@@ -280,6 +290,7 @@ class CartServiceTest {
         mockCart.getItems().add(item);
 
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
+        when(productBatchResolver.resolve(List.of(1L))).thenReturn(Map.of(1L, mockProduct));
         when(cartRepository.save(any(Cart.class))).thenReturn(mockCart);
 
         // When
@@ -347,6 +358,7 @@ class CartServiceTest {
         mockProduct.setStock(5);
 
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
+        when(productBatchResolver.resolve(List.of(1L))).thenReturn(Map.of(1L, mockProduct));
 
         // When & Then
         assertThatThrownBy(() -> cartService.updateCartItem(1L, 10))
@@ -428,6 +440,7 @@ class CartServiceTest {
         mockCart.getItems().add(item);
 
         when(cartRepository.findByUser(mockUser)).thenReturn(Optional.of(mockCart));
+        when(productBatchResolver.resolve(List.of(1L))).thenReturn(Map.of(1L, mockProduct));
 
         // When
         CartResponse response = cartService.getCart();
@@ -0,0 +1,201 @@
+package com.babycash.backend.service;
+
+import com.babycash.backend.dto.LoyaltyPointsResponse;
+import com.babycash.backend.model.entity.LoyaltyBalance;
+import com.babycash.backend.model.entity.LoyaltyPoint;
+import com.babycash.backend.model.entity.Order;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.LoyaltyTransactionType;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.LoyaltyBalanceRepository;
+import com.babycash.backend.repository.LoyaltyPointRepository;
+import com.babycash.backend.service.maintenance.MaintenanceJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoyaltyService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoyaltyService Unit Tests")
+class LoyaltyServiceTest {
+
+    @Mock
+    private LoyaltyPointRepository loyaltyPointRepository;
+
+    @Mock
+    private LoyaltyBalanceRepository loyaltyBalanceRepository;
+
+    @Mock
+    private MaintenanceJobRunner maintenanceJobRunner;
+
+    @InjectMocks
+    private LoyaltyService loyaltyService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .role(UserRole.USER)
+                .enabled(true)
+                .createdAt(LocalDateTime.of(2024, 3, 1, 10, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should build the summary from the balance row without loading the history")
+    void shouldReadSummaryFromBalanceRow() {
+        // Given
+        LoyaltyBalance balance = LoyaltyBalance.builder()
+                .userId(1L)
+                .balance(2_300)
+                .lifetimeEarned(5_200)
+                .lifetimeRedeemed(2_500)
+                .lifetimeExpired(400)
+                .monthStart(YearMonth.now().atDay(1))
+                .earnedMonth(120)
+                .tier("GOLD")
+                .build();
+        when(loyaltyBalanceRepository.findById(1L)).thenReturn(Optional.of(balance));
+        when(loyaltyPointRepository.sumPointsExpiringBetween(eq(user), any(), any())).thenReturn(75);
+
+        // When
+        LoyaltyPointsResponse response = loyaltyService.getUserLoyaltyPoints(user);
+
+        // Then
+        assertThat(response.getTotalPoints()).isEqualTo(2_300);
+        assertThat(response.getEarnedTotal()).isEqualTo(5_200);
+        assertThat(response.getRedeemedTotal()).isEqualTo(2_500);
+        assertThat(response.getEarnedThisMonth()).isEqualTo(120);
+        assertThat(response.getExpiringSoon()).isEqualTo(75);
+        assertThat(response.getTier()).isEqualTo("GOLD");
+        assertThat(response.getMemberSince()).isEqualTo("2024");
+        assertThat(response.getAvailableDiscountPercent()).isEqualTo(10);
+        assertThat(response.getPointsForNextDiscount()).isEqualTo(700);
+        verify(loyaltyPointRepository, never()).findByUserOrderByCreatedAtDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not count points past their expiry that the expiry job has not processed yet")
+    void shouldExcludePointsDueForExpiry() {
+        // Given
+        LoyaltyBalance balance = LoyaltyBalance.empty(1L);
+        balance.setBalance(1_500);
+        when(loyaltyBalanceRepository.findById(1L)).thenReturn(Optional.of(balance));
+        when(loyaltyPointRepository.sumPointsDueForExpiry(eq(user), any())).thenReturn(600);
+
+        // When
+        LoyaltyPointsResponse response = loyaltyService.getUserLoyaltyPoints(user);
+
+        // Then
+        assertThat(response.getTotalPoints()).isEqualTo(900);
+        assertThat(response.getAvailableDiscountPercent()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report zero points earned this month when the bucket belongs to an earlier month")
+    void shouldResetMonthlyBucket() {
+        // Given
+        LoyaltyBalance balance = LoyaltyBalance.empty(1L);
+        balance.setMonthStart(LocalDate.now().withDayOfMonth(1).minusMonths(1));
+        balance.setEarnedMonth(300);
+        when(loyaltyBalanceRepository.findById(1L)).thenReturn(Optional.of(balance));
+        when(loyaltyPointRepository.sumPointsExpiringBetween(eq(user), any(), any())).thenReturn(0);
+
+        // When
+        LoyaltyPointsResponse response = loyaltyService.getUserLoyaltyPoints(user);
+
+        // Then
+        assertThat(response.getEarnedThisMonth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return an empty BRONZE summary for a user without loyalty activity")
+    void shouldReturnEmptySummaryWithoutBalanceRow() {
+        // Given
+        when(loyaltyBalanceRepository.findById(1L)).thenReturn(Optional.empty());
+        when(loyaltyPointRepository.sumPointsExpiringBetween(eq(user), any(), any())).thenReturn(0);
+
+        // When
+        LoyaltyPointsResponse response = loyaltyService.getUserLoyaltyPoints(user);
+
+        // Then
+        assertThat(response.getTotalPoints()).isZero();
+        assertThat(response.getEarnedTotal()).isZero();
+        assertThat(response.getTier()).isEqualTo("BRONZE");
+        assertThat(response.getPointsForNextDiscount()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Should record earned points in the ledger and in the balance summary")
+    void shouldAwardPointsAndUpdateBalance() {
+        // Given
+        Order order = Order.builder().id(10L).orderNumber("ORD-10").build();
+
+        // When
+        Integer awarded = loyaltyService.awardPointsForPurchase(user, order, new BigDecimal("125500"));
+
+        // Then
+        assertThat(awarded).isEqualTo(125);
+        ArgumentCaptor<LoyaltyPoint> saved = ArgumentCaptor.forClass(LoyaltyPoint.class);
+        verify(loyaltyPointRepository).save(saved.capture());
+        assertThat(saved.getValue().getTransactionType()).isEqualTo(LoyaltyTransactionType.EARNED);
+        assertThat(saved.getValue().getPoints()).isEqualTo(125);
+        verify(loyaltyBalanceRepository).recordEarned(eq(1L), eq(125), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a redemption the balance does not cover without writing the ledger")
+    void shouldRejectRedemptionAboveBalance() {
+        // Given
+        when(loyaltyBalanceRepository.tryRedeem(eq(1L), eq(100), any(LocalDateTime.class))).thenReturn(false);
+
+        // When
+        boolean redeemed = loyaltyService.redeemPoints(user, 100);
+
+        // Then
+        assertThat(redeemed).isFalse();
+        verify(loyaltyPointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should write the ledger row after the balance is debited")
+    void shouldRedeemPointsAndUpdateBalance() {
+        // Given
+        when(loyaltyBalanceRepository.tryRedeem(eq(1L), eq(100), any(LocalDateTime.class))).thenReturn(true);
+
+        // When
+        boolean redeemed = loyaltyService.redeemPoints(user, 100);
+
+        // Then
+        assertThat(redeemed).isTrue();
+        ArgumentCaptor<LoyaltyPoint> saved = ArgumentCaptor.forClass(LoyaltyPoint.class);
+        verify(loyaltyPointRepository).save(saved.capture());
+        assertThat(saved.getValue().getTransactionType()).isEqualTo(LoyaltyTransactionType.REDEEMED);
+        assertThat(saved.getValue().getPoints()).isEqualTo(-100);
+        verify(loyaltyBalanceRepository, never()).findById(anyLong());
+    }
+}
@@ -14,6 +14,9 @@ import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.OrderRepository;
 import com.babycash.backend.repository.ProductRepository;
 import com.babycash.backend.repository.UserRepository;
+import com.babycash.backend.service.catalog.ProductBatchResolver;
+import com.babycash.backend.service.order.OrderStatsTracker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,11 +36,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 /**
@@ -56,6 +62,15 @@ class OrderServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductBatchResolver productBatchResolver;
+
+    @Mock
+    private OrderStatsTracker orderStatsTracker;
+
+    @Mock
+    private ProductService productService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -132,20 +147,24 @@ class OrderServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        // Mock security context
-        when(securityContext.getAuthentication()).thenReturn(authentication);
+        // Mock security context (lenient: admin operations do not resolve the current user)
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        lenient().when(authentication.getName()).thenReturn("test@example.com");
+        lenient().when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
     @DisplayName("Should create order successfully")
     void shouldCreateOrderSuccessfully() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(mockProduct2));
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1, 2L, mockProduct2));
+        when(productRepository.reserveStock(anyMap())).thenReturn(List.of());
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setId(1L);
@@ -166,22 +185,23 @@ class OrderServiceTest {
         assertThat(response.getItems()).hasSize(2);
         assertThat(response.getShippingAddress()).isEqualTo("123 Main St, City, Country");
 
-        verify(productRepository).findById(1L);
-        verify(productRepository).findById(2L);
-        verify(productRepository, times(2)).save(any(Product.class));
+        verify(productBatchResolver).resolve(List.of(1L, 2L));
+        verify(productRepository).reserveStock(Map.of(1L, 2, 2L, 1));
+        verify(productRepository, never()).save(any(Product.class));
         verify(orderRepository, times(2)).save(any(Order.class));
+        verify(orderStatsTracker).recordCreated(OrderStatus.PENDING, response.getTotalAmount());
+        verify(productService).onStockChanged(argThat(products -> products.containsAll(List.of(mockProduct1, mockProduct2))));
     }
 
     @Test
-    @DisplayName("Should reduce product stock when creating order")
+    @DisplayName("Should reserve product stock in a single batch when creating order")
     void shouldReduceProductStockWhenCreatingOrder() {
         // Given
         int initialStock1 = mockProduct1.getStock();
         int initialStock2 = mockProduct2.getStock();
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(mockProduct2));
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1, 2L, mockProduct2));
+        when(productRepository.reserveStock(anyMap())).thenReturn(List.of());
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setId(1L);
@@ -192,24 +212,61 @@ class OrderServiceTest {
         orderService.createOrder(createOrderRequest);
 
         // Then
-        assertThat(mockProduct1.getStock()).isEqualTo(initialStock1 - 2);
-        assertThat(mockProduct2.getStock()).isEqualTo(initialStock2 - 1);
+        verify(productRepository).reserveStock(Map.of(1L, 2, 2L, 1));
+        // Managed entities are not modified: a stale in-memory stock must never be flushed
+        assertThat(mockProduct1.getStock()).isEqualTo(initialStock1);
+        assertThat(mockProduct2.getStock()).isEqualTo(initialStock2);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should reject order when a concurrent checkout took the remaining stock")
+    void shouldRejectOrderWhenStockReservationFails() {
+        // Given
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1, 2L, mockProduct2));
+        when(productRepository.reserveStock(anyMap())).thenReturn(List.of(2L));
 
-        verify(productRepository, times(2)).save(any(Product.class));
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Insufficient stock for: Baby Monitor");
+
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("Should merge repeated products into one stock reservation")
+    void shouldMergeRepeatedProductsIntoOneReservation() {
+        // Given
+        CreateOrderRequest.OrderItemRequest again = new CreateOrderRequest.OrderItemRequest();
+        again.setProductId(1L);
+        again.setQuantity(3);
+        createOrderRequest.setItems(List.of(createOrderRequest.getItems().get(0), again));
+
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1));
+        when(productRepository.reserveStock(anyMap())).thenReturn(List.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        orderService.createOrder(createOrderRequest);
+
+        // Then
+        verify(productRepository).reserveStock(Map.of(1L, 5));
     }
 
     @Test
     @DisplayName("Should throw exception when product not found")
     void shouldThrowExceptionWhenProductNotFound() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of());
 
         // When & Then
         assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Product not found");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L, 2L));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
@@ -218,14 +275,14 @@ class OrderServiceTest {
     void shouldThrowExceptionWhenProductIsDisabled() {
         // Given
         mockProduct1.setEnabled(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct1));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1));
 
         // When & Then
         assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Product is not available");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L, 2L));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
@@ -234,14 +291,14 @@ class OrderServiceTest {
     void shouldThrowExceptionWhenInsufficientStock() {
         // Given
         mockProduct1.setStock(1); // Not enough for quantity 2
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct1));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1));
 
         // When & Then
         assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Insufficient stock");
 
-        verify(productRepository).findById(1L);
+        verify(productBatchResolver).resolve(List.of(1L, 2L));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
@@ -249,9 +306,8 @@ class OrderServiceTest {
     @DisplayName("Should calculate total using discount price when available")
     void shouldCalculateTotalUsingDiscountPriceWhenAvailable() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(mockProduct1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(mockProduct2));
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productBatchResolver.resolve(anyCollection())).thenReturn(Map.of(1L, mockProduct1, 2L, mockProduct2));
+        when(productRepository.reserveStock(anyMap())).thenReturn(List.of());
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setId(1L);
@@ -273,10 +329,10 @@ class OrderServiceTest {
     void shouldGetMyOrdersSuccessfully() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        List<Order> orders = List.of(mockOrder);
-        Page<Order> orderPage = new PageImpl<>(orders, pageable, 1);
+        Page<Long> idPage = new PageImpl<>(List.of(1L), pageable, 1);
 
-        when(orderRepository.findByUser(mockUser, pageable)).thenReturn(orderPage);
+        when(orderRepository.findIdsByUser(mockUser, pageable)).thenReturn(idPage);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L))).thenReturn(List.of(mockOrder));
 
         // When
         Page<OrderResponse> response = orderService.getMyOrders(pageable);
@@ -286,7 +342,51 @@ class OrderServiceTest {
         assertThat(response.getContent()).hasSize(1);
         assertThat(response.getContent().get(0).getId()).isEqualTo(1L);
 
-        verify(orderRepository).findByUser(mockUser, pageable);
+        verify(orderRepository).findIdsByUser(mockUser, pageable);
+        verify(orderRepository).findWithItemsByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should keep the id page order and totals when bulk-loading orders")
+    void shouldKeepPageOrderWhenBulkLoadingOrders() {
+        // Given
+        Order olderOrder = Order.builder()
+                .id(2L)
+                .orderNumber("ORD-20251027-0002")
+                .user(mockUser)
+                .status(OrderStatus.DELIVERED)
+                .totalAmount(new BigDecimal("149.99"))
+                .items(new ArrayList<>())
+                .build();
+        Pageable pageable = PageRequest.of(1, 2);
+        Page<Long> idPage = new PageImpl<>(List.of(1L, 2L), pageable, 7);
+
+        when(orderRepository.findIdsByUser(mockUser, pageable)).thenReturn(idPage);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L, 2L))).thenReturn(List.of(olderOrder, mockOrder));
+
+        // When
+        Page<OrderResponse> response = orderService.getMyOrders(pageable);
+
+        // Then
+        assertThat(response.getContent()).extracting(OrderResponse::getId).containsExactly(1L, 2L);
+        assertThat(response.getTotalElements()).isEqualTo(7);
+        assertThat(response.getNumber()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not load order details for an empty page")
+    void shouldNotLoadOrderDetailsForEmptyPage() {
+        // Given
+        Pageable pageable = PageRequest.of(3, 10);
+        when(orderRepository.findIdsByUser(mockUser, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 12));
+
+        // When
+        Page<OrderResponse> response = orderService.getMyOrders(pageable);
+
+        // Then
+        assertThat(response.getContent()).isEmpty();
+        assertThat(response.getTotalElements()).isEqualTo(12);
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
     }
 
     @Test
@@ -373,7 +473,6 @@ class OrderServiceTest {
         mockProduct1.setStock(8); // Already reduced
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(mockOrder));
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
 
         // When
@@ -382,10 +481,11 @@ class OrderServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-        assertThat(mockProduct1.getStock()).isEqualTo(10); // Restored from 8 to 10
 
         verify(orderRepository).findById(1L);
-        verify(productRepository).save(mockProduct1);
+        verify(productRepository).releaseStock(Map.of(1L, 2)); // Restored atomically in the database
+        verify(productService).onStockChanged(List.of(mockProduct1));
+        verify(orderStatsTracker).recordStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED, mockOrder.getTotalAmount());
         verify(orderRepository).save(mockOrder);
     }
 
@@ -451,16 +551,36 @@ class OrderServiceTest {
         mockProduct2.setStock(4);
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(mockOrder));
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
 
         // When
         orderService.cancelOrder(1L);
 
         // Then
-        assertThat(mockProduct1.getStock()).isEqualTo(10); // 8 + 2
-        assertThat(mockProduct2.getStock()).isEqualTo(5);  // 4 + 1
+        verify(productRepository).releaseStock(Map.of(1L, 2, 2L, 1)); // 8 + 2, 4 + 1 in one batch
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should build order stats from the in-memory counters")
+    void shouldBuildOrderStatsFromCounters() {
+        // Given
+        OrderStatsTracker.Totals totals = new OrderStatsTracker.Totals(
+                Map.of(OrderStatus.PENDING, 3L, OrderStatus.SHIPPED, 2L,
+                        OrderStatus.DELIVERED, 4L, OrderStatus.CANCELLED, 1L),
+                Map.of(OrderStatus.DELIVERED, new BigDecimal("1200.50"), OrderStatus.PENDING, new BigDecimal("90.00")));
+        when(orderStatsTracker.current()).thenReturn(totals);
 
-        verify(productRepository, times(2)).save(any(Product.class));
+        // When
+        OrderService.OrderStats stats = orderService.getOrderStats();
+
+        // Then
+        assertThat(stats.totalOrders()).isEqualTo(10);
+        assertThat(stats.pendingOrders()).isEqualTo(3);
+        assertThat(stats.processingOrders()).isZero();
+        assertThat(stats.completedOrders()).isEqualTo(4);
+        assertThat(stats.cancelledOrders()).isEqualTo(1);
+        assertThat(stats.totalRevenue()).isEqualByComparingTo("1200.50");
+        verifyNoInteractions(orderRepository);
     }
 }
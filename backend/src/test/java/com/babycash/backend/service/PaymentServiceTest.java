@@ -14,6 +14,7 @@ import com.babycash.backend.model.enums.UserRole;
 import com.babycash.backend.repository.OrderRepository;
 import com.babycash.backend.repository.PaymentRepository;
 import com.babycash.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -112,6 +113,11 @@ class PaymentServiceTest {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @DisplayName("Should process payment successfully")
     void shouldProcessPaymentSuccessfully() {
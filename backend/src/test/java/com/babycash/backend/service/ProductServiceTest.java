@@ -1,10 +1,16 @@
 package com.babycash.backend.service;
 
+import com.babycash.backend.config.CacheConfig;
+import com.babycash.backend.dto.request.ProductRequest;
 import com.babycash.backend.dto.response.ProductResponse;
+import com.babycash.backend.dto.response.ProductSummaryResponse;
 import com.babycash.backend.exception.custom.ResourceNotFoundException;
 import com.babycash.backend.model.entity.Product;
 import com.babycash.backend.model.enums.ProductCategory;
 import com.babycash.backend.repository.ProductRepository;
+import com.babycash.backend.repository.projection.ProductSummary;
+import com.babycash.backend.service.catalog.CatalogSnapshotService;
+import com.babycash.backend.service.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -35,6 +43,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache productsCache;
+
+    @Mock
+    private Cache featuredCache;
+
     @InjectMocks
     private ProductService productService;
 
@@ -101,6 +124,56 @@ class ProductServiceTest {
         verify(productRepository).findByEnabledTrue(pageable);
     }
 
+    @Test
+    @DisplayName("Should serve catalog pages from the snapshot without hitting the database")
+    void shouldServeCatalogFromSnapshot() {
+        // Given
+        Page<Product> snapshotPage = new PageImpl<>(List.of(product2), pageable, 1);
+        when(catalogSnapshotService.findEnabled(null, pageable)).thenReturn(Optional.of(snapshotPage));
+
+        // When
+        Page<ProductResponse> result = productService.getAllProducts(pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(ProductResponse::getName).containsExactly("Organic Baby Food");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should serve product summaries from the snapshot without the description")
+    void shouldServeSummariesFromSnapshot() {
+        // Given
+        Page<Product> snapshotPage = new PageImpl<>(List.of(product1), pageable, 1);
+        when(catalogSnapshotService.findEnabled(ProductCategory.FURNITURE, pageable)).thenReturn(Optional.of(snapshotPage));
+
+        // When
+        Page<ProductSummaryResponse> result = productService.getProductSummaries(ProductCategory.FURNITURE, pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(ProductSummaryResponse::getName).containsExactly("Baby Stroller");
+        assertThat(result.getContent().get(0).getCategory()).isEqualTo("FURNITURE");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the summary projection when the snapshot cannot serve the page")
+    void shouldFallBackToSummaryProjection() {
+        // Given
+        ProductSummary summary = new ProductSummary(2L, "Organic Baby Food", new BigDecimal("12.99"), null,
+                ProductCategory.FOOD, 100, null, false, BigDecimal.ZERO, 0);
+        when(catalogSnapshotService.findEnabled(null, pageable)).thenReturn(Optional.empty());
+        when(productRepository.findEnabledSummaries(null, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // When
+        Page<ProductSummaryResponse> result = productService.getProductSummaries(null, pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().get(0).getPrice()).isEqualByComparingTo("12.99");
+        verify(productRepository, never()).findByEnabledTrue(any());
+    }
+
     @Test
     @DisplayName("Should return products by category")
     void shouldGetProductsByCategorySuccessfully() {
@@ -126,9 +199,8 @@ class ProductServiceTest {
     void shouldSearchProductsSuccessfully() {
         // Given
         String query = "baby";
-        List<Product> products = Arrays.asList(product1, product2);
-        Page<Product> productPage = new PageImpl<>(products, pageable, products.size());
-        when(productRepository.searchProducts(anyString(), any(Pageable.class))).thenReturn(productPage);
+        when(productSearchIndex.search(query)).thenReturn(List.of(2L, 1L));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(product1, product2));
 
         // When
         Page<ProductResponse> result = productService.searchProducts(query, pageable);
@@ -136,8 +208,25 @@ class ProductServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(ProductResponse::getId).containsExactly(2L, 1L);
+
+        verify(productSearchIndex).search(query);
+        verify(productRepository).findAllById(List.of(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should return empty page when search has no matches")
+    void shouldReturnEmptyPageWhenSearchHasNoMatches() {
+        // Given
+        when(productSearchIndex.search("inexistente")).thenReturn(List.of());
+
+        // When
+        Page<ProductResponse> result = productService.searchProducts("inexistente", pageable);
 
-        verify(productRepository).searchProducts(query.toLowerCase(), pageable);
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -207,6 +296,91 @@ class ProductServiceTest {
         verify(productRepository).findByFeaturedTrueAndEnabledTrue();
     }
 
+    @Test
+    @DisplayName("Should evict only the updated product when it is not featured")
+    void shouldEvictOnlyUpdatedProduct() {
+        // Given
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.PRODUCTS)).thenReturn(productsCache);
+
+        // When
+        productService.updateProduct(2L, requestFrom(product2, new BigDecimal("10.99")));
+
+        // Then
+        verify(productsCache).evict(2L);
+        verify(productsCache, never()).clear();
+        verify(cacheManager, never()).getCache(CacheConfig.FEATURED_PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("Should refresh and evict products whose stock an order changed")
+    void shouldEvictProductsOnStockChange() {
+        // Given
+        when(cacheManager.getCache(CacheConfig.PRODUCTS)).thenReturn(productsCache);
+
+        // When
+        productService.onStockChanged(List.of(product2, product2));
+
+        // Then
+        verify(catalogSnapshotService).refresh(List.of(2L));
+        verify(productsCache).evict(2L);
+        verify(cacheManager, never()).getCache(CacheConfig.FEATURED_PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("Should invalidate featured products when an order changes a featured product's stock")
+    void shouldInvalidateFeaturedOnFeaturedStockChange() {
+        // Given
+        when(cacheManager.getCache(CacheConfig.PRODUCTS)).thenReturn(productsCache);
+        when(cacheManager.getCache(CacheConfig.FEATURED_PRODUCTS)).thenReturn(featuredCache);
+
+        // When
+        productService.onStockChanged(List.of(product1, product2));
+
+        // Then
+        verify(catalogSnapshotService).refresh(List.of(1L, 2L));
+        verify(productsCache).evict(1L);
+        verify(productsCache).evict(2L);
+        verify(featuredCache).clear();
+    }
+
+    @Test
+    @DisplayName("Should invalidate featured products when a featured product changes")
+    void shouldInvalidateFeaturedWhenFeaturedProductChanges() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.PRODUCTS)).thenReturn(productsCache);
+        when(cacheManager.getCache(CacheConfig.FEATURED_PRODUCTS)).thenReturn(featuredCache);
+
+        // When
+        productService.updateProduct(1L, requestFrom(product1, new BigDecimal("279.99")));
+
+        // Then
+        verify(productsCache).evict(1L);
+        verify(featuredCache).clear();
+    }
+
+    @Test
+    @DisplayName("Should invalidate featured products when the featured flag is toggled")
+    void shouldInvalidateFeaturedWhenFlagToggled() {
+        // Given
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.PRODUCTS)).thenReturn(productsCache);
+        when(cacheManager.getCache(CacheConfig.FEATURED_PRODUCTS)).thenReturn(featuredCache);
+
+        // When
+        ProductResponse result = productService.toggleFeatured(2L);
+
+        // Then
+        assertThat(result.getFeatured()).isTrue();
+        verify(productsCache).evict(2L);
+        verify(featuredCache).clear();
+        verify(catalogSnapshotService).apply(product2);
+    }
+
     @Test
     @DisplayName("Should map product entity to response correctly")
     void shouldMapProductEntityToResponseCorrectly() {
@@ -229,4 +403,15 @@ class ProductServiceTest {
         assertThat(result.getRating()).isEqualTo(product1.getRating());
         assertThat(result.getReviewCount()).isEqualTo(product1.getReviewCount());
     }
+
+    private ProductRequest requestFrom(Product product, BigDecimal newPrice) {
+        return ProductRequest.builder()
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(newPrice)
+                .category(product.getCategory())
+                .stock(product.getStock())
+                .imageUrl(product.getImageUrl())
+                .build();
+    }
 }
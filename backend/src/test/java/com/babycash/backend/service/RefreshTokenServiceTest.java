@@ -0,0 +1,148 @@
+package com.babycash.backend.service;
+
+import com.babycash.backend.exception.custom.BusinessException;
+import com.babycash.backend.model.entity.RefreshToken;
+import com.babycash.backend.model.entity.User;
+import com.babycash.backend.model.enums.UserRole;
+import com.babycash.backend.repository.RefreshTokenOperations;
+import com.babycash.backend.repository.RefreshTokenRepository;
+import com.babycash.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RefreshTokenService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenDurationMs", 604_800_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "maxActiveTokensPerUser", 5);
+        user = User.builder()
+                .id(7L)
+                .email("test@example.com")
+                .role(UserRole.USER)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store only the token hash and cap active tokens before inserting")
+    void shouldCreateHashedTokenWithinCap() {
+        // Given
+        when(refreshTokenRepository.insertToken(eq(7L), anyString(), any(), any(), any(), any())).thenReturn(42L);
+
+        // When
+        RefreshToken token = refreshTokenService.createRefreshToken(user);
+
+        // Then
+        ArgumentCaptor<String> storedHash = ArgumentCaptor.forClass(String.class);
+        verify(refreshTokenRepository).revokeOldestBeyond(eq(7L), eq(4), any(LocalDateTime.class));
+        verify(refreshTokenRepository).insertToken(eq(7L), storedHash.capture(), any(), any(), any(), any());
+        assertThat(token.getId()).isEqualTo(42L);
+        assertThat(storedHash.getValue())
+                .hasSize(64)
+                .isEqualTo(RefreshTokenService.hashToken(token.getToken()))
+                .isNotEqualTo(token.getToken());
+    }
+
+    @Test
+    @DisplayName("Should rotate with a single statement keyed by the old token hash")
+    void shouldRotateToken() {
+        // Given
+        String oldHash = RefreshTokenService.hashToken("old-token");
+        when(refreshTokenRepository.rotate(eq(oldHash), anyString(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(new RefreshTokenOperations.Rotation(43L, 7L)));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // When
+        RefreshToken rotated = refreshTokenService.rotateRefreshToken("old-token");
+
+        // Then
+        assertThat(rotated.getId()).isEqualTo(43L);
+        assertThat(rotated.getUser()).isSameAs(user);
+        assertThat(rotated.getToken()).isNotEqualTo("old-token");
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke every session when a rotated token is reused")
+    void shouldRevokeAllOnReuse() {
+        // Given
+        String oldHash = RefreshTokenService.hashToken("old-token");
+        RefreshToken revoked = RefreshToken.builder()
+                .tokenHash(oldHash)
+                .user(user)
+                .expiryDate(LocalDateTime.now().plusDays(1))
+                .revoked(true)
+                .build();
+        when(refreshTokenRepository.rotate(eq(oldHash), anyString(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(oldHash)).thenReturn(Optional.of(revoked));
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken("old-token"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("all sessions revoked");
+        verify(refreshTokenRepository).revokeAllUserTokens(eq(user), any(LocalDateTime.class));
+        verify(auditService).logSecurityEvent(eq("Intento de reutilización de refresh token"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token without revoking other sessions")
+    void shouldRejectExpiredToken() {
+        // Given
+        String oldHash = RefreshTokenService.hashToken("old-token");
+        RefreshToken expired = RefreshToken.builder()
+                .tokenHash(oldHash)
+                .user(user)
+                .expiryDate(LocalDateTime.now().minusDays(1))
+                .revoked(false)
+                .build();
+        when(refreshTokenRepository.rotate(eq(oldHash), anyString(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(oldHash)).thenReturn(Optional.of(expired));
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken("old-token"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepository, never()).revokeAllUserTokens(any(), any());
+    }
+}
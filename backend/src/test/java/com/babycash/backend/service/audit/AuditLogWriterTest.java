@@ -0,0 +1,155 @@
+package com.babycash.backend.service.audit;
+
+import com.babycash.backend.entity.AuditLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for AuditLogWriter and AuditRingBuffer
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogWriter Unit Tests")
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should write pending rows in JDBC batches of at most batch-size rows")
+    void shouldWriteInBatches() {
+        // Given
+        AuditLogWriter writer = writer(16, 2, AuditLogWriter.OverflowPolicy.DROP);
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry(i));
+        }
+        // flush reutiliza la misma lista para cada batch: se registra el tamaño en el momento de la llamada
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+
+        // When
+        writer.flush();
+
+        // Then
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+        assertThat(meterRegistry.get("audit.written").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("audit.buffer.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop and count rows when the buffer is full under the DROP policy")
+    void shouldDropOnOverflow() {
+        // Given
+        AuditLogWriter writer = writer(2, 10, AuditLogWriter.OverflowPolicy.DROP);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry(i));
+        }
+
+        // Then
+        assertThat(meterRegistry.get("audit.dropped").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.overflow").tag("policy", "drop").counter().count()).isEqualTo(3);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should write overflowing rows on the caller thread under the CALLER_RUNS policy")
+    void shouldWriteOnCallerWhenFull() {
+        // Given
+        AuditLogWriter writer = writer(2, 10, AuditLogWriter.OverflowPolicy.CALLER_RUNS);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            writer.enqueue(entry(i));
+        }
+
+        // Then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+        assertThat(meterRegistry.get("audit.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver every row exactly once with concurrent producers")
+    void ringBufferShouldNotLoseOrDuplicateUnderContention() throws Exception {
+        // Given
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1 << 14);
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertThat(buffer.offer(base + i)).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Integer> drained = new ArrayList<>();
+        while (buffer.drainTo(drained, 512) > 0) {
+            // drena todo
+        }
+
+        // Then
+        Set<Integer> unique = new HashSet<>(drained);
+        assertThat(drained).hasSize(producers * perProducer);
+        assertThat(unique).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, AuditLogWriter.OverflowPolicy policy) {
+        return new AuditLogWriter(jdbcTemplate, meterRegistry, capacity, batchSize, 60_000, policy);
+    }
+
+    private AuditLog entry(long entityId) {
+        return AuditLog.builder()
+                .actionType(AuditLog.ActionType.ORDER_CREATED)
+                .entityType("Order")
+                .entityId(entityId)
+                .status(AuditLog.AuditStatus.SUCCESS)
+                .build();
+    }
+}
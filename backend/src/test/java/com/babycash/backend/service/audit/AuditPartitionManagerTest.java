@@ -0,0 +1,112 @@
+package com.babycash.backend.service.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AuditPartitionManager
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditPartitionManager Unit Tests")
+class AuditPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = new AuditPartitionManager(jdbcTemplate, 2, 90);
+    }
+
+    @Test
+    @DisplayName("Should create the current month partition and the configured months ahead")
+    void shouldCreateUpcomingPartitions() {
+        // When
+        partitionManager.ensurePartitions(YearMonth.of(2025, 11));
+
+        // Then
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(ddl.capture());
+        assertThat(ddl.getAllValues()).containsExactly(
+                "CREATE TABLE IF NOT EXISTS audit_logs_p202511 PARTITION OF audit_logs FOR VALUES FROM ('2025-11-01') TO ('2025-12-01')",
+                "CREATE TABLE IF NOT EXISTS audit_logs_p202512 PARTITION OF audit_logs FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')",
+                "CREATE TABLE IF NOT EXISTS audit_logs_p202601 PARTITION OF audit_logs FOR VALUES FROM ('2026-01-01') TO ('2026-02-01')");
+    }
+
+    @Test
+    @DisplayName("Should detach concurrently and drop only partitions whose whole month is before the cutoff")
+    void shouldDropExpiredPartitions() {
+        // Given
+        givenPartitions(
+                new AuditPartitionManager.Partition("audit_logs_p202506", false),
+                new AuditPartitionManager.Partition("audit_logs_p202507", false),
+                new AuditPartitionManager.Partition("audit_logs_p202508", false),
+                new AuditPartitionManager.Partition("audit_logs_legacy", false));
+
+        // When
+        int dropped = partitionManager.dropPartitionsEndingBefore(LocalDate.of(2025, 8, 1));
+
+        // Then
+        assertThat(dropped).isEqualTo(2);
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(4)).execute(ddl.capture());
+        assertThat(ddl.getAllValues()).containsExactly(
+                "ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202506 CONCURRENTLY",
+                "DROP TABLE IF EXISTS audit_logs_p202506",
+                "ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202507 CONCURRENTLY",
+                "DROP TABLE IF EXISTS audit_logs_p202507");
+    }
+
+    @Test
+    @DisplayName("Should finalize a detach left pending by an interrupted run")
+    void shouldFinalizePendingDetach() {
+        // Given
+        givenPartitions(new AuditPartitionManager.Partition("audit_logs_p202506", true));
+
+        // When
+        int dropped = partitionManager.dropPartitionsEndingBefore(LocalDate.of(2025, 8, 1));
+
+        // Then
+        assertThat(dropped).isEqualTo(1);
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202506 FINALIZE");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS audit_logs_p202506");
+    }
+
+    @Test
+    @DisplayName("Should report an unpartitioned table when the PostgreSQL catalog is not available")
+    void shouldTreatMissingCatalogAsUnpartitioned() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class)))
+                .thenThrow(new DataAccessResourceFailureException("pg_partitioned_table not found"));
+
+        // When / Then
+        assertThat(partitionManager.isPartitioned()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPartitions(AuditPartitionManager.Partition... partitions) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(partitions));
+    }
+}
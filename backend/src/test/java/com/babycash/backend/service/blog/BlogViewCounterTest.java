@@ -0,0 +1,140 @@
+package com.babycash.backend.service.blog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BlogViewCounter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlogViewCounter Unit Tests")
+class BlogViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+    private BlogViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new BlogViewCounter(jdbcTemplate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should flush one increment per post in a single batch ordered by post ID")
+    @SuppressWarnings("unchecked")
+    void shouldFlushOneIncrementPerPost() {
+        // Given
+        counter.record(7L);
+        counter.record(3L);
+        counter.record(7L);
+
+        // When
+        counter.flush();
+
+        // Then
+        ArgumentCaptor<Collection<Map.Entry<Long, Long>>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture(), anyInt(), any());
+        assertThat(batch.getValue()).containsExactly(Map.entry(3L, 1L), Map.entry(7L, 2L));
+        assertThat(counter.pending(7L)).isZero();
+        assertThat(meterRegistry.get("blog.views.flushed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when there are no new views")
+    void shouldSkipEmptyFlush() {
+        // Given
+        counter.record(1L);
+        counter.flush();
+
+        // When
+        counter.flush();
+
+        // Then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the views pending when the batch fails")
+    void shouldKeepViewsWhenFlushFails() {
+        // Given
+        counter.record(5L);
+        counter.record(5L);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        counter.flush();
+
+        // Then
+        assertThat(counter.pending(5L)).isEqualTo(2);
+        assertThat(meterRegistry.get("blog.views.flush.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not lose views recorded concurrently with flushes")
+    @SuppressWarnings("unchecked")
+    void shouldNotLoseViewsUnderContention() throws Exception {
+        // Given
+        int threads = 4;
+        int viewsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    counter.record(1L);
+                    if (i % 1_000 == 0) {
+                        counter.flush();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        counter.flush();
+
+        // Then
+        ArgumentCaptor<Collection<Map.Entry<Long, Long>>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce())
+                .batchUpdate(anyString(), batches.capture(), anyInt(), any());
+        long flushed = batches.getAllValues().stream()
+                .flatMap(Collection::stream)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        assertThat(flushed).isEqualTo((long) threads * viewsPerThread);
+    }
+}
@@ -0,0 +1,136 @@
+package com.babycash.backend.service.catalog;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.enums.ProductCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CatalogSnapshot
+ */
+@DisplayName("CatalogSnapshot Unit Tests")
+class CatalogSnapshotTest {
+
+    private Product stroller;
+    private Product food;
+    private Product monitor;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        stroller = product(1L, "Stroller", "299.99", ProductCategory.FURNITURE, true, now.minusDays(3));
+        food = product(2L, "Baby Food", "12.99", ProductCategory.FOOD, false, now.minusDays(1));
+        monitor = product(3L, "Monitor", "149.99", ProductCategory.ACCESSORIES, true, now.minusDays(2));
+        snapshot = CatalogSnapshot.of(List.of(stroller, food, monitor));
+    }
+
+    @Test
+    @DisplayName("Should page the whole catalog by the requested sort order")
+    void shouldPageBySortOrder() {
+        // When
+        Page<Product> newest = snapshot.page(null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt"))).orElseThrow();
+        Page<Product> cheapest = snapshot.page(null, PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "price"))).orElseThrow();
+
+        // Then
+        assertThat(newest.getContent()).containsExactly(food, monitor);
+        assertThat(newest.getTotalElements()).isEqualTo(3);
+        assertThat(newest.hasNext()).isTrue();
+        assertThat(cheapest.getContent()).containsExactly(food, monitor, stroller);
+    }
+
+    @Test
+    @DisplayName("Should page a single category")
+    void shouldPageByCategory() {
+        // When
+        Page<Product> result = snapshot.page(ProductCategory.FURNITURE, PageRequest.of(0, 12)).orElseThrow();
+
+        // Then
+        assertThat(result.getContent()).containsExactly(stroller);
+        assertThat(snapshot.page(ProductCategory.BOOKS, PageRequest.of(0, 12)).orElseThrow().getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return empty page beyond the last element")
+    void shouldReturnEmptyPageBeyondEnd() {
+        // When
+        Page<Product> result = snapshot.page(null, PageRequest.of(5, 12)).orElseThrow();
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should defer unsupported sort orders to the database")
+    void shouldRejectUnsupportedSort() {
+        assertThat(snapshot.page(null, PageRequest.of(0, 12, Sort.by("reviewCount")))).isEmpty();
+        assertThat(snapshot.page(null, PageRequest.of(0, 12, Sort.by("price", "name")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list featured products")
+    void shouldListFeaturedProducts() {
+        assertThat(snapshot.featured()).containsExactly(stroller, monitor);
+    }
+
+    @Test
+    @DisplayName("Should produce new snapshots on change without touching the old one")
+    void shouldCopyOnWrite() {
+        // Given
+        Product disabledMonitor = product(3L, "Monitor", "149.99", ProductCategory.ACCESSORIES, true, monitor.getCreatedAt());
+        disabledMonitor.setEnabled(false);
+
+        // When
+        CatalogSnapshot updated = snapshot.with(disabledMonitor).without(1L);
+
+        // Then
+        assertThat(updated.size()).isEqualTo(1);
+        assertThat(updated.featured()).isEmpty();
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.featured()).containsExactly(stroller, monitor);
+    }
+
+    @Test
+    @DisplayName("Should replace reloaded products and drop the ones that no longer exist")
+    void shouldReplaceReloadedProducts() {
+        // Given
+        Product soldOutStroller = product(1L, "Stroller", "299.99", ProductCategory.FURNITURE, true, stroller.getCreatedAt());
+        soldOutStroller.setStock(0);
+
+        // When
+        CatalogSnapshot updated = snapshot.with(Set.of(1L, 2L), List.of(soldOutStroller));
+
+        // Then
+        Page<Product> byStock = updated.page(null, PageRequest.of(0, 3, Sort.by("stock"))).orElseThrow();
+        assertThat(byStock.getContent()).containsExactly(soldOutStroller, monitor);
+        assertThat(updated.featured()).containsExactly(soldOutStroller, monitor);
+        assertThat(snapshot.size()).isEqualTo(3);
+    }
+
+    private Product product(Long id, String name, String price, ProductCategory category,
+                            boolean featured, LocalDateTime createdAt) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(new BigDecimal(price))
+                .category(category)
+                .stock(10)
+                .enabled(true)
+                .featured(featured)
+                .rating(BigDecimal.ZERO)
+                .createdAt(createdAt)
+                .build();
+    }
+}
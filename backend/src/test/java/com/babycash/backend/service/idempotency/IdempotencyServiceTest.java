@@ -0,0 +1,208 @@
+package com.babycash.backend.service.idempotency;
+
+import com.babycash.backend.exception.custom.BusinessException;
+import com.babycash.backend.model.entity.IdempotencyRecord;
+import com.babycash.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdempotencyService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Unit Tests")
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "orders:create";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyService idempotencyService;
+
+    record Receipt(String reference) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        // El dueño de la clave sale del SecurityContext: otros tests pueden dejar una autenticación en el hilo
+        SecurityContextHolder.clearContext();
+        idempotencyService = new IdempotencyService(
+                idempotencyRecordRepository, new ObjectMapper().findAndRegisterModules(),
+                transactionTemplate, 100, 60_000);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(idempotencyRecordRepository.findByScopeAndOwnerAndIdempotencyKey(anyString(), anyString(), anyString()))
+                .thenReturn(Optional.empty());
+        lenient().when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should run the action every time when no key is sent")
+    void shouldRunActionWithoutKey() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        idempotencyService.execute(SCOPE, null, "body", Receipt.class, () -> receipt(calls));
+        idempotencyService.execute(SCOPE, " ", "body", Receipt.class, () -> receipt(calls));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(2);
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should run the action once and replay the response for a repeated key")
+    void shouldReplayRepeatedKey() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Receipt first = idempotencyService.execute(SCOPE, "key-1", "body", Receipt.class, () -> receipt(calls));
+        Receipt second = idempotencyService.execute(SCOPE, "key-1", "body", Receipt.class, () -> receipt(calls));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a repeated key with a different request body")
+    void shouldRejectKeyReuseWithDifferentBody() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        idempotencyService.execute(SCOPE, "key-1", "body", Receipt.class, () -> receipt(calls));
+
+        // When / Then
+        assertThatThrownBy(() ->
+                idempotencyService.execute(SCOPE, "key-1", "other body", Receipt.class, () -> receipt(calls)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("different request");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response from the table without running the action")
+    void shouldReplayFromTable() {
+        // Given: otra instancia ya ejecutó y registró la clave
+        AtomicInteger calls = new AtomicInteger();
+        IdempotencyService otherInstance = new IdempotencyService(
+                idempotencyRecordRepository, new ObjectMapper(), transactionTemplate, 100, 60_000);
+        Receipt original = otherInstance.execute(SCOPE, "key-2", "body", Receipt.class, () -> receipt(calls));
+
+        ArgumentCaptor<IdempotencyRecord> recorded = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(recorded.capture());
+        when(idempotencyRecordRepository.findByScopeAndOwnerAndIdempotencyKey(SCOPE, "anonymous", "key-2"))
+                .thenReturn(Optional.of(recorded.getValue()));
+
+        // When
+        Receipt replayed = idempotencyService.execute(SCOPE, "key-2", "body", Receipt.class, () -> receipt(calls));
+
+        // Then
+        assertThat(replayed).isEqualTo(original);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run the action again and drop the row when the stored key has expired")
+    void shouldIgnoreExpiredRecord() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        IdempotencyRecord expired = IdempotencyRecord.builder()
+                .scope(SCOPE)
+                .owner("anonymous")
+                .idempotencyKey("key-4")
+                .requestHash("stale")
+                .responseBody("{\"reference\":\"R-0\"}")
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(idempotencyRecordRepository.findByScopeAndOwnerAndIdempotencyKey(SCOPE, "anonymous", "key-4"))
+                .thenReturn(Optional.of(expired));
+
+        // When
+        Receipt receipt = idempotencyService.execute(SCOPE, "key-4", "body", Receipt.class, () -> receipt(calls));
+
+        // Then
+        assertThat(receipt.reference()).isEqualTo("R-1");
+        verify(idempotencyRecordRepository).delete(expired);
+        verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto the running execution")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Receipt> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(SCOPE, "key-3", "body", Receipt.class, () -> {
+                    entered.countDown();
+                    await(release);
+                    return receipt(calls);
+                }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Receipt> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(SCOPE, "key-3", "body", Receipt.class, () -> receipt(calls)));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private Receipt receipt(AtomicInteger calls) {
+        return new Receipt("R-" + calls.incrementAndGet());
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.babycash.backend.service.maintenance;
+
+import com.babycash.backend.model.entity.MaintenanceJobProgress;
+import com.babycash.backend.repository.MaintenanceJobProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for MaintenanceJobRunner
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MaintenanceJobRunner Unit Tests")
+class MaintenanceJobRunnerTest {
+
+    private static final String JOB = "test-job";
+
+    @Mock
+    private MaintenanceJobProgressRepository progressRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, MaintenanceJobProgress> store = new HashMap<>();
+    private MockEnvironment environment;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(progressRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(store.get(invocation.<String>getArgument(0))));
+        lenient().when(progressRepository.save(any(MaintenanceJobProgress.class)))
+                .thenAnswer(invocation -> {
+                    MaintenanceJobProgress progress = invocation.getArgument(0);
+                    store.put(progress.getJobName(), progress);
+                    return progress;
+                });
+    }
+
+    @Test
+    @DisplayName("Should process every chunk in key order and mark the job completed")
+    void shouldProcessAllChunksInKeyOrder() {
+        // Given
+        MaintenanceJobRunner runner = runner(900_000);
+        List<Long> keys = keys(25);
+        List<Long> seen = new ArrayList<>();
+
+        // When
+        MaintenanceJobRunner.RunResult result = runner.run(JOB, recording(keys, seen));
+
+        // Then
+        assertThat(result.completed()).isTrue();
+        assertThat(result.processed()).isEqualTo(25);
+        assertThat(seen).isEqualTo(keys);
+        assertThat(store.get(JOB).getStatus()).isEqualTo(MaintenanceJobProgress.Status.COMPLETED);
+        assertThat(meterRegistry.get("maintenance.job.items").tag("job", JOB).counter().count()).isEqualTo(25);
+        assertThat(meterRegistry.get("maintenance.job.chunk").tag("job", JOB).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should pause when the time budget is spent and resume from the checkpoint")
+    void shouldPauseAndResumeFromCheckpoint() {
+        // Given
+        MaintenanceJobRunner runner = runner(0);
+        List<Long> keys = keys(25);
+        List<Long> seen = new ArrayList<>();
+
+        // When
+        MaintenanceJobRunner.RunResult first = runner.run(JOB, recording(keys, seen));
+
+        // Then
+        assertThat(first.completed()).isFalse();
+        assertThat(first.processed()).isEqualTo(10);
+        assertThat(store.get(JOB).getStatus()).isEqualTo(MaintenanceJobProgress.Status.PAUSED);
+        assertThat(store.get(JOB).getLastKey()).isEqualTo(10);
+
+        // When
+        MaintenanceJobRunner.RunResult second = runner.run(JOB, recording(keys, seen));
+        MaintenanceJobRunner.RunResult third = runner.run(JOB, recording(keys, seen));
+
+        // Then
+        assertThat(second.completed()).isFalse();
+        assertThat(third.completed()).isTrue();
+        assertThat(third.processed()).isEqualTo(25);
+        assertThat(seen).isEqualTo(keys);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous checkpoint when a chunk fails")
+    void shouldKeepCheckpointWhenChunkFails() {
+        // Given
+        MaintenanceJobRunner runner = runner(900_000);
+        List<Long> keys = keys(25);
+        List<Long> seen = new ArrayList<>();
+        MaintenanceJob failingOnSecondChunk = (afterKey, chunkSize) -> {
+            if (afterKey >= 10) {
+                throw new IllegalStateException("deadlock detected");
+            }
+            return recording(keys, seen).processChunk(afterKey, chunkSize);
+        };
+
+        // When / Then
+        assertThatThrownBy(() -> runner.run(JOB, failingOnSecondChunk))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(store.get(JOB).getLastKey()).isEqualTo(10);
+        assertThat(store.get(JOB).getStatus()).isEqualTo(MaintenanceJobProgress.Status.RUNNING);
+
+        // When
+        MaintenanceJobRunner.RunResult retry = runner.run(JOB, recording(keys, seen));
+
+        // Then
+        assertThat(retry.completed()).isTrue();
+        assertThat(seen).isEqualTo(keys);
+    }
+
+    @Test
+    @DisplayName("Should apply per-job chunk size overrides")
+    void shouldApplyPerJobChunkSize() {
+        // Given
+        environment.setProperty("app.maintenance.jobs." + JOB + ".chunk-size", "5");
+        MaintenanceJobRunner runner = runner(900_000);
+
+        // When
+        MaintenanceJobRunner.RunResult result = runner.run(JOB, recording(keys(25), new ArrayList<>()));
+
+        // Then
+        assertThat(result.processed()).isEqualTo(25);
+        assertThat(meterRegistry.get("maintenance.job.chunk").tag("job", JOB).timer().count()).isEqualTo(6);
+    }
+
+    private MaintenanceJobRunner runner(long maxRunMs) {
+        return new MaintenanceJobRunner(progressRepository, transactionManager, environment, meterRegistry,
+                10, maxRunMs, 0, 1.0);
+    }
+
+    /**
+     * Trabajo sobre una lista de claves en memoria que anota las claves procesadas
+     */
+    private static MaintenanceJob recording(List<Long> keys, List<Long> seen) {
+        return (afterKey, chunkSize) -> {
+            List<Long> chunk = keys.stream()
+                    .filter(key -> key > afterKey)
+                    .limit(chunkSize)
+                    .toList();
+            seen.addAll(chunk);
+            return MaintenanceJob.Chunk.of(afterKey, chunk, chunkSize);
+        };
+    }
+
+    private static List<Long> keys(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.babycash.backend.service.order;
+
+import com.babycash.backend.model.enums.OrderStatus;
+import com.babycash.backend.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OrderStatsTracker
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatsTracker Unit Tests")
+class OrderStatsTrackerTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderStatsTracker tracker;
+
+    @Test
+    @DisplayName("Should seed counters from the aggregate query on first read")
+    void shouldSeedFromAggregateQuery() {
+        // Given
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(
+                row(OrderStatus.PENDING, 2, "100.00"),
+                row(OrderStatus.DELIVERED, 3, "450.00")));
+
+        // When
+        OrderStatsTracker.Totals totals = tracker.current();
+        tracker.current();
+
+        // Then
+        assertThat(totals.totalCount()).isEqualTo(5);
+        assertThat(totals.count(OrderStatus.PENDING)).isEqualTo(2);
+        assertThat(totals.count(OrderStatus.CANCELLED)).isZero();
+        assertThat(totals.amount(OrderStatus.DELIVERED)).isEqualByComparingTo("450.00");
+        verify(orderRepository, times(1)).aggregateByStatus();
+    }
+
+    @Test
+    @DisplayName("Should apply created orders and status changes incrementally")
+    void shouldApplyChangesIncrementally() {
+        // Given
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(row(OrderStatus.DELIVERED, 1, "50.00")));
+        tracker.reconcile();
+
+        // When
+        tracker.recordCreated(OrderStatus.PENDING, new BigDecimal("80.00"));
+        tracker.recordStatusChange(OrderStatus.PENDING, OrderStatus.DELIVERED, new BigDecimal("80.00"));
+        tracker.recordCreated(OrderStatus.PENDING, new BigDecimal("20.00"));
+        tracker.recordStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED, new BigDecimal("20.00"));
+
+        // Then
+        OrderStatsTracker.Totals totals = tracker.current();
+        assertThat(totals.totalCount()).isEqualTo(3);
+        assertThat(totals.count(OrderStatus.PENDING)).isZero();
+        assertThat(totals.count(OrderStatus.DELIVERED)).isEqualTo(2);
+        assertThat(totals.count(OrderStatus.CANCELLED)).isEqualTo(1);
+        assertThat(totals.amount(OrderStatus.DELIVERED)).isEqualByComparingTo("130.00");
+        assertThat(totals.amount(OrderStatus.PENDING)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should replace drifted counters on reconciliation")
+    void shouldReplaceCountersOnReconcile() {
+        // Given
+        when(orderRepository.aggregateByStatus())
+                .thenReturn(List.of(row(OrderStatus.PENDING, 1, "10.00")))
+                .thenReturn(List.of(row(OrderStatus.SHIPPED, 7, "700.00")));
+        tracker.reconcile();
+        tracker.recordCreated(OrderStatus.PENDING, new BigDecimal("10.00"));
+
+        // When
+        tracker.reconcile();
+
+        // Then
+        OrderStatsTracker.Totals totals = tracker.current();
+        assertThat(totals.count(OrderStatus.PENDING)).isZero();
+        assertThat(totals.count(OrderStatus.SHIPPED)).isEqualTo(7);
+        assertThat(totals.totalCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the reconciliation query runs")
+    void shouldReplayChangesCommittedDuringReconcile() {
+        // Given
+        when(orderRepository.aggregateByStatus())
+                .thenReturn(List.of(row(OrderStatus.PENDING, 1, "10.00")))
+                .thenAnswer(invocation -> {
+                    // Confirmado después de que la consulta tomó su foto
+                    tracker.recordCreated(OrderStatus.PENDING, new BigDecimal("5.00"));
+                    return List.of(row(OrderStatus.PENDING, 1, "10.00"));
+                });
+        tracker.reconcile();
+
+        // When
+        tracker.reconcile();
+
+        // Then
+        OrderStatsTracker.Totals totals = tracker.current();
+        assertThat(totals.count(OrderStatus.PENDING)).isEqualTo(2);
+        assertThat(totals.amount(OrderStatus.PENDING)).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the first seeding runs")
+    void shouldReplayChangesCommittedDuringSeeding() {
+        // Given
+        when(orderRepository.aggregateByStatus()).thenAnswer(invocation -> {
+            tracker.recordStatusChange(OrderStatus.PENDING, OrderStatus.SHIPPED, new BigDecimal("30.00"));
+            return List.of(row(OrderStatus.PENDING, 2, "60.00"));
+        });
+
+        // When
+        OrderStatsTracker.Totals totals = tracker.current();
+
+        // Then
+        assertThat(totals.count(OrderStatus.PENDING)).isEqualTo(1);
+        assertThat(totals.count(OrderStatus.SHIPPED)).isEqualTo(1);
+        assertThat(totals.amount(OrderStatus.SHIPPED)).isEqualByComparingTo("30.00");
+    }
+
+    private OrderRepository.StatusTotals row(OrderStatus status, long orders, String amount) {
+        return new OrderRepository.StatusTotals() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getOrders() {
+                return orders;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.babycash.backend.service.search;
+
+import com.babycash.backend.model.entity.Product;
+import com.babycash.backend.model.enums.ProductCategory;
+import com.babycash.backend.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProductSearchIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex searchIndex;
+
+    private Product body;
+    private Product cuna;
+    private Product peluche;
+
+    @BeforeEach
+    void setUp() {
+        body = product(1L, "Body de Algodón", "Body suave de algodón orgánico para bebé");
+        cuna = product(2L, "Cuna Convertible", "Cuna de madera con colchón de algodón");
+        peluche = product(3L, "Peluche Musical", "Peluche suave que reproduce canciones de cuna");
+    }
+
+    @Test
+    @DisplayName("Should build index from enabled products at startup")
+    void shouldBuildIndexFromEnabledProducts() {
+        // Given
+        when(productRepository.findByEnabledTrue(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(body, cuna, peluche)));
+
+        // When
+        searchIndex.rebuild();
+
+        // Then
+        assertThat(searchIndex.size()).isEqualTo(3);
+        assertThat(searchIndex.search("algodon")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should ignore accents, case and plurals")
+    void shouldNormalizeAccentsCaseAndPlurals() {
+        // Given
+        searchIndex.index(body);
+        searchIndex.index(cuna);
+
+        // When & Then
+        assertThat(searchIndex.search("ALGODÓN")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(searchIndex.search("cunas")).containsExactly(2L);
+        assertThat(searchIndex.search("bebe")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void shouldRankNameMatchesFirst() {
+        // Given
+        searchIndex.index(cuna);
+        searchIndex.index(peluche);
+
+        // When
+        List<Long> result = searchIndex.search("cuna");
+
+        // Then
+        assertThat(result).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should require all terms and match the last one by prefix")
+    void shouldRequireAllTermsAndMatchPrefix() {
+        // Given
+        searchIndex.index(body);
+        searchIndex.index(cuna);
+        searchIndex.index(peluche);
+
+        // When & Then
+        assertThat(searchIndex.search("algodon mad")).containsExactly(2L);
+        assertThat(searchIndex.search("pelu")).containsExactly(3L);
+        assertThat(searchIndex.search("body madera")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should update and remove documents in place")
+    void shouldUpdateAndRemoveDocuments() {
+        // Given
+        searchIndex.index(body);
+        searchIndex.index(cuna);
+
+        // When
+        body.setName("Pijama Enterizo");
+        body.setDescription("Pijama térmica");
+        searchIndex.index(body);
+        searchIndex.remove(2L);
+
+        // Then
+        assertThat(searchIndex.search("body")).isEmpty();
+        assertThat(searchIndex.search("pijama")).containsExactly(1L);
+        assertThat(searchIndex.search("cuna")).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop disabled products from the index")
+    void shouldDropDisabledProducts() {
+        // Given
+        searchIndex.index(body);
+
+        // When
+        body.setEnabled(false);
+        searchIndex.index(body);
+
+        // Then
+        assertThat(searchIndex.search("body")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return empty result for blank or stopword-only queries")
+    void shouldReturnEmptyForBlankQueries() {
+        // Given
+        searchIndex.index(body);
+
+        // When & Then
+        assertThat(searchIndex.search("   ")).isEmpty();
+        assertThat(searchIndex.search("de la")).isEmpty();
+    }
+
+    private Product product(Long id, String name, String description) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("10000"))
+                .category(ProductCategory.OTHER)
+                .stock(10)
+                .enabled(true)
+                .build();
+    }
+}